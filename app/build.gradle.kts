@@ -1,3 +1,6 @@
+import groovy.json.JsonSlurper
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
 import org.gradle.kotlin.dsl.implementation
 
 plugins {
@@ -34,6 +37,186 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    androidResources {
+        // content.pack is memory-mapped straight out of the APK
+        noCompress += "pack"
+    }
+}
+
+/**
+ * Compiles the bundled JSON content (every .json file in src/main/assets) into content.pack,
+ * read at runtime by ContentPack. Also used per language: src/main/content/<code> -> content-<code>.pack
+ * (only the day and the translated fields of each record).
+ *
+ * Each file becomes one section named after it. Nested objects are flattened to "parent.child"
+ * fields; every field is a fixed-width int: the value itself, a string id or a string-list id.
+ * Layout (big-endian ints): header, section directory, per-section field tables and record rows,
+ * string index + UTF-8 string data, list index + list pool.
+ */
+abstract class CompileContentPackTask : DefaultTask() {
+
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.NAME_ONLY)
+    abstract val sources: ConfigurableFileCollection
+
+    @get:Input
+    abstract val packName: Property<String>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    init {
+        packName.convention("content.pack")
+    }
+
+    private class Section(val name: String, val fields: List<String>, val types: IntArray, val rows: List<IntArray>)
+
+    @TaskAction
+    fun compile() {
+        val strings = LinkedHashMap<String, Int>()
+        val lists = mutableListOf<IntArray>()
+        fun stringId(value: String) = strings.getOrPut(value) { strings.size }
+
+        val sections = mutableListOf<Section>()
+        for (file in sources.files.sortedBy { it.name }) {
+            val records = recordsOf(JsonSlurper().parse(file))
+            if (records == null) {
+                logger.warn("${packName.get()}: skipping ${file.name}, no record array found")
+                continue
+            }
+
+            val flat = records.map { record -> LinkedHashMap<String, Any?>().also { flatten("", record, it) } }
+            val fields = flat.flatMap { it.keys }.toSortedSet().toList()
+            val types = IntArray(fields.size) { i -> typeOf(flat.mapNotNull { it[fields[i]] }) }
+
+            val rows = flat.map { record ->
+                IntArray(fields.size) { i ->
+                    val value = record[fields[i]]
+                    when {
+                        value == null -> if (types[i] == TYPE_INT) Int.MIN_VALUE else -1
+                        types[i] == TYPE_INT -> (value as Number).toInt()
+                        types[i] == TYPE_LIST -> {
+                            lists.add((value as? List<*> ?: listOf(value)).filterNotNull().map { stringId(it.toString()) }.toIntArray())
+                            lists.size - 1
+                        }
+                        else -> stringId(value.toString())
+                    }
+                }
+            }
+            sections.add(Section(file.nameWithoutExtension, fields, types, rows))
+        }
+
+        // Register names before the string table is written
+        sections.forEach { section -> stringId(section.name); section.fields.forEach { stringId(it) } }
+
+        val body = ByteArrayOutputStream()
+        val out = DataOutputStream(body)
+        val headerSize = 9 * 4 + sections.size * 5 * 4
+        fun offset() = headerSize + out.size()
+
+        val fieldTableOffsets = IntArray(sections.size)
+        val recordOffsets = IntArray(sections.size)
+        sections.forEachIndexed { s, section ->
+            fieldTableOffsets[s] = offset()
+            section.fields.forEachIndexed { i, name -> out.writeInt(strings.getValue(name)); out.writeInt(section.types[i]) }
+            recordOffsets[s] = offset()
+            section.rows.forEach { row -> row.forEach { out.writeInt(it) } }
+        }
+
+        val encoded = strings.keys.map { it.toByteArray(Charsets.UTF_8) }
+        val stringIndexOffset = offset()
+        var position = 0
+        encoded.forEach { out.writeInt(position); position += it.size }
+        out.writeInt(position)
+        val stringDataOffset = offset()
+        encoded.forEach { out.write(it) }
+
+        val listIndexOffset = offset()
+        position = 0
+        lists.forEach { out.writeInt(position); position += it.size }
+        out.writeInt(position)
+        val listPoolOffset = offset()
+        lists.forEach { list -> list.forEach { out.writeInt(it) } }
+        out.flush()
+
+        val packFile = outputDir.get().file(packName.get()).asFile
+        packFile.parentFile.mkdirs()
+        DataOutputStream(packFile.outputStream().buffered()).use { pack ->
+            pack.writeInt(MAGIC)
+            pack.writeInt(FORMAT_VERSION)
+            pack.writeInt(sections.size)
+            pack.writeInt(strings.size)
+            pack.writeInt(stringIndexOffset)
+            pack.writeInt(stringDataOffset)
+            pack.writeInt(lists.size)
+            pack.writeInt(listIndexOffset)
+            pack.writeInt(listPoolOffset)
+            sections.forEachIndexed { s, section ->
+                pack.writeInt(strings.getValue(section.name))
+                pack.writeInt(section.fields.size)
+                pack.writeInt(section.rows.size)
+                pack.writeInt(fieldTableOffsets[s])
+                pack.writeInt(recordOffsets[s])
+            }
+            body.writeTo(pack)
+        }
+        logger.lifecycle("${packName.get()}: ${sections.size} sections, ${strings.size} strings, ${packFile.length()} bytes")
+    }
+
+    /** Top-level array, or the first array property of a top-level object */
+    private fun recordsOf(root: Any?): List<Map<*, *>>? {
+        val array = when (root) {
+            is List<*> -> root
+            is Map<*, *> -> root.values.firstOrNull { it is List<*> } as List<*>?
+            else -> null
+        }
+        return array?.filterIsInstance<Map<*, *>>()
+    }
+
+    private fun flatten(prefix: String, node: Map<*, *>, into: MutableMap<String, Any?>) {
+        node.forEach { (key, value) ->
+            val name = prefix + key
+            if (value is Map<*, *>) flatten("$name.", value, into) else into[name] = value
+        }
+    }
+
+    private fun typeOf(values: List<Any>): Int = when {
+        values.isNotEmpty() && values.all { it is Number && it.toDouble() % 1.0 == 0.0 } -> TYPE_INT
+        values.any { it is List<*> } -> TYPE_LIST
+        else -> TYPE_STRING
+    }
+
+    companion object {
+        const val MAGIC = 0x5351504B // "SQPK"
+        const val FORMAT_VERSION = 1
+        const val TYPE_INT = 0
+        const val TYPE_STRING = 1
+        const val TYPE_LIST = 2
+    }
+}
+
+val compileContentPack = tasks.register<CompileContentPackTask>("compileContentPack") {
+    sources.from(fileTree("src/main/assets") { include("*.json") })
+}
+
+// One pack per language folder, e.g. src/main/content/ur -> content-ur.pack (compileContentPackUr)
+val compileLanguagePacks = (file("src/main/content").listFiles() ?: emptyArray())
+    .filter { it.isDirectory }
+    .sortedBy { it.name }
+    .map { languageDir ->
+        tasks.register<CompileContentPackTask>("compileContentPack${languageDir.name.replaceFirstChar { it.uppercase() }}") {
+            sources.from(fileTree(languageDir) { include("*.json") })
+            packName.set("content-${languageDir.name}.pack")
+        }
+    }
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(compileContentPack, CompileContentPackTask::outputDir)
+        compileLanguagePacks.forEach { languagePack ->
+            variant.sources.assets?.addGeneratedSourceDirectory(languagePack, CompileContentPackTask::outputDir)
+        }
+    }
 }
 
 dependencies {
@@ -0,0 +1,240 @@
+package com.example.sirralquran;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.sirralquran.controllers.LessonController;
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.DayLesson;
+import com.example.sirralquran.models.RamadanDayContent;
+import com.example.sirralquran.utils.AppConfigManager;
+import com.example.sirralquran.utils.ContentSourceProvider;
+import com.example.sirralquran.utils.ContentSyncManager;
+import com.example.sirralquran.utils.FakeContentSource;
+import com.example.sirralquran.utils.FirebaseHelper;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Offline latency of the content pipeline (ContentSyncManager, AppConfigManager, LessonController)
+ * with FakeContentSource installed in place of Firebase (no network or Firebase project needed)
+ *
+ * Reads take 20 ± 10 ms, roughly a warm Realtime Database round trip; the numbers are
+ * reported to logcat under this class's tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ContentSourceBenchmarkTest {
+
+    private static final String TAG = "ContentSourceBenchmark";
+    private static final int DAYS = 30;
+    private static final long TIMEOUT_S = 30;
+
+    private FakeContentSource source;
+
+    private Context context() {
+        return InstrumentationRegistry.getInstrumentation().getTargetContext();
+    }
+
+    private FakeContentSource install(int currentDay) {
+        source = new FakeContentSource(buildFixture(currentDay), 8, 7).setLatency(20, 10);
+        ContentSourceProvider.setOverride(source);
+        return source;
+    }
+
+    @After
+    public void tearDown() {
+        ContentSourceProvider.setOverride(null);
+        if (source != null) {
+            source.shutdown();
+        }
+    }
+
+    @Test
+    public void fixture_decodesAllModels() throws Exception {
+        FakeContentSource fake = install(5);
+        CountDownLatch latch = new CountDownLatch(3);
+        List<Object> results = Collections.synchronizedList(new ArrayList<>());
+
+        fake.getDayContent(7, collect(results, latch));
+        fake.getAyahByDay(7, collect(results, latch));
+        fake.getHadithByDay(7, collect(results, latch));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(3, results.size());
+        for (Object result : results) {
+            if (result instanceof RamadanDayContent) {
+                assertEquals(7, ((RamadanDayContent) result).getDayNumber());
+                assertEquals(2, ((RamadanDayContent) result).getKeyTakeaways().size());
+            } else if (result instanceof DailyAyah) {
+                assertEquals("Surah 7", ((DailyAyah) result).getSurahName());
+            } else {
+                assertEquals("Book 7", ((DailyHadith) result).getBook());
+            }
+        }
+    }
+
+    @Test
+    public void benchmark_contentSync() throws Exception {
+        FakeContentSource fake = install(5);
+        ContentSyncManager sync = ContentSyncManager.getInstance(context());
+
+        long fullMs = timeSync(sync::syncAll);
+        long fullRequests = fake.getRequestCount();
+        assertEquals("Theme 7", sync.getStore().getDayContent(7).getCoreTheme());
+
+        long deltaMs = timeSync(sync::syncDelta);
+        long deltaRequests = fake.getRequestCount() - fullRequests;
+
+        Log.i(TAG, "📊 syncAll: " + fullMs + "ms (" + fullRequests + " reads)"
+                + " | syncDelta after it: " + deltaMs + "ms (" + deltaRequests + " reads)");
+    }
+
+    @Test
+    public void benchmark_configAndLesson() throws Exception {
+        // A day other than the cached one, so refresh() reports the config instead of skipping it
+        AppConfig cached = AppConfigManager.getInstance(context()).getCachedConfig();
+        int currentDay = cached != null && cached.getCurrentDay() == 5 ? 6 : 5;
+        install(currentDay);
+
+        CountDownLatch configLatch = new CountDownLatch(1);
+        AtomicReference<AppConfig> delivered = new AtomicReference<>();
+        long start = System.nanoTime();
+        AppConfigManager.getInstance(context()).refresh(new AppConfigManager.OnConfigListener() {
+            @Override
+            public void onConfig(AppConfig config) {
+                delivered.set(config);
+                configLatch.countDown();
+            }
+
+            @Override
+            public void onError(String error) {
+                configLatch.countDown();
+            }
+        });
+        assertTrue(configLatch.await(TIMEOUT_S, TimeUnit.SECONDS));
+        long configMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertNotNull(delivered.get());
+        assertEquals(currentDay, delivered.get().getCurrentDay());
+
+        // Day 1 is always unlocked; served from the store once synced, else through the source
+        CountDownLatch lessonLatch = new CountDownLatch(1);
+        AtomicReference<DayLesson> lesson = new AtomicReference<>();
+        start = System.nanoTime();
+        new LessonController(context()).getLessonByDay(1, new LessonController.OnLessonLoadListener() {
+            @Override
+            public void onSuccess(DayLesson loaded) {
+                lesson.set(loaded);
+                lessonLatch.countDown();
+            }
+
+            @Override
+            public void onError(String error) {
+                lessonLatch.countDown();
+            }
+        });
+        assertTrue(lessonLatch.await(TIMEOUT_S, TimeUnit.SECONDS));
+        long lessonMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertNotNull(lesson.get());
+
+        Log.i(TAG, "📊 AppConfigManager.refresh: " + configMs + "ms | LessonController day 1: " + lessonMs + "ms");
+    }
+
+    private interface SyncCall {
+        void run(ContentSyncManager.OnSyncListener listener);
+    }
+
+    private static long timeSync(SyncCall call) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> failure = new AtomicReference<>();
+        AtomicInteger changed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        call.run(new ContentSyncManager.OnSyncListener() {
+            @Override
+            public void onSyncComplete(int changedRows) {
+                changed.set(changedRows);
+                latch.countDown();
+            }
+
+            @Override
+            public void onSyncFailed(String error) {
+                failure.set(error);
+                latch.countDown();
+            }
+        });
+
+        assertTrue("Sync must complete", latch.await(TIMEOUT_S, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static <T> FirebaseHelper.OnDataLoadListener<T> collect(List<Object> results, CountDownLatch latch) {
+        return new FirebaseHelper.OnDataLoadListener<T>() {
+            @Override
+            public void onSuccess(T data) {
+                results.add(data);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String error) {
+                fail(error);
+            }
+        };
+    }
+
+    /**
+     * Synthetic 30-day fixture in the Realtime Database export shape
+     */
+    static String buildFixture(int currentDay) {
+        StringBuilder content = new StringBuilder();
+        StringBuilder ayat = new StringBuilder();
+        StringBuilder hadith = new StringBuilder();
+        StringBuilder manifest = new StringBuilder();
+
+        for (int day = 1; day <= DAYS; day++) {
+            String sep = day > 1 ? "," : "";
+            content.append(sep).append("\"day_").append(day).append("\":{")
+                    .append("\"day_number\":").append(day).append(",\"juz\":").append(day)
+                    .append(",\"surah_range\":\"Range ").append(day).append("\"")
+                    .append(",\"core_theme\":\"Theme ").append(day).append("\"")
+                    .append(",\"explanation\":\"Explanation ").append(day).append("\"")
+                    .append(",\"key_takeaways\":[\"First ").append(day).append("\",\"Second ").append(day).append("\"]")
+                    .append(",\"duration_minutes\":30}");
+            ayat.append(sep).append("\"day_").append(day).append("\":{")
+                    .append("\"day_number\":").append(day)
+                    .append(",\"english\":\"Ayah ").append(day).append("\"")
+                    .append(",\"surah_name\":\"Surah ").append(day).append("\"")
+                    .append(",\"ayah_number\":").append(day).append("}");
+            hadith.append(sep).append("\"day_").append(day).append("\":{")
+                    .append("\"day_number\":").append(day)
+                    .append(",\"english\":\"Hadith ").append(day).append("\"")
+                    .append(",\"book\":\"Book ").append(day).append("\"")
+                    .append(",\"hadith_number\":").append(day).append("}");
+            manifest.append(sep).append("\"day_").append(day).append("\":1");
+        }
+
+        return "{\"ramadan_day_content\":{" + content + "}"
+                + ",\"ramadan_special_ayat\":{" + ayat + "}"
+                + ",\"ramadan_special_hadith\":{" + hadith + "}"
+                + ",\"app_config\":{\"ramadan\":{\"is_ramadan_active\":true,\"current_day\":" + currentDay + "}"
+                + ",\"content_manifest\":{\"ramadan_day_content\":{" + manifest + "}}}}";
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.sirralquran;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.sirralquran.models.RamadanDayContent;
+import com.example.sirralquran.utils.ContentMappers;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Per-object decode cost on a device: DataSnapshot.getValue(Class) (Firebase's reflective
+ * bean mapper) vs ContentMappers over getValue(), both on a real snapshot
+ *
+ * The snapshot comes from a local write to a separate, offline FirebaseApp without
+ * persistence, so nothing reaches the real database or the app's cache.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ModelDecodeBenchmarkTest {
+
+    private static final String TAG = "ModelDecodeBenchmark";
+    private static final String APP_NAME = "decode-benchmark";
+    private static final String FIREBASE_URL = "https://sirrallquran-default-rtdb.firebaseio.com";
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private FirebaseDatabase database;
+    private DatabaseReference ref;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        FirebaseApp app;
+        try {
+            app = FirebaseApp.getInstance(APP_NAME);
+        } catch (IllegalStateException e) {
+            app = FirebaseApp.initializeApp(context, FirebaseOptions.fromResource(context), APP_NAME);
+        }
+        database = FirebaseDatabase.getInstance(app, FIREBASE_URL);
+        database.goOffline();
+        ref = database.getReference("decode_benchmark/day_12");
+    }
+
+    @After
+    public void tearDown() {
+        database.purgeOutstandingWrites();
+    }
+
+    @Test
+    public void benchmark_dayContentDecode() throws Exception {
+        DataSnapshot snapshot = writeAndRead(dayContentNode(12));
+
+        // Cold: first decode pays for class introspection (reflective) / nothing (mapper)
+        long coldReflective = time(() -> snapshot.getValue(RamadanDayContent.class));
+        long coldMapper = time(() -> decodeWithMapper(snapshot));
+
+        RamadanDayContent reflective = snapshot.getValue(RamadanDayContent.class);
+        RamadanDayContent mapped = decodeWithMapper(snapshot);
+        assertEquals(reflective.getDayNumber(), mapped.getDayNumber());
+        assertEquals(reflective.getCoreTheme(), mapped.getCoreTheme());
+        assertEquals(reflective.getKeyTakeaways(), mapped.getKeyTakeaways());
+        assertEquals(reflective.getDurationMinutes(), mapped.getDurationMinutes());
+
+        for (int i = 0; i < WARMUP; i++) {
+            snapshot.getValue(RamadanDayContent.class);
+            decodeWithMapper(snapshot);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            snapshot.getValue(RamadanDayContent.class);
+        }
+        long reflectiveNs = (System.nanoTime() - start) / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decodeWithMapper(snapshot);
+        }
+        long mapperNs = (System.nanoTime() - start) / ITERATIONS;
+
+        Log.i(TAG, "📊 RamadanDayContent decode: cold getValue(Class)=" + coldReflective / 1000 + "µs"
+                + ", cold mapper=" + coldMapper / 1000 + "µs"
+                + " | steady getValue(Class)=" + reflectiveNs + "ns/obj"
+                + ", mapper=" + mapperNs + "ns/obj");
+    }
+
+    /**
+     * What FirebaseHelper does with a day node
+     */
+    @SuppressWarnings("unchecked")
+    private static RamadanDayContent decodeWithMapper(DataSnapshot snapshot) {
+        return ContentMappers.toDayContent((Map<String, Object>) snapshot.getValue());
+    }
+
+    private DataSnapshot writeAndRead(Map<String, Object> node) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<DataSnapshot> result = new AtomicReference<>();
+        ValueEventListener listener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                if (snapshot.exists()) {
+                    result.set(snapshot);
+                    latch.countDown();
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                latch.countDown();
+            }
+        };
+
+        // Offline: the local write raises the value event from the in-memory tree
+        ref.addValueEventListener(listener);
+        ref.setValue(node);
+        assertTrue("Local write not delivered", latch.await(10, TimeUnit.SECONDS));
+        ref.removeEventListener(listener);
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    private static long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Same shape as a ramadan_day_content node
+     */
+    private static Map<String, Object> dayContentNode(int day) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("day_number", (long) day);
+        node.put("juz", (long) day);
+        node.put("surah_range", "Range " + day);
+        node.put("core_theme", "Theme " + day);
+        node.put("explanation", "Explanation for day " + day);
+        node.put("key_takeaways", new ArrayList<>(Arrays.asList("First " + day, "Second " + day, "Third " + day)));
+        node.put("reflection_question", "Question " + day);
+        node.put("video_url", "https://example.com/video/" + day);
+        node.put("audio_url", "https://example.com/audio/" + day);
+        node.put("related_ayah", "Ayah " + day);
+        node.put("related_hadith", "Hadith " + day);
+        node.put("scholar", "Scholar");
+        node.put("duration_minutes", 30L);
+        node.put("difficulty_level", "beginner");
+        return node;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.sirralquran.utils;
+
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.ContentManifest;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.lang.reflect.Array;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JSON-fixture-backed ContentSource for offline tests and latency benchmarks
+ *
+ * The fixture has the same shape as a Realtime Database export:
+ *   { "ramadan_day_content": { "day_1": {...} }, "ramadan_special_ayat": {...},
+ *     "ramadan_special_hadith": {...}, "app_config": { "ramadan": {...}, "content_manifest": {...} } }
+ *
+ * Every read completes after latency ± jitter on a scheduler thread and fails with
+ * the configured probability. Plain Java (no Android classes) so it runs on any JVM.
+ */
+public class FakeContentSource implements ContentSource {
+
+    private final JsonObject root;
+    private final Gson gson = new Gson();
+    private final ScheduledExecutorService scheduler;
+    private final Random random;
+
+    private volatile long latencyMs = 0;
+    private volatile long jitterMs = 0;
+    private volatile double failureRate = 0;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+
+    public FakeContentSource(String fixtureJson) {
+        this(fixtureJson, 4, 42);
+    }
+
+    public FakeContentSource(String fixtureJson, int threads, long seed) {
+        this.root = JsonParser.parseString(fixtureJson).getAsJsonObject();
+        this.random = new Random(seed);
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "FakeContentSource");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ============ CONFIGURATION ============
+
+    public FakeContentSource setLatency(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        return this;
+    }
+
+    /**
+     * Fraction of reads (0.0 - 1.0) that fail with a simulated network error
+     */
+    public FakeContentSource setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public long getRequestCount() { return requestCount.get(); }
+    public long getFailureCount() { return failureCount.get(); }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // ============ CONTENT SOURCE ============
+
+    @Override
+    public void getDayContent(int dayNumber, FirebaseHelper.OnDataLoadListener<RamadanDayContent> listener) {
+        readDay(FirebaseHelper.COLLECTION_DAY_CONTENT, ContentMappers.DAY_CONTENT, dayNumber, "Day content", listener);
+    }
+
+    @Override
+    public void getAyahByDay(int dayNumber, FirebaseHelper.OnDataLoadListener<DailyAyah> listener) {
+        readDay(FirebaseHelper.COLLECTION_AYAT, ContentMappers.AYAH, dayNumber, "Ayah", listener);
+    }
+
+    @Override
+    public void getHadithByDay(int dayNumber, FirebaseHelper.OnDataLoadListener<DailyHadith> listener) {
+        readDay(FirebaseHelper.COLLECTION_HADITH, ContentMappers.HADITH, dayNumber, "Hadith", listener);
+    }
+
+    @Override
+    public void getDayContentRange(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<RamadanDayContent[]> listener) {
+        readRange(FirebaseHelper.COLLECTION_DAY_CONTENT, RamadanDayContent.class, ContentMappers.DAY_CONTENT, fromDay, toDay, listener);
+    }
+
+    @Override
+    public void getAyahRange(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<DailyAyah[]> listener) {
+        readRange(FirebaseHelper.COLLECTION_AYAT, DailyAyah.class, ContentMappers.AYAH, fromDay, toDay, listener);
+    }
+
+    @Override
+    public void getHadithRange(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<DailyHadith[]> listener) {
+        readRange(FirebaseHelper.COLLECTION_HADITH, DailyHadith.class, ContentMappers.HADITH, fromDay, toDay, listener);
+    }
+
+    @Override
+    public void getContentManifest(FirebaseHelper.OnDataLoadListener<ContentManifest> listener) {
+        respond(listener, () -> {
+            ContentManifest manifest = new ContentManifest();
+            JsonObject node = child(child(root, FirebaseHelper.COLLECTION_APP_CONFIG), "content_manifest");
+            readVersions(child(node, FirebaseHelper.COLLECTION_DAY_CONTENT), manifest.getDayContentVersions());
+            readVersions(child(node, FirebaseHelper.COLLECTION_AYAT), manifest.getAyatVersions());
+            readVersions(child(node, FirebaseHelper.COLLECTION_HADITH), manifest.getHadithVersions());
+            return manifest;
+        });
+    }
+
+    @Override
+    public Subscription getRamadanConfig(FirebaseHelper.OnDataLoadListener<AppConfig> listener) {
+        ScheduledFuture<?> pending = respond(listener, () -> {
+            JsonObject node = child(child(root, FirebaseHelper.COLLECTION_APP_CONFIG), "ramadan");
+            return new AppConfig(
+                    node.has("is_ramadan_active") && node.get("is_ramadan_active").getAsBoolean(),
+                    node.has("current_day") ? node.get("current_day").getAsInt() : 1,
+                    node.has("start_date") ? node.get("start_date").getAsString() : null,
+                    node.has("content_version") ? node.get("content_version").getAsLong() : 0,
+                    System.currentTimeMillis()
+            );
+        });
+        return () -> pending.cancel(false);
+    }
+
+    /**
+     * Fixtures don't change: delivers the current config once
+     */
+    @Override
+    public Subscription watchRamadanConfig(FirebaseHelper.OnDataLoadListener<AppConfig> listener) {
+        return getRamadanConfig(listener);
+    }
+
+    @Override
+    public void clearCache() {
+        // Nothing cached: every read decodes from the fixture
+    }
+
+    // ============ INTERNALS ============
+
+    private <T> void readDay(String collection, ContentMappers.Mapper<T> mapper, int dayNumber, String label,
+                             FirebaseHelper.OnDataLoadListener<T> listener) {
+        respond(listener, () -> {
+            JsonElement node = child(root, collection).get("day_" + dayNumber);
+            if (node == null || node.isJsonNull()) {
+                throw new IllegalStateException(label + " not found for day " + dayNumber);
+            }
+            return mapper.map(toMap(node));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void readRange(String collection, Class<T> type, ContentMappers.Mapper<T> mapper, int fromDay, int toDay,
+                               FirebaseHelper.OnDataLoadListener<T[]> listener) {
+        respond(listener, () -> {
+            T[] items = (T[]) Array.newInstance(type, toDay + 1);
+            JsonObject node = child(root, collection);
+            for (int day = fromDay; day <= toDay; day++) {
+                JsonElement element = node.get("day_" + day);
+                if (element != null && !element.isJsonNull()) {
+                    items[day] = mapper.map(toMap(element));
+                }
+            }
+            return items;
+        });
+    }
+
+    private void readVersions(JsonObject node, Map<Integer, Long> versions) {
+        for (Map.Entry<String, JsonElement> entry : node.entrySet()) {
+            if (!entry.getKey().startsWith("day_")) continue;
+            try {
+                int day = Integer.parseInt(entry.getKey().substring(4));
+                JsonElement value = entry.getValue();
+                if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+                    versions.put(day, value.getAsLong());
+                } else {
+                    versions.put(day, (long) value.getAsString().hashCode());
+                }
+            } catch (NumberFormatException ignored) {
+                // Not a day key
+            }
+        }
+    }
+
+    /**
+     * Plain Map view of a node, the same shape DataSnapshot.getValue() hands to the mappers
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMap(JsonElement node) {
+        return gson.fromJson(node, Map.class);
+    }
+
+    private JsonObject child(JsonObject parent, String key) {
+        JsonElement element = parent.get(key);
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+    }
+
+    /**
+     * Decode after the simulated latency, or fail at the configured rate
+     */
+    private <T> ScheduledFuture<?> respond(FirebaseHelper.OnDataLoadListener<T> listener, Decoder<T> decoder) {
+        requestCount.incrementAndGet();
+        long delay;
+        boolean fail;
+        synchronized (random) {
+            long jitter = jitterMs > 0 ? (long) ((random.nextDouble() * 2 - 1) * jitterMs) : 0;
+            delay = Math.max(0, latencyMs + jitter);
+            fail = random.nextDouble() < failureRate;
+        }
+
+        return scheduler.schedule(() -> {
+            if (fail) {
+                failureCount.incrementAndGet();
+                listener.onError("Simulated network failure");
+                return;
+            }
+            try {
+                listener.onSuccess(decoder.decode());
+            } catch (Exception e) {
+                listener.onError(e.getMessage());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private interface Decoder<T> {
+        T decode() throws Exception;
+    }
+}
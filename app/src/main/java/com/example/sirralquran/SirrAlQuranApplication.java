@@ -0,0 +1,131 @@
+package com.example.sirralquran;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.util.Log;
+import com.example.sirralquran.controllers.RamadanManager;
+import com.example.sirralquran.utils.AppConfigManager;
+import com.example.sirralquran.utils.ContentSearchManager;
+import com.example.sirralquran.utils.FirebaseSyncPolicy;
+import com.example.sirralquran.utils.ProgressSyncManager;
+import com.example.sirralquran.utils.ViewedContentManager;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.database.FirebaseDatabase;
+
+/**
+ * Process-wide setup
+ *
+ * Keeps one live listener on app_config/ramadan while any screen is visible:
+ * attached when the first activity starts, detached when the last one stops.
+ * Config changes are applied to the Ramadan unlock state before screens are notified.
+ */
+public class SirrAlQuranApplication extends Application implements Application.ActivityLifecycleCallbacks {
+
+    private static final String TAG = "SirrAlQuranApp";
+
+    // CRITICAL: URL must match google-services.json EXACTLY (no trailing slash!)
+    private static final String FIREBASE_URL = "https://sirrallquran-default-rtdb.firebaseio.com";
+
+    private int startedActivities = 0;
+    private boolean progressSyncStarted = false;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Before anything touches FirebaseDatabase: persistence can't be changed after first use
+        initializeFirebase();
+
+        AppConfigManager configManager = AppConfigManager.getInstance(this);
+        RamadanManager ramadanManager = new RamadanManager(this);
+
+        // First observer: stores flag/day and moves the sync window, screens see updated prefs
+        configManager.addObserver(config -> {
+            int day = ramadanManager.applyConfig(config);
+            Log.d(TAG, "🌙 Config applied: day " + day);
+        });
+
+        // Re-arm the next day's unlock on every start (BootReceiver covers reboots while closed)
+        ramadanManager.scheduleNextUnlock();
+
+        registerActivityLifecycleCallbacks(this);
+
+        // Background: fills the search index with bundled content (once per installed APK)
+        ContentSearchManager.getInstance(this).ensureIndexed();
+    }
+
+    /**
+     * Initialize Firebase Realtime Database
+     * CRITICAL: This creates the SINGLE instance used throughout the app
+     */
+    private void initializeFirebase() {
+        try {
+            FirebaseApp.initializeApp(this);
+
+            FirebaseDatabase database = FirebaseDatabase.getInstance(FIREBASE_URL);
+
+            // Enable offline persistence with a bounded cache
+            database.setPersistenceCacheSizeBytes(FirebaseSyncPolicy.PERSISTENCE_CACHE_SIZE_BYTES);
+            database.setPersistenceEnabled(true);
+
+            // Keep only config + the current Ramadan window synced (not the whole root)
+            RamadanManager ramadanManager = new RamadanManager(this);
+            FirebaseSyncPolicy.getInstance().applyForDay(ramadanManager.getActiveRamadanDay());
+
+            Log.d(TAG, "✅ Firebase initialized: " + FIREBASE_URL);
+            Log.d(TAG, "✅ Persistence enabled (" + FirebaseSyncPolicy.PERSISTENCE_CACHE_SIZE_BYTES / (1024 * 1024)
+                    + " MB cache), scoped keepSynced");
+
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Firebase initialization error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // ============ FOREGROUND TRACKING ============
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+        if (startedActivities++ == 0) {
+            Log.d(TAG, "☀️ App in foreground");
+            AppConfigManager.getInstance(this).startWatching();
+
+            // Once per process, with Firebase persistence already configured in onCreate
+            if (!progressSyncStarted) {
+                progressSyncStarted = true;
+                ProgressSyncManager.getInstance(this).start();
+            }
+        }
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+        if (--startedActivities == 0) {
+            Log.d(TAG, "🌑 App in background");
+            AppConfigManager.getInstance(this).stopWatching();
+            ViewedContentManager.flush();
+            ProgressSyncManager.getInstance(this).flush();
+        }
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.sirralquran.adapters;
+
+import android.text.Html;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.sirralquran.R;
+import com.example.sirralquran.models.SearchResult;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchResultAdapter extends RecyclerView.Adapter<SearchResultAdapter.SearchResultViewHolder> {
+
+    private final List<SearchResult> results = new ArrayList<>();
+    private OnResultClickListener listener;
+
+    public interface OnResultClickListener {
+        void onResultClick(SearchResult result);
+    }
+
+    public SearchResultAdapter(OnResultClickListener listener) {
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public SearchResultViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_search_result, parent, false);
+        return new SearchResultViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SearchResultViewHolder holder, int position) {
+        holder.bind(results.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return results.size();
+    }
+
+    class SearchResultViewHolder extends RecyclerView.ViewHolder {
+        private TextView resultTypeText;
+        private TextView resultTitleText;
+        private TextView resultSnippetText;
+
+        public SearchResultViewHolder(@NonNull View itemView) {
+            super(itemView);
+            resultTypeText = itemView.findViewById(R.id.resultTypeText);
+            resultTitleText = itemView.findViewById(R.id.resultTitleText);
+            resultSnippetText = itemView.findViewById(R.id.resultSnippetText);
+        }
+
+        public void bind(SearchResult result) {
+            resultTypeText.setText(getTypeLabel(result.getType()) + " · Day " + result.getDayNumber());
+            resultTitleText.setText(result.getTitle());
+
+            // Snippet marks matches with <b></b>
+            String snippet = result.getSnippet() != null ? result.getSnippet() : "";
+            resultSnippetText.setText(Html.fromHtml(snippet, Html.FROM_HTML_MODE_LEGACY));
+
+            itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    if (listener != null) {
+                        listener.onResultClick(result);
+                    }
+                }
+            });
+        }
+    }
+
+    private static String getTypeLabel(String type) {
+        switch (type) {
+            case SearchResult.TYPE_HADITH: return "Hadith";
+            case SearchResult.TYPE_AYAH: return "Ayah";
+            case SearchResult.TYPE_DUA: return "Dua";
+            case SearchResult.TYPE_ASHRA_DAY: return "Ashra Day";
+            case SearchResult.TYPE_LESSON: return "Lesson";
+            default: return type;
+        }
+    }
+
+    /**
+     * Replace the list (first page of a new query)
+     */
+    public void setResults(List<SearchResult> newResults) {
+        results.clear();
+        results.addAll(newResults);
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Append the next page of the same query
+     */
+    public void addResults(List<SearchResult> page) {
+        int start = results.size();
+        results.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+}
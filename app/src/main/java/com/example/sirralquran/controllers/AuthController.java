@@ -2,9 +2,14 @@ package com.example.sirralquran.controllers;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Log;
 import com.example.sirralquran.models.User;
+import com.example.sirralquran.utils.ProgressSyncManager;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
 
 public class AuthController {
+    private static final String TAG = "AuthController";
     private Context context;
     private SharedPreferences sharedPreferences;
     private static final String PREF_NAME = "SirrUlQuranPrefs";
@@ -32,6 +37,9 @@ public class AuthController {
         editor.putString(KEY_USER_EMAIL, email);
         editor.apply();
 
+        // Progress sync only runs for a verified Firebase account
+        FirebaseAuth.getInstance().signInWithEmailAndPassword(email, password)
+                .addOnCompleteListener(task -> onFirebaseSignIn(task.isSuccessful(), task.getException()));
         return true;
     }
 
@@ -50,10 +58,17 @@ public class AuthController {
         editor.putString(KEY_USER_EMAIL, email);
         editor.apply();
 
+        FirebaseAuth.getInstance().createUserWithEmailAndPassword(email, password)
+                .addOnCompleteListener(task -> onFirebaseSignIn(task.isSuccessful(), task.getException()));
         return true;
     }
 
     public void logout() {
+        // Firebase session ends after the last upload, which still needs the user's auth
+        FirebaseUser firebaseUser = FirebaseAuth.getInstance().getCurrentUser();
+        String uid = firebaseUser != null ? firebaseUser.getUid() : null;
+        ProgressSyncManager.getInstance(context).onSignedOut(() -> signOutOfFirebase(uid));
+
         SharedPreferences.Editor editor = sharedPreferences.edit();
         editor.clear();
         editor.apply();
@@ -74,4 +89,23 @@ public class AuthController {
     public String getCurrentUserEmail() {
         return sharedPreferences.getString(KEY_USER_EMAIL, "");
     }
+
+    /**
+     * Only if the same user is still signed in (the upload may finish after someone else signs in)
+     */
+    private static void signOutOfFirebase(String uid) {
+        FirebaseUser current = FirebaseAuth.getInstance().getCurrentUser();
+        if (current != null && current.getUid().equals(uid)) {
+            FirebaseAuth.getInstance().signOut();
+        }
+    }
+
+    private void onFirebaseSignIn(boolean success, Exception error) {
+        if (success) {
+            ProgressSyncManager.getInstance(context).onSignedIn();
+        } else {
+            Log.w(TAG, "⚠️ Firebase sign-in failed, progress sync stays off: "
+                    + (error != null ? error.getMessage() : "unknown"));
+        }
+    }
 }
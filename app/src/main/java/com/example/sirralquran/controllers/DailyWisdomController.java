@@ -3,9 +3,12 @@ package com.example.sirralquran.controllers;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
+import com.example.sirralquran.database.ContentDatabaseHelper;
 import com.example.sirralquran.models.DailyAyah;
 import com.example.sirralquran.models.DailyHadith;
 import com.example.sirralquran.models.DailyWisdom;
+import com.example.sirralquran.utils.ContentSource;
+import com.example.sirralquran.utils.ContentSourceProvider;
 import com.example.sirralquran.utils.FirebaseHelper;
 import org.json.JSONObject;
 import java.io.IOException;
@@ -30,7 +33,8 @@ public class DailyWisdomController {
 
     private Context context;
     private SharedPreferences prefs;
-    private FirebaseHelper firebaseHelper;
+    private ContentSource contentSource;
+    private ContentDatabaseHelper contentStore;
     private RamadanManager ramadanManager;
     private OkHttpClient httpClient;
 
@@ -41,7 +45,8 @@ public class DailyWisdomController {
     public DailyWisdomController(Context context) {
         this.context = context;
         this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.firebaseHelper = FirebaseHelper.getInstance();
+        this.contentSource = ContentSourceProvider.get();
+        this.contentStore = ContentDatabaseHelper.getInstance(context);
         this.ramadanManager = new RamadanManager(context);
         this.httpClient = new OkHttpClient();
     }
@@ -70,12 +75,25 @@ public class DailyWisdomController {
 
         Log.d(TAG, "Fetching from Firebase for Ramadan day " + currentDay);
 
+        // Local store first
+        DailyAyah storedAyah = contentStore.getAyah(currentDay);
+        DailyHadith storedHadith = contentStore.getHadith(currentDay);
+        if (storedAyah != null && storedHadith != null) {
+            DailyWisdom stored = new DailyWisdom();
+            stored.setAyah(storedAyah);
+            stored.setHadith(storedHadith);
+            stored.setSource("firebase");
+            markFetchedToday();
+            listener.onSuccess(stored);
+            return;
+        }
+
         // Fetch both Ayah and Hadith
         final DailyWisdom[] wisdom = {new DailyWisdom()};
         final int[] completed = {0};
 
         // Fetch Ayah
-        firebaseHelper.getAyahByDay(currentDay, new FirebaseHelper.OnDataLoadListener<DailyAyah>() {
+        contentSource.getAyahByDay(currentDay, new FirebaseHelper.OnDataLoadListener<DailyAyah>() {
             @Override
             public void onSuccess(DailyAyah ayah) {
                 wisdom[0].setAyah(ayah);
@@ -96,7 +114,7 @@ public class DailyWisdomController {
         });
 
         // Fetch Hadith
-        firebaseHelper.getHadithByDay(currentDay, new FirebaseHelper.OnDataLoadListener<DailyHadith>() {
+        contentSource.getHadithByDay(currentDay, new FirebaseHelper.OnDataLoadListener<DailyHadith>() {
             @Override
             public void onSuccess(DailyHadith hadith) {
                 wisdom[0].setHadith(hadith);
@@ -3,8 +3,13 @@ package com.example.sirralquran.controllers;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
+import com.example.sirralquran.database.ContentDatabaseHelper;
 import com.example.sirralquran.models.DayLesson;
+import com.example.sirralquran.models.JourneyProgress;
 import com.example.sirralquran.models.RamadanDayContent;
+import com.example.sirralquran.utils.ContentSource;
+import com.example.sirralquran.utils.ContentSourceProvider;
+import com.example.sirralquran.utils.ContentSyncManager;
 import com.example.sirralquran.utils.FirebaseHelper;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,7 +23,8 @@ public class LessonController {
     private static final String TAG = "LessonController";
     private Context context;
     private SharedPreferences sharedPreferences;
-    private FirebaseHelper firebaseHelper;
+    private ContentSource contentSource;
+    private ContentDatabaseHelper contentStore;
     private RamadanManager ramadanManager;
 
     private static final String PREFS_NAME = "LessonPrefs";
@@ -27,22 +33,23 @@ public class LessonController {
     public LessonController(Context context) {
         this.context = context;
         this.sharedPreferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.firebaseHelper = FirebaseHelper.getInstance();
+        this.contentSource = ContentSourceProvider.get();
+        this.contentStore = ContentDatabaseHelper.getInstance(context);
         this.ramadanManager = new RamadanManager(context);
     }
 
     /**
      * Get all 30 lessons with locked/unlocked status
-     * Now uses RamadanManager for unlock logic
+     * Now uses RamadanManager for unlock logic (one evaluation for all days)
      */
     public List<DayLesson> getAllLessons() {
         List<DayLesson> lessons = new ArrayList<>();
-        int maxAccessibleDay = ramadanManager.getMaxAccessibleDay();
+        JourneyProgress journey = ramadanManager.evaluateAll();
 
         // Generate all 30 days
         for (int i = 1; i <= 30; i++) {
-            boolean isCompleted = ramadanManager.isDayCompleted(i);
-            boolean isLocked = !ramadanManager.isDayUnlocked(i);
+            boolean isCompleted = journey.isCompleted(i);
+            boolean isLocked = !journey.isUnlocked(i);
 
             // Create basic lesson structure (will be populated from Firebase when opened)
             DayLesson lesson = new DayLesson(
@@ -75,19 +82,28 @@ public class LessonController {
         }
 
         // Check if day is unlocked
-        if (!ramadanManager.isDayUnlocked(dayNumber)) {
+        JourneyProgress journey = ramadanManager.evaluateAll();
+        if (!journey.isUnlocked(dayNumber)) {
             listener.onError("Day " + dayNumber + " is locked. " +
-                    ramadanManager.getFormattedTimeRemaining(dayNumber));
+                    ramadanManager.formatTimeRemaining(journey, dayNumber));
             return;
         }
 
-        // Fetch from Firebase
-        firebaseHelper.getDayContent(dayNumber, new FirebaseHelper.OnDataLoadListener<RamadanDayContent>() {
+        // Local store first (synchronous primary key read)
+        RamadanDayContent stored = contentStore.getDayContent(dayNumber);
+        if (stored != null) {
+            listener.onSuccess(convertToDayLesson(stored, dayNumber));
+            return;
+        }
+
+        // Not synced yet: fetch from Firebase and keep it for next time
+        contentSource.getDayContent(dayNumber, new FirebaseHelper.OnDataLoadListener<RamadanDayContent>() {
             @Override
             public void onSuccess(RamadanDayContent content) {
                 // Convert RamadanDayContent to DayLesson
                 DayLesson lesson = convertToDayLesson(content, dayNumber);
                 listener.onSuccess(lesson);
+                ContentSyncManager.getInstance(context).storeDayContent(dayNumber, content);
             }
 
             @Override
@@ -7,8 +7,11 @@ import com.example.sirralquran.dialogs.FiqhSelectionDialog;
 import com.example.sirralquran.models.Prayer;
 import com.example.sirralquran.utils.LocationHelper;
 import com.example.sirralquran.utils.PrayerTimesHelper;
+import com.example.sirralquran.utils.ProgressSyncManager;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * FIXED PrayerController - No variable access errors
@@ -185,6 +188,13 @@ public class PrayerController {
     public void updatePrayerStatus(Prayer prayer) {
         dbHelper.updatePrayerStatus(prayer);  // ✅ FIX: Use updatePrayerStatus instead of savePrayer
         Log.d(TAG, "✅ Prayer status updated: " + prayer.getName());
+
+        // Both flags in one outbox write; notification settings stay device-local
+        String today = SalahDatabaseHelper.getTodayDate();
+        Map<String, Object> status = new HashMap<>();
+        status.put(ProgressSyncManager.salahPath(today, prayer.getName(), false), prayer.isCompleted());
+        status.put(ProgressSyncManager.salahPath(today, prayer.getName(), true), prayer.isQaza());
+        ProgressSyncManager.getInstance(context).recordAll(status);
     }
 
     /**
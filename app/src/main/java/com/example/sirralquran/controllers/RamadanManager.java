@@ -1,10 +1,29 @@
 package com.example.sirralquran.controllers;
 
+import android.app.AlarmManager;
+import android.app.PendingIntent;
 import android.content.Context;
+import android.content.Intent;
 import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
-import com.example.sirralquran.utils.FirebaseHelper;
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.JourneyProgress;
+import com.example.sirralquran.models.RamadanStatus;
+import com.example.sirralquran.receivers.DayUnlockReceiver;
+import com.example.sirralquran.utils.AppConfigManager;
+import com.example.sirralquran.utils.ContentPrefetcher;
+import com.example.sirralquran.utils.FirebaseSyncPolicy;
+import com.example.sirralquran.utils.ProgressSyncManager;
+import com.example.sirralquran.utils.RamadanCalendar;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * ✅ FIXED: Smart unlock logic with catch-up mode
@@ -22,6 +41,15 @@ import java.util.Calendar;
  * - Ramadan Day 5, User completes Day 3 → Day 4 unlocks IMMEDIATELY ✅
  * - Ramadan Day 5, User completes Day 4 → Day 5 unlocks at 5:00 AM next morning ⏰
  * - Ramadan Day 5, User completes Day 5 → Day 6 unlocks at 5:00 AM next morning ⏰
+ *
+ * UNLOCK EVENTS:
+ * The next 5:00 AM unlock instant is known as soon as a day is completed. Visible screens
+ * subscribe with addUnlockListener() and get one callback exactly then (no polling);
+ * an alarm posts a notification at the same instant when no screen is listening.
+ *
+ * RAMADAN DAY:
+ * Resolved on the device once per civil date (RamadanCalendar): app_config overrides the
+ * local Hijri date when it can answer for today, but is never needed to know the day.
  */
 public class RamadanManager {
 
@@ -29,66 +57,129 @@ public class RamadanManager {
     private static final String PREFS_NAME = "RamadanPrefs";
     private static final String KEY_IS_RAMADAN = "is_ramadan";
     private static final String KEY_CURRENT_RAMADAN_DAY = "current_ramadan_day";
+    private static final String KEY_COMPLETED_BITS = "completed_days_bits";
+    private static final String KEY_COMPLETION_TIMES = "completion_times";
+
+    // Legacy per-day keys (migrated into the bitset on first load)
     private static final String KEY_DAY_COMPLETED = "day_completed_";
     private static final String KEY_DAY_COMPLETION_TIME = "day_completion_time_";
 
-    // 5:00 AM unlock time
-    private static final int UNLOCK_HOUR = 5;
-    private static final int UNLOCK_MINUTE = 0;
+    private static final int UNLOCK_ALARM_REQUEST_CODE = 5100;
+
+    // Process-wide: one pending callback at the next unlock instant, shared by every subscriber
+    private static final List<OnDayUnlockListener> unlockListeners = new CopyOnWriteArrayList<>();
+    private static final Handler unlockHandler = new Handler(Looper.getMainLooper());
+    private static Runnable pendingUnlock;
+
+    private static ProgressState progressState;
 
     private Context context;
-    private SharedPreferences prefs;
-    private FirebaseHelper firebaseHelper;
+    private final ProgressState progress;
 
     public RamadanManager(Context context) {
         this.context = context;
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.firebaseHelper = FirebaseHelper.getInstance();
+        this.progress = getProgressState(context);
+    }
+
+    private static synchronized ProgressState getProgressState(Context context) {
+        if (progressState == null) {
+            progressState = new ProgressState(context.getApplicationContext()
+                    .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE));
+        }
+        return progressState;
     }
 
     /**
-     * Check Ramadan status from Firebase
+     * Check Ramadan status from the app_config snapshot (one read, cached with TTL)
+     * Answers instantly from the last good config; called again if a background refresh changes it
      */
     public void checkRamadanStatus(OnRamadanStatusListener listener) {
-        firebaseHelper.isRamadanActive(new FirebaseHelper.OnDataLoadListener<Boolean>() {
+        AppConfigManager.getInstance(context).getConfig(new AppConfigManager.OnConfigListener() {
             @Override
-            public void onSuccess(Boolean isActive) {
-                prefs.edit().putBoolean(KEY_IS_RAMADAN, isActive).apply();
-
-                if (isActive) {
-                    firebaseHelper.getCurrentRamadanDay(new FirebaseHelper.OnDataLoadListener<Integer>() {
-                        @Override
-                        public void onSuccess(Integer day) {
-                            prefs.edit().putInt(KEY_CURRENT_RAMADAN_DAY, day).apply();
-                            listener.onStatusChecked(true, day);
-                        }
-
-                        @Override
-                        public void onError(String error) {
-                            int localDay = prefs.getInt(KEY_CURRENT_RAMADAN_DAY, 1);
-                            listener.onStatusChecked(true, localDay);
-                        }
-                    });
-                } else {
-                    listener.onStatusChecked(false, 0);
-                }
+            public void onConfig(AppConfig config) {
+                int day = applyConfig(config);
+                listener.onStatusChecked(day > 0, day);
             }
 
             @Override
             public void onError(String error) {
-                boolean isRamadan = prefs.getBoolean(KEY_IS_RAMADAN, false);
-                int day = prefs.getInt(KEY_CURRENT_RAMADAN_DAY, 0);
-                listener.onStatusChecked(isRamadan, day);
+                int day = getActiveRamadanDay();
+                listener.onStatusChecked(day > 0, day);
             }
         });
     }
 
+    /**
+     * Re-resolve Ramadan flag/day with a new config snapshot and move the sync window
+     *
+     * @return current Ramadan day, or 0 if Ramadan isn't active
+     */
+    public int applyConfig(AppConfig config) {
+        long now = System.currentTimeMillis();
+        RamadanStatus status = RamadanCalendar.getInstance(context).resolve(config, now);
+        int day = progress.applyStatus(status, RamadanStatus.dateKey(now));
+
+        FirebaseSyncPolicy.getInstance().applyForDay(day);
+        scheduleNextUnlock(); // Ramadan day may have moved
+        return day;
+    }
+
+    /**
+     * Change the moon-sighting offset and apply it to today's status right away
+     */
+    public void setSightingOffset(int offset) {
+        RamadanCalendar.getInstance(context).setSightingOffset(offset);
+        progress.invalidateStatus();
+        FirebaseSyncPolicy.getInstance().applyForDay(getActiveRamadanDay());
+        scheduleNextUnlock();
+    }
+
     public boolean isRamadan() {
-        return prefs.getBoolean(KEY_IS_RAMADAN, false);
+        ensureResolved();
+        return progress.isRamadan();
     }
 
+    /**
+     * Ramadan day to unlock up to; after Ramadan the last resolved day stays accessible
+     */
     public int getCurrentRamadanDay() {
-        return prefs.getInt(KEY_CURRENT_RAMADAN_DAY, 1);
+        ensureResolved();
+        return progress.getCurrentDay(1);
+    }
+
+    /**
+     * Today's Ramadan day, or 0 outside Ramadan
+     */
+    public int getActiveRamadanDay() {
+        ensureResolved();
+        return progress.isRamadan() ? progress.getCurrentDay(1) : 0;
+    }
+
+    /**
+     * Unlock state, time remaining and completion for all 30 days in one pass
+     * Use this for lists instead of calling isDayUnlocked()/isDayCompleted() per day.
+     */
+    public JourneyProgress evaluateAll() {
+        ensureResolved();
+        return progress.evaluate(System.currentTimeMillis());
+    }
+
+    /**
+     * Resolve flag/day from the cached config or the Hijri date once per civil date
+     * Touches no Firebase state, so it is safe before persistence is configured.
+     */
+    private void ensureResolved() {
+        long now = System.currentTimeMillis();
+        int today = RamadanStatus.dateKey(now);
+        if (progress.isResolvedFor(today)) {
+            return;
+        }
+
+        AppConfig config = AppConfigManager.getInstance(context).getCachedConfig();
+        RamadanStatus status = RamadanCalendar.getInstance(context).resolve(config, now);
+        progress.applyStatus(status, today);
+        Log.d(TAG, "🌙 " + (status.isRamadan() ? "Ramadan day " + status.getDay() : "Not Ramadan")
+                + " (" + status.getSource() + ")");
     }
 
     /**
@@ -102,78 +193,7 @@ public class RamadanManager {
      *    - If NO → Wait until 5:00 AM (normal mode)
      */
     public boolean isDayUnlocked(int dayNumber) {
-        // Can't access days beyond current Ramadan day
-        int currentRamadanDay = getCurrentRamadanDay();
-        if (dayNumber > currentRamadanDay) {
-            Log.d(TAG, "🔒 Day " + dayNumber + " locked: Beyond Ramadan day " + currentRamadanDay);
-            return false;
-        }
-
-        // Day 1 always unlocked
-        if (dayNumber == 1) {
-            Log.d(TAG, "✅ Day 1 always unlocked");
-            return true;
-        }
-
-        int previousDay = dayNumber - 1;
-
-        // ✅ CONDITION 1: Previous day must be completed
-        boolean previousDayCompleted = isDayCompleted(previousDay);
-        if (!previousDayCompleted) {
-            Log.d(TAG, "🔒 Day " + dayNumber + " locked: Day " + previousDay + " not completed");
-            return false;
-        }
-
-        // ✅ NEW: Check if user is BEHIND current Ramadan day
-        if (dayNumber < currentRamadanDay) {
-            // CATCH-UP MODE: Unlock immediately
-            Log.d(TAG, "⚡ Day " + dayNumber + " UNLOCKED (Catch-up mode: Ramadan Day " +
-                    currentRamadanDay + " > User Day " + dayNumber + ")");
-            return true;
-        }
-
-        // ✅ NORMAL MODE: User is caught up, use 5:00 AM logic
-        long completionTime = prefs.getLong(KEY_DAY_COMPLETION_TIME + previousDay, 0);
-        if (completionTime == 0) {
-            Log.d(TAG, "🔒 Day " + dayNumber + " locked: No completion time for day " + previousDay);
-            return false;
-        }
-
-        long nextUnlockTime = getNext5AM(completionTime);
-        long currentTime = System.currentTimeMillis();
-        boolean isUnlocked = currentTime >= nextUnlockTime;
-
-        if (isUnlocked) {
-            Log.d(TAG, "✅ Day " + dayNumber + " UNLOCKED at 5:00 AM (Normal mode)");
-        } else {
-            long remainingMs = nextUnlockTime - currentTime;
-            Log.d(TAG, "🔒 Day " + dayNumber + " locked: Unlocks in " +
-                    formatDuration(remainingMs) + " at " + formatTime(nextUnlockTime));
-        }
-
-        return isUnlocked;
-    }
-
-    /**
-     * Calculate next 5:00 AM after given timestamp
-     */
-    private long getNext5AM(long fromTime) {
-        Calendar completionCal = Calendar.getInstance();
-        completionCal.setTimeInMillis(fromTime);
-
-        Calendar next5AM = Calendar.getInstance();
-        next5AM.setTimeInMillis(fromTime);
-        next5AM.set(Calendar.HOUR_OF_DAY, UNLOCK_HOUR);
-        next5AM.set(Calendar.MINUTE, UNLOCK_MINUTE);
-        next5AM.set(Calendar.SECOND, 0);
-        next5AM.set(Calendar.MILLISECOND, 0);
-
-        // If completion time is after today's 5 AM, move to tomorrow's 5 AM
-        if (completionCal.after(next5AM)) {
-            next5AM.add(Calendar.DAY_OF_MONTH, 1);
-        }
-
-        return next5AM.getTimeInMillis();
+        return evaluateAll().isUnlocked(dayNumber);
     }
 
     /**
@@ -181,11 +201,8 @@ public class RamadanManager {
      */
     public void markDayCompleted(int dayNumber) {
         long currentTime = System.currentTimeMillis();
-
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.putBoolean(KEY_DAY_COMPLETED + dayNumber, true);
-        editor.putLong(KEY_DAY_COMPLETION_TIME + dayNumber, currentTime);
-        editor.apply();
+        progress.markCompleted(dayNumber, currentTime);
+        ProgressSyncManager.getInstance(context).record(ProgressSyncManager.journeyPath(dayNumber), currentTime);
 
         int currentRamadanDay = getCurrentRamadanDay();
         int nextDay = dayNumber + 1;
@@ -197,72 +214,76 @@ public class RamadanManager {
             Log.d(TAG, "⚡ Day " + nextDay + " unlocks IMMEDIATELY (catch-up mode)");
         } else {
             // Normal mode
-            long nextUnlockTime = getNext5AM(currentTime);
+            long nextUnlockTime = JourneyProgress.getNext5AM(currentTime);
             Log.d(TAG, "✅ Day " + dayNumber + " completed at " + formatTime(currentTime));
             Log.d(TAG, "🔓 Day " + nextDay + " unlocks at " + formatTime(nextUnlockTime) + " (5:00 AM)");
         }
-    }
 
-    public boolean isDayCompleted(int dayNumber) {
-        return prefs.getBoolean(KEY_DAY_COMPLETED + dayNumber, false);
+        // Next day's content is known now; have it local before it unlocks
+        ContentPrefetcher.getInstance(context).prefetchDay(nextDay);
+        scheduleNextUnlock();
     }
 
     /**
-     * ✅ FIXED: Get time remaining with catch-up mode support
+     * Completion synced from another device (completedAt 0 = not completed); not recorded again
      */
-    public long getTimeUntilNextDayUnlocks(int dayNumber) {
-        if (dayNumber <= 1) {
-            return 0;
-        }
-
-        int previousDay = dayNumber - 1;
-        int currentRamadanDay = getCurrentRamadanDay();
-
-        // Check if previous day is completed
-        if (!isDayCompleted(previousDay)) {
-            return -1;
-        }
-
-        // ✅ CATCH-UP MODE: If behind Ramadan, unlock immediately
-        if (dayNumber < currentRamadanDay) {
-            return 0; // Already unlocked
+    public void applyRemoteCompletion(int dayNumber, long completedAt) {
+        if (completedAt > 0) {
+            progress.markCompleted(dayNumber, completedAt);
+        } else {
+            progress.clearCompleted(dayNumber);
         }
+        Log.d(TAG, "☁️ Day " + dayNumber + (completedAt > 0 ? " completed" : " reset") + " on another device");
+        scheduleNextUnlock();
+    }
 
-        // ✅ NORMAL MODE: Use 5:00 AM logic
-        long completionTime = prefs.getLong(KEY_DAY_COMPLETION_TIME + previousDay, 0);
-        if (completionTime == 0) {
-            return -1;
-        }
+    public boolean isDayCompleted(int dayNumber) {
+        return progress.isCompleted(dayNumber);
+    }
 
-        long nextUnlockTime = getNext5AM(completionTime);
-        long currentTime = System.currentTimeMillis();
+    /**
+     * When the day was completed (millis), or 0 if it isn't
+     */
+    public long getDayCompletionTime(int dayNumber) {
+        return progress.getCompletionTime(dayNumber);
+    }
 
-        return Math.max(0, nextUnlockTime - currentTime);
+    /**
+     * ✅ FIXED: Get time remaining with catch-up mode support
+     */
+    public long getTimeUntilNextDayUnlocks(int dayNumber) {
+        return evaluateAll().getTimeRemaining(dayNumber);
     }
 
     /**
      * ✅ FIXED: Get formatted time remaining with catch-up mode
      */
     public String getFormattedTimeRemaining(int dayNumber) {
+        return formatTimeRemaining(evaluateAll(), dayNumber);
+    }
+
+    /**
+     * Same as getFormattedTimeRemaining() from an evaluation already made for a list
+     */
+    public String formatTimeRemaining(JourneyProgress journey, int dayNumber) {
         if (dayNumber <= 1) {
             return "✅ Available now";
         }
 
         int previousDay = dayNumber - 1;
-        int currentRamadanDay = getCurrentRamadanDay();
 
         // Check if previous day is completed
-        if (!isDayCompleted(previousDay)) {
+        if (!journey.isCompleted(previousDay)) {
             return "🔒 Complete Day " + previousDay + " first";
         }
 
         // ✅ CATCH-UP MODE
-        if (dayNumber < currentRamadanDay) {
+        if (dayNumber < journey.getCurrentDay()) {
             return "✅ Available now (Catch-up mode)";
         }
 
         // ✅ NORMAL MODE
-        long millis = getTimeUntilNextDayUnlocks(dayNumber);
+        long millis = journey.getTimeRemaining(dayNumber);
 
         if (millis == -1) {
             return "🔒 Complete Day " + previousDay + " first";
@@ -275,9 +296,7 @@ public class RamadanManager {
         long hours = millis / (60 * 60 * 1000);
         long minutes = (millis % (60 * 60 * 1000)) / (60 * 1000);
 
-        long completionTime = prefs.getLong(KEY_DAY_COMPLETION_TIME + previousDay, 0);
-        long unlockTime = getNext5AM(completionTime);
-        String unlockTimeStr = formatTime(unlockTime);
+        String unlockTimeStr = formatTime(journey.getUnlockAt(dayNumber));
 
         if (hours > 0) {
             return "🔒 Unlocks in " + hours + "h " + minutes + "m at " + unlockTimeStr;
@@ -291,29 +310,129 @@ public class RamadanManager {
     }
 
     public int getCompletedDaysCount() {
-        int count = 0;
-        int maxDay = getMaxAccessibleDay();
-        for (int i = 1; i <= maxDay; i++) {
-            if (isDayCompleted(i)) {
-                count++;
-            }
-        }
-        return count;
+        return evaluateAll().getCompletedCount();
     }
 
     public int getProgressPercentage() {
-        int maxDay = getMaxAccessibleDay();
-        if (maxDay == 0) return 0;
-
-        int completed = getCompletedDaysCount();
-        return (completed * 100) / maxDay;
+        return evaluateAll().getProgressPercentage();
     }
 
     public void resetAllProgress() {
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.clear();
-        editor.apply();
+        // Synced as "not completed" so other devices reset too
+        Map<String, Object> cleared = new HashMap<>();
+        for (int day = 1; day <= JourneyProgress.DAYS; day++) {
+            if (progress.isCompleted(day)) {
+                cleared.put(ProgressSyncManager.journeyPath(day), 0L);
+            }
+        }
+        if (!cleared.isEmpty()) {
+            ProgressSyncManager.getInstance(context).recordAll(cleared);
+        }
+
+        progress.reset();
         Log.d(TAG, "🔄 All progress reset");
+        scheduleNextUnlock();
+    }
+
+    // ============ UNLOCK EVENTS ============
+
+    /**
+     * Instant the next locked day unlocks by itself, or -1 if nothing unlocks without user action
+     *
+     * Earlier days unlock on completion (catch-up mode). The current day can be waiting on
+     * 5:00 AM; once it is completed, the next day opens at the following 5:00 AM.
+     */
+    public long getNextUnlockTime() {
+        return evaluateAll().getNextUnlockTime();
+    }
+
+    /**
+     * Called on the main thread when a day unlocks while subscribed
+     * Subscribe in onStart and unsubscribe in onStop; idle screens do no periodic work.
+     */
+    public void addUnlockListener(OnDayUnlockListener listener) {
+        if (!unlockListeners.contains(listener)) {
+            unlockListeners.add(listener);
+        }
+        JourneyProgress journey = evaluateAll();
+        scheduleUnlockCallback(journey.getNextUnlockTime(), journey.getNextUnlockDay());
+    }
+
+    public void removeUnlockListener(OnDayUnlockListener listener) {
+        unlockListeners.remove(listener);
+        if (unlockListeners.isEmpty()) {
+            scheduleUnlockCallback(-1, 0);
+        }
+    }
+
+    /**
+     * True while a visible screen will show the unlock itself
+     */
+    public static boolean hasUnlockListeners() {
+        return !unlockListeners.isEmpty();
+    }
+
+    /**
+     * Re-arm the in-process callback and the alarm for the current progress
+     * (after completing a day, a Ramadan day change or a reset)
+     */
+    public void scheduleNextUnlock() {
+        JourneyProgress journey = evaluateAll();
+        long unlockAt = journey.getNextUnlockTime();
+        int day = journey.getNextUnlockDay();
+        scheduleUnlockCallback(unlockAt, day);
+        scheduleUnlockAlarm(unlockAt, day);
+    }
+
+    private void scheduleUnlockCallback(long unlockAt, int day) {
+        Context appContext = context.getApplicationContext();
+        synchronized (unlockListeners) {
+            if (pendingUnlock != null) {
+                unlockHandler.removeCallbacks(pendingUnlock);
+                pendingUnlock = null;
+            }
+            if (unlockAt < 0 || unlockListeners.isEmpty()) {
+                return;
+            }
+
+            pendingUnlock = () -> {
+                synchronized (unlockListeners) {
+                    pendingUnlock = null;
+                }
+                Log.d(TAG, "🔓 Day " + day + " unlocked at " + formatTime(System.currentTimeMillis()));
+                for (OnDayUnlockListener listener : unlockListeners) {
+                    listener.onDayUnlocked(day);
+                }
+                new RamadanManager(appContext).scheduleNextUnlock();
+            };
+            unlockHandler.postDelayed(pendingUnlock, Math.max(0, unlockAt - System.currentTimeMillis()));
+        }
+        Log.d(TAG, "⏰ Day " + day + " unlock callback at " + formatTime(unlockAt));
+    }
+
+    private void scheduleUnlockAlarm(long unlockAt, int day) {
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        Intent intent = new Intent(context, DayUnlockReceiver.class);
+        intent.putExtra(DayUnlockReceiver.EXTRA_DAY, day);
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(
+                context,
+                UNLOCK_ALARM_REQUEST_CODE,
+                intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        if (unlockAt < 0) {
+            alarmManager.cancel(pendingIntent);
+            return;
+        }
+
+        // Exact when allowed; otherwise the system may deliver it a few minutes late
+        boolean canExact = Build.VERSION.SDK_INT < Build.VERSION_CODES.S || alarmManager.canScheduleExactAlarms();
+        if (canExact) {
+            alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, unlockAt, pendingIntent);
+        } else {
+            alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, unlockAt, pendingIntent);
+        }
     }
 
     private String formatTime(long timestamp) {
@@ -328,18 +447,184 @@ public class RamadanManager {
         return String.format("%d:%02d %s", displayHour, minute, ampm);
     }
 
-    private String formatDuration(long millis) {
-        long hours = millis / (60 * 60 * 1000);
-        long minutes = (millis % (60 * 60 * 1000)) / (60 * 1000);
+    /**
+     * Process-wide Ramadan flag/day and journey progress, loaded from prefs once
+     *
+     * Completion is a bitset (bit N = day N) plus completion times, stored as two keys and
+     * written together in one editor, so a mutation is never half-persisted.
+     * Times are stored as "day:completedAt,..." for completed days only.
+     */
+    private static final class ProgressState {
+
+        private final SharedPreferences prefs;
+
+        private boolean isRamadan;
+        private int currentDay; // 0 = never set
+        private int resolvedDate; // yyyyMMdd of the last resolve, in memory only
+        private long completedBits;
+        private final long[] completionTimes = new long[JourneyProgress.DAYS + 1];
+
+        ProgressState(SharedPreferences prefs) {
+            this.prefs = prefs;
+            isRamadan = prefs.getBoolean(KEY_IS_RAMADAN, false);
+            currentDay = prefs.getInt(KEY_CURRENT_RAMADAN_DAY, 0);
+            if (prefs.contains(KEY_COMPLETED_BITS)) {
+                completedBits = prefs.getLong(KEY_COMPLETED_BITS, 0);
+                decodeTimes(prefs.getString(KEY_COMPLETION_TIMES, ""));
+            } else {
+                migrateLegacy();
+            }
+        }
 
-        if (hours > 0) {
-            return hours + "h " + minutes + "m";
-        } else {
-            return minutes + " minutes";
+        synchronized boolean isRamadan() {
+            return isRamadan;
+        }
+
+        synchronized int getCurrentDay(int fallback) {
+            return currentDay > 0 ? currentDay : fallback;
+        }
+
+        synchronized boolean isCompleted(int day) {
+            return isValidDay(day) && (completedBits & (1L << day)) != 0;
+        }
+
+        synchronized long getCompletionTime(int day) {
+            return isCompleted(day) ? completionTimes[day] : 0;
+        }
+
+        synchronized JourneyProgress evaluate(long now) {
+            return new JourneyProgress(completedBits, completionTimes, currentDay > 0 ? currentDay : 1, now);
+        }
+
+        synchronized boolean isResolvedFor(int dateKey) {
+            return resolvedDate == dateKey;
+        }
+
+        synchronized void invalidateStatus() {
+            resolvedDate = 0;
+        }
+
+        /** Stores the flag, and the day while Ramadan is active; returns the day or 0 */
+        int applyStatus(RamadanStatus status, int dateKey) {
+            boolean isActive = status.isRamadan();
+            SharedPreferences.Editor editor = prefs.edit();
+            synchronized (this) {
+                resolvedDate = dateKey;
+                if (isActive == isRamadan && (!isActive || currentDay == status.getDay())) {
+                    return status.getDay(); // Unchanged, nothing to write
+                }
+                isRamadan = isActive;
+                editor.putBoolean(KEY_IS_RAMADAN, isActive);
+                if (isActive) {
+                    currentDay = status.getDay();
+                    editor.putInt(KEY_CURRENT_RAMADAN_DAY, currentDay);
+                }
+            }
+            editor.apply();
+            return status.getDay();
+        }
+
+        void markCompleted(int day, long completedAt) {
+            if (!isValidDay(day)) {
+                Log.w(TAG, "⚠️ Ignoring completion of day out of range: " + day);
+                return;
+            }
+            SharedPreferences.Editor editor = prefs.edit();
+            synchronized (this) {
+                completedBits |= 1L << day;
+                completionTimes[day] = completedAt;
+                putProgress(editor);
+            }
+            editor.apply();
+        }
+
+        void clearCompleted(int day) {
+            if (!isValidDay(day)) {
+                return;
+            }
+            SharedPreferences.Editor editor = prefs.edit();
+            synchronized (this) {
+                completedBits &= ~(1L << day);
+                completionTimes[day] = 0;
+                putProgress(editor);
+            }
+            editor.apply();
+        }
+
+        void reset() {
+            synchronized (this) {
+                isRamadan = false;
+                currentDay = 0;
+                resolvedDate = 0;
+                completedBits = 0;
+                Arrays.fill(completionTimes, 0);
+            }
+            prefs.edit().clear().apply();
+        }
+
+        private void putProgress(SharedPreferences.Editor editor) {
+            editor.putLong(KEY_COMPLETED_BITS, completedBits);
+            editor.putString(KEY_COMPLETION_TIMES, encodeTimes());
+        }
+
+        /** Old day_completed_N / day_completion_time_N keys -> bitset, removed in the same write */
+        private void migrateLegacy() {
+            SharedPreferences.Editor editor = prefs.edit();
+            int migrated = 0;
+            for (int day = 1; day <= JourneyProgress.DAYS; day++) {
+                if (prefs.getBoolean(KEY_DAY_COMPLETED + day, false)) {
+                    completedBits |= 1L << day;
+                    completionTimes[day] = prefs.getLong(KEY_DAY_COMPLETION_TIME + day, 0);
+                    migrated++;
+                }
+                editor.remove(KEY_DAY_COMPLETED + day);
+                editor.remove(KEY_DAY_COMPLETION_TIME + day);
+            }
+            putProgress(editor);
+            editor.apply();
+            if (migrated > 0) {
+                Log.d(TAG, "🔄 Migrated " + migrated + " completed days from legacy keys");
+            }
+        }
+
+        private String encodeTimes() {
+            StringBuilder builder = new StringBuilder();
+            for (long remaining = completedBits; remaining != 0; remaining &= remaining - 1) {
+                int day = Long.numberOfTrailingZeros(remaining);
+                if (builder.length() > 0) builder.append(',');
+                builder.append(day).append(':').append(completionTimes[day]);
+            }
+            return builder.toString();
+        }
+
+        private void decodeTimes(String encoded) {
+            if (encoded == null || encoded.isEmpty()) {
+                return;
+            }
+            for (String entry : encoded.split(",")) {
+                String[] parts = entry.split(":");
+                if (parts.length != 2) continue;
+                try {
+                    int day = Integer.parseInt(parts[0]);
+                    if (isValidDay(day)) {
+                        completionTimes[day] = Long.parseLong(parts[1]);
+                    }
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "⚠️ Skipping invalid completion time: " + entry);
+                }
+            }
+        }
+
+        private static boolean isValidDay(int day) {
+            return day >= 1 && day <= JourneyProgress.DAYS;
         }
     }
 
     public interface OnRamadanStatusListener {
         void onStatusChecked(boolean isRamadan, int currentDay);
     }
+
+    public interface OnDayUnlockListener {
+        void onDayUnlocked(int dayNumber);
+    }
 }
\ No newline at end of file
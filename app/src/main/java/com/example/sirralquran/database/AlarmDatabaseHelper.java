@@ -0,0 +1,223 @@
+package com.example.sirralquran.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+import com.example.sirralquran.models.ArmedAlarm;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Database Helper for alarm bookkeeping
+ * - armed_alarms: currently armed prayer alarms so rescheduling only touches what changed
+ * - alarm_deliveries: ring buffer of scheduled vs actual delivery times (drift telemetry)
+ */
+public class AlarmDatabaseHelper extends SQLiteOpenHelper {
+
+    private static final String TAG = "AlarmDatabaseHelper";
+    private static final String DATABASE_NAME = "Alarms.db";
+    private static final int DATABASE_VERSION = 2;  // v2: alarm_deliveries
+
+    private static final String TABLE_ARMED_ALARMS = "armed_alarms";
+    private static final String TABLE_DELIVERIES = "alarm_deliveries";
+
+    // Ring buffer size for delivery telemetry
+    private static final int DELIVERY_CAPACITY = 500;
+
+    // Columns
+    private static final String COL_EVENT_KEY = "event_key";
+    private static final String COL_REQUEST_CODE = "request_code";
+    private static final String COL_TRIGGER_AT = "trigger_at";
+    private static final String COL_PAYLOAD_HASH = "payload_hash";
+
+    // Delivery columns
+    private static final String COL_SLOT = "slot";
+    private static final String COL_SEQ = "seq";
+    private static final String COL_PRAYER_NAME = "prayer_name";
+    private static final String COL_DEVICE_STATE = "device_state";
+    private static final String COL_SCHEDULED_AT = "scheduled_at";
+    private static final String COL_RECEIVED_AT = "received_at";
+
+    private static AlarmDatabaseHelper instance;
+
+    public static synchronized AlarmDatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new AlarmDatabaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AlarmDatabaseHelper(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        String CREATE_TABLE = "CREATE TABLE " + TABLE_ARMED_ALARMS + " ("
+                + COL_EVENT_KEY + " TEXT PRIMARY KEY, "
+                + COL_REQUEST_CODE + " INTEGER NOT NULL, "
+                + COL_TRIGGER_AT + " INTEGER NOT NULL, "
+                + COL_PAYLOAD_HASH + " INTEGER NOT NULL"
+                + ")";
+
+        db.execSQL(CREATE_TABLE);
+        createDeliveriesTable(db);
+        Log.d(TAG, "✅ Database created (v2) with armed_alarms and alarm_deliveries tables");
+    }
+
+    private void createDeliveriesTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_DELIVERIES + " ("
+                + COL_SLOT + " INTEGER PRIMARY KEY, "
+                + COL_SEQ + " INTEGER NOT NULL, "
+                + COL_PRAYER_NAME + " TEXT NOT NULL, "
+                + COL_DEVICE_STATE + " TEXT NOT NULL, "
+                + COL_SCHEDULED_AT + " INTEGER NOT NULL, "
+                + COL_RECEIVED_AT + " INTEGER NOT NULL"
+                + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        Log.d(TAG, "🔄 Upgrading database from v" + oldVersion + " to v" + newVersion);
+
+        if (oldVersion < 2) {
+            createDeliveriesTable(db);
+            Log.d(TAG, "✅ Added alarm_deliveries table");
+        }
+    }
+
+    /**
+     * Get all armed alarms keyed by event key
+     */
+    public Map<String, ArmedAlarm> getArmedAlarms() {
+        Map<String, ArmedAlarm> alarms = new HashMap<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        Cursor cursor = db.query(
+                TABLE_ARMED_ALARMS,
+                new String[]{COL_EVENT_KEY, COL_REQUEST_CODE, COL_TRIGGER_AT, COL_PAYLOAD_HASH},
+                null, null, null, null, null
+        );
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                ArmedAlarm alarm = new ArmedAlarm(
+                        cursor.getString(0),
+                        cursor.getInt(1),
+                        cursor.getLong(2),
+                        cursor.getInt(3)
+                );
+                alarms.put(alarm.getEventKey(), alarm);
+            } while (cursor.moveToNext());
+        }
+
+        if (cursor != null) cursor.close();
+        return alarms;
+    }
+
+    /**
+     * Insert or replace an armed alarm
+     */
+    public void saveArmedAlarm(ArmedAlarm alarm) {
+        SQLiteDatabase db = this.getWritableDatabase();
+
+        ContentValues values = new ContentValues();
+        values.put(COL_EVENT_KEY, alarm.getEventKey());
+        values.put(COL_REQUEST_CODE, alarm.getRequestCode());
+        values.put(COL_TRIGGER_AT, alarm.getTriggerAt());
+        values.put(COL_PAYLOAD_HASH, alarm.getPayloadHash());
+
+        db.insertWithOnConflict(TABLE_ARMED_ALARMS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    public void deleteArmedAlarm(String eventKey) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.delete(TABLE_ARMED_ALARMS, COL_EVENT_KEY + "=?", new String[]{eventKey});
+    }
+
+    public void deleteAllArmedAlarms() {
+        SQLiteDatabase db = this.getWritableDatabase();
+        int deleted = db.delete(TABLE_ARMED_ALARMS, null, null);
+        Log.d(TAG, "❌ Cleared " + deleted + " armed alarms");
+    }
+
+    // ============ DELIVERY TELEMETRY ============
+
+    /**
+     * Record one alarm delivery, overwriting the oldest slot once the buffer is full
+     */
+    public void recordDelivery(String prayerName, String deviceState, long scheduledAt, long receivedAt) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            long nextSeq = 0;
+            Cursor cursor = db.rawQuery("SELECT MAX(" + COL_SEQ + ") FROM " + TABLE_DELIVERIES, null);
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                nextSeq = cursor.getLong(0) + 1;
+            }
+            if (cursor != null) cursor.close();
+
+            ContentValues values = new ContentValues();
+            values.put(COL_SLOT, nextSeq % DELIVERY_CAPACITY);
+            values.put(COL_SEQ, nextSeq);
+            values.put(COL_PRAYER_NAME, prayerName);
+            values.put(COL_DEVICE_STATE, deviceState);
+            values.put(COL_SCHEDULED_AT, scheduledAt);
+            values.put(COL_RECEIVED_AT, receivedAt);
+
+            db.insertWithOnConflict(TABLE_DELIVERIES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Get delivery drift (received - scheduled, ms) grouped by the given column
+     */
+    private Map<String, List<Long>> getDriftsGroupedBy(String column) {
+        Map<String, List<Long>> drifts = new TreeMap<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        Cursor cursor = db.query(
+                TABLE_DELIVERIES,
+                new String[]{column, COL_RECEIVED_AT + " - " + COL_SCHEDULED_AT},
+                null, null, null, null, null
+        );
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                String key = cursor.getString(0);
+                List<Long> list = drifts.get(key);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    drifts.put(key, list);
+                }
+                list.add(cursor.getLong(1));
+            } while (cursor.moveToNext());
+        }
+
+        if (cursor != null) cursor.close();
+        return drifts;
+    }
+
+    public Map<String, List<Long>> getDriftsByPrayer() {
+        return getDriftsGroupedBy(COL_PRAYER_NAME);
+    }
+
+    public Map<String, List<Long>> getDriftsByDeviceState() {
+        return getDriftsGroupedBy(COL_DEVICE_STATE);
+    }
+
+    public void deleteAllDeliveries() {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.delete(TABLE_DELIVERIES, null, null);
+        Log.d(TAG, "❌ Delivery telemetry cleared");
+    }
+}
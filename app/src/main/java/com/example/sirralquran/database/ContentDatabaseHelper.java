@@ -0,0 +1,657 @@
+package com.example.sirralquran.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.text.TextUtils;
+import android.util.Log;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+import com.example.sirralquran.models.SearchResult;
+import com.example.sirralquran.utils.SearchRanker;
+import com.example.sirralquran.utils.TextNormalizer;
+import org.json.JSONArray;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local content store for Firebase Ramadan content
+ *
+ * Screens read day content, Ayah and Hadith synchronously from here (primary key lookups).
+ * Firebase is only used by ContentSyncManager, which upserts rows whose version changed.
+ *
+ * content_search (v2) is an FTS4 index over this content plus the bundled assets; changed
+ * rows are re-indexed as they are upserted.
+ */
+public class ContentDatabaseHelper extends SQLiteOpenHelper {
+
+    private static final String TAG = "ContentDatabaseHelper";
+    private static final String DATABASE_NAME = "Content.db";
+    private static final int DATABASE_VERSION = 2;
+
+    public static final String TABLE_DAY_CONTENT = "day_content";
+    public static final String TABLE_AYAT = "daily_ayat";
+    public static final String TABLE_HADITH = "daily_hadith";
+    public static final String TABLE_SEARCH = "content_search";
+
+    // Shared columns
+    private static final String COL_DAY = "day";
+    private static final String COL_VERSION = "version";
+    private static final String COL_UPDATED_AT = "updated_at";
+
+    // Day content columns
+    private static final String COL_JUZ = "juz";
+    private static final String COL_SURAH_RANGE = "surah_range";
+    private static final String COL_CORE_THEME = "core_theme";
+    private static final String COL_EXPLANATION = "explanation";
+    private static final String COL_KEY_TAKEAWAYS = "key_takeaways";  // JSON array
+    private static final String COL_REFLECTION_QUESTION = "reflection_question";
+    private static final String COL_VIDEO_URL = "video_url";
+    private static final String COL_AUDIO_URL = "audio_url";
+    private static final String COL_RELATED_AYAH = "related_ayah";
+    private static final String COL_RELATED_HADITH = "related_hadith";
+    private static final String COL_SCHOLAR = "scholar";
+    private static final String COL_DURATION_MINUTES = "duration_minutes";
+    private static final String COL_DIFFICULTY_LEVEL = "difficulty_level";
+
+    // Ayah / Hadith columns
+    private static final String COL_ARABIC = "arabic";
+    private static final String COL_ENGLISH = "english";
+    private static final String COL_TRANSLITERATION = "transliteration";
+    private static final String COL_REFERENCE = "reference";
+    private static final String COL_SURAH_NAME = "surah_name";
+    private static final String COL_SURAH_NUMBER = "surah_number";
+    private static final String COL_AYAH_NUMBER = "ayah_number";
+    private static final String COL_BOOK = "book";
+    private static final String COL_HADITH_NUMBER = "hadith_number";
+    private static final String COL_NARRATOR = "narrator";
+    private static final String COL_GRADE = "grade";
+    private static final String COL_THEME = "theme";
+
+    // Columns hashed, in this order, into a row's version when no manifest version is given
+    private static final String[] DAY_CONTENT_HASH_COLUMNS = {
+            COL_JUZ, COL_SURAH_RANGE, COL_CORE_THEME, COL_EXPLANATION, COL_KEY_TAKEAWAYS,
+            COL_REFLECTION_QUESTION, COL_VIDEO_URL, COL_AUDIO_URL, COL_RELATED_AYAH, COL_RELATED_HADITH,
+            COL_SCHOLAR, COL_DURATION_MINUTES, COL_DIFFICULTY_LEVEL};
+    private static final String[] AYAT_HASH_COLUMNS = {
+            COL_ARABIC, COL_ENGLISH, COL_TRANSLITERATION, COL_REFERENCE, COL_SURAH_NAME,
+            COL_SURAH_NUMBER, COL_AYAH_NUMBER, COL_JUZ, COL_THEME};
+    private static final String[] HADITH_HASH_COLUMNS = {
+            COL_ARABIC, COL_ENGLISH, COL_TRANSLITERATION, COL_REFERENCE, COL_BOOK,
+            COL_HADITH_NUMBER, COL_NARRATOR, COL_GRADE, COL_THEME};
+
+    // Search columns (kind/day stored, not indexed; terms = normalized tokens, never displayed)
+    private static final String COL_KIND = "kind";
+    private static final String COL_TITLE = "title";
+    private static final String COL_BODY = "body";
+    private static final String COL_TERMS = "terms";
+    private static final int BODY_COLUMN_INDEX = 3;
+    private static final int SNIPPET_TOKENS = 16;
+
+    // BM25 weight per search column: kind, day, title, body, terms
+    private static final double[] SEARCH_COLUMN_WEIGHTS = {0, 0, 2.0, 0.5, 1.0};
+
+    // Search document sources: docid = source * 1000 + day
+    public static final int SEARCH_SOURCE_ASSET_HADITH = 1;
+    public static final int SEARCH_SOURCE_ASSET_AYAH = 2;
+    public static final int SEARCH_SOURCE_DUA = 3;
+    public static final int SEARCH_SOURCE_ASHRA_DAY = 4;
+    public static final int SEARCH_SOURCE_LESSON = 5;
+    public static final int SEARCH_SOURCE_AYAH = 6;
+    public static final int SEARCH_SOURCE_HADITH = 7;
+
+    private static ContentDatabaseHelper instance;
+
+    public static synchronized ContentDatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentDatabaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentDatabaseHelper(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_DAY_CONTENT + " ("
+                + COL_DAY + " INTEGER PRIMARY KEY, "
+                + COL_VERSION + " INTEGER NOT NULL, "
+                + COL_JUZ + " INTEGER, "
+                + COL_SURAH_RANGE + " TEXT, "
+                + COL_CORE_THEME + " TEXT, "
+                + COL_EXPLANATION + " TEXT, "
+                + COL_KEY_TAKEAWAYS + " TEXT, "
+                + COL_REFLECTION_QUESTION + " TEXT, "
+                + COL_VIDEO_URL + " TEXT, "
+                + COL_AUDIO_URL + " TEXT, "
+                + COL_RELATED_AYAH + " TEXT, "
+                + COL_RELATED_HADITH + " TEXT, "
+                + COL_SCHOLAR + " TEXT, "
+                + COL_DURATION_MINUTES + " INTEGER, "
+                + COL_DIFFICULTY_LEVEL + " TEXT, "
+                + COL_UPDATED_AT + " INTEGER"
+                + ")");
+
+        db.execSQL("CREATE TABLE " + TABLE_AYAT + " ("
+                + COL_DAY + " INTEGER PRIMARY KEY, "
+                + COL_VERSION + " INTEGER NOT NULL, "
+                + COL_ARABIC + " TEXT, "
+                + COL_ENGLISH + " TEXT, "
+                + COL_TRANSLITERATION + " TEXT, "
+                + COL_REFERENCE + " TEXT, "
+                + COL_SURAH_NAME + " TEXT, "
+                + COL_SURAH_NUMBER + " INTEGER, "
+                + COL_AYAH_NUMBER + " INTEGER, "
+                + COL_JUZ + " INTEGER, "
+                + COL_THEME + " TEXT, "
+                + COL_UPDATED_AT + " INTEGER"
+                + ")");
+
+        db.execSQL("CREATE TABLE " + TABLE_HADITH + " ("
+                + COL_DAY + " INTEGER PRIMARY KEY, "
+                + COL_VERSION + " INTEGER NOT NULL, "
+                + COL_ARABIC + " TEXT, "
+                + COL_ENGLISH + " TEXT, "
+                + COL_TRANSLITERATION + " TEXT, "
+                + COL_REFERENCE + " TEXT, "
+                + COL_BOOK + " TEXT, "
+                + COL_HADITH_NUMBER + " INTEGER, "
+                + COL_NARRATOR + " TEXT, "
+                + COL_GRADE + " TEXT, "
+                + COL_THEME + " TEXT, "
+                + COL_UPDATED_AT + " INTEGER"
+                + ")");
+
+        createSearchTable(db);
+
+        Log.d(TAG, "✅ Database created (v" + DATABASE_VERSION + ") with content and search tables");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        Log.d(TAG, "🔄 Upgrading database from v" + oldVersion + " to v" + newVersion);
+        if (oldVersion < 2) {
+            // Rows already stored get indexed by ContentSearchManager on first run
+            createSearchTable(db);
+        }
+    }
+
+    private void createSearchTable(SQLiteDatabase db) {
+        db.execSQL("CREATE VIRTUAL TABLE " + TABLE_SEARCH + " USING fts4("
+                + COL_KIND + ", "
+                + COL_DAY + ", "
+                + COL_TITLE + ", "
+                + COL_BODY + ", "
+                + COL_TERMS + ", "
+                + "notindexed=" + COL_KIND + ", "
+                + "notindexed=" + COL_DAY
+                + ")");
+    }
+
+    // ============ READS ============
+
+    /**
+     * Get day content from the local store, or null if not synced yet
+     */
+    public RamadanDayContent getDayContent(int day) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_DAY_CONTENT, null, COL_DAY + "=?",
+                new String[]{String.valueOf(day)}, null, null, null);
+
+        RamadanDayContent content = null;
+        if (cursor != null && cursor.moveToFirst()) {
+            content = readDayContent(cursor);
+        }
+
+        if (cursor != null) cursor.close();
+        return content;
+    }
+
+    /**
+     * Get day content for a range of days, indexed by day number (missing days are null)
+     */
+    public RamadanDayContent[] getDayContentRange(int fromDay, int toDay) {
+        RamadanDayContent[] contents = new RamadanDayContent[toDay + 1];
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_DAY_CONTENT, null, COL_DAY + " BETWEEN ? AND ?",
+                new String[]{String.valueOf(fromDay), String.valueOf(toDay)}, null, null, null);
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                RamadanDayContent content = readDayContent(cursor);
+                contents[content.getDayNumber()] = content;
+            } while (cursor.moveToNext());
+        }
+
+        if (cursor != null) cursor.close();
+        return contents;
+    }
+
+    public DailyAyah getAyah(int day) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_AYAT, null, COL_DAY + "=?",
+                new String[]{String.valueOf(day)}, null, null, null);
+
+        DailyAyah ayah = null;
+        if (cursor != null && cursor.moveToFirst()) {
+            ayah = new DailyAyah();
+            ayah.setDayNumber(cursor.getInt(cursor.getColumnIndexOrThrow(COL_DAY)));
+            ayah.setArabic(getString(cursor, COL_ARABIC));
+            ayah.setEnglish(getString(cursor, COL_ENGLISH));
+            ayah.setTransliteration(getString(cursor, COL_TRANSLITERATION));
+            ayah.setReference(getString(cursor, COL_REFERENCE));
+            ayah.setSurahName(getString(cursor, COL_SURAH_NAME));
+            ayah.setSurahNumber(cursor.getInt(cursor.getColumnIndexOrThrow(COL_SURAH_NUMBER)));
+            ayah.setAyahNumber(cursor.getInt(cursor.getColumnIndexOrThrow(COL_AYAH_NUMBER)));
+            ayah.setJuz(cursor.getInt(cursor.getColumnIndexOrThrow(COL_JUZ)));
+            ayah.setTheme(getString(cursor, COL_THEME));
+        }
+
+        if (cursor != null) cursor.close();
+        return ayah;
+    }
+
+    public DailyHadith getHadith(int day) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.query(TABLE_HADITH, null, COL_DAY + "=?",
+                new String[]{String.valueOf(day)}, null, null, null);
+
+        DailyHadith hadith = null;
+        if (cursor != null && cursor.moveToFirst()) {
+            hadith = new DailyHadith();
+            hadith.setDayNumber(cursor.getInt(cursor.getColumnIndexOrThrow(COL_DAY)));
+            hadith.setArabic(getString(cursor, COL_ARABIC));
+            hadith.setEnglish(getString(cursor, COL_ENGLISH));
+            hadith.setTransliteration(getString(cursor, COL_TRANSLITERATION));
+            hadith.setReference(getString(cursor, COL_REFERENCE));
+            hadith.setBook(getString(cursor, COL_BOOK));
+            hadith.setHadithNumber(cursor.getInt(cursor.getColumnIndexOrThrow(COL_HADITH_NUMBER)));
+            hadith.setNarrator(getString(cursor, COL_NARRATOR));
+            hadith.setGrade(getString(cursor, COL_GRADE));
+            hadith.setTheme(getString(cursor, COL_THEME));
+        }
+
+        if (cursor != null) cursor.close();
+        return hadith;
+    }
+
+    private RamadanDayContent readDayContent(Cursor cursor) {
+        RamadanDayContent content = new RamadanDayContent();
+        content.setDayNumber(cursor.getInt(cursor.getColumnIndexOrThrow(COL_DAY)));
+        content.setJuz(cursor.getInt(cursor.getColumnIndexOrThrow(COL_JUZ)));
+        content.setSurahRange(getString(cursor, COL_SURAH_RANGE));
+        content.setCoreTheme(getString(cursor, COL_CORE_THEME));
+        content.setExplanation(getString(cursor, COL_EXPLANATION));
+        content.setKeyTakeaways(parseStringList(getString(cursor, COL_KEY_TAKEAWAYS)));
+        content.setReflectionQuestion(getString(cursor, COL_REFLECTION_QUESTION));
+        content.setVideoUrl(getString(cursor, COL_VIDEO_URL));
+        content.setAudioUrl(getString(cursor, COL_AUDIO_URL));
+        content.setRelatedAyah(getString(cursor, COL_RELATED_AYAH));
+        content.setRelatedHadith(getString(cursor, COL_RELATED_HADITH));
+        content.setScholar(getString(cursor, COL_SCHOLAR));
+        content.setDurationMinutes(cursor.getInt(cursor.getColumnIndexOrThrow(COL_DURATION_MINUTES)));
+        content.setDifficultyLevel(getString(cursor, COL_DIFFICULTY_LEVEL));
+        return content;
+    }
+
+    private String getString(Cursor cursor, String column) {
+        int index = cursor.getColumnIndexOrThrow(column);
+        return cursor.isNull(index) ? null : cursor.getString(index);
+    }
+
+    // ============ WRITES ============
+
+    /**
+     * Upsert day content; version is derived from the row contents
+     *
+     * @return true if the row was inserted or changed
+     */
+    public boolean upsertDayContent(int day, RamadanDayContent content) {
+        return upsertDayContent(day, content, null);
+    }
+
+    /**
+     * Upsert day content with a manifest version (null = derive from row contents)
+     */
+    public boolean upsertDayContent(int day, RamadanDayContent content, Long version) {
+        ContentValues values = new ContentValues();
+        values.put(COL_JUZ, content.getJuz());
+        values.put(COL_SURAH_RANGE, content.getSurahRange());
+        values.put(COL_CORE_THEME, content.getCoreTheme());
+        values.put(COL_EXPLANATION, content.getExplanation());
+        values.put(COL_KEY_TAKEAWAYS, content.getKeyTakeaways() != null ?
+                new JSONArray(content.getKeyTakeaways()).toString() : null);
+        values.put(COL_REFLECTION_QUESTION, content.getReflectionQuestion());
+        values.put(COL_VIDEO_URL, content.getVideoUrl());
+        values.put(COL_AUDIO_URL, content.getAudioUrl());
+        values.put(COL_RELATED_AYAH, content.getRelatedAyah());
+        values.put(COL_RELATED_HADITH, content.getRelatedHadith());
+        values.put(COL_SCHOLAR, content.getScholar());
+        values.put(COL_DURATION_MINUTES, content.getDurationMinutes());
+        values.put(COL_DIFFICULTY_LEVEL, content.getDifficultyLevel());
+
+        boolean changed = upsert(TABLE_DAY_CONTENT, day, values, DAY_CONTENT_HASH_COLUMNS, version);
+        if (changed) indexLesson(day, content);
+        return changed;
+    }
+
+    public boolean upsertAyah(int day, DailyAyah ayah) {
+        return upsertAyah(day, ayah, null);
+    }
+
+    public boolean upsertAyah(int day, DailyAyah ayah, Long version) {
+        ContentValues values = new ContentValues();
+        values.put(COL_ARABIC, ayah.getArabic());
+        values.put(COL_ENGLISH, ayah.getEnglish());
+        values.put(COL_TRANSLITERATION, ayah.getTransliteration());
+        values.put(COL_REFERENCE, ayah.getReference());
+        values.put(COL_SURAH_NAME, ayah.getSurahName());
+        values.put(COL_SURAH_NUMBER, ayah.getSurahNumber());
+        values.put(COL_AYAH_NUMBER, ayah.getAyahNumber());
+        values.put(COL_JUZ, ayah.getJuz());
+        values.put(COL_THEME, ayah.getTheme());
+
+        boolean changed = upsert(TABLE_AYAT, day, values, AYAT_HASH_COLUMNS, version);
+        if (changed) indexAyah(day, ayah);
+        return changed;
+    }
+
+    public boolean upsertHadith(int day, DailyHadith hadith) {
+        return upsertHadith(day, hadith, null);
+    }
+
+    public boolean upsertHadith(int day, DailyHadith hadith, Long version) {
+        ContentValues values = new ContentValues();
+        values.put(COL_ARABIC, hadith.getArabic());
+        values.put(COL_ENGLISH, hadith.getEnglish());
+        values.put(COL_TRANSLITERATION, hadith.getTransliteration());
+        values.put(COL_REFERENCE, hadith.getReference());
+        values.put(COL_BOOK, hadith.getBook());
+        values.put(COL_HADITH_NUMBER, hadith.getHadithNumber());
+        values.put(COL_NARRATOR, hadith.getNarrator());
+        values.put(COL_GRADE, hadith.getGrade());
+        values.put(COL_THEME, hadith.getTheme());
+
+        boolean changed = upsert(TABLE_HADITH, day, values, HADITH_HASH_COLUMNS, version);
+        if (changed) indexHadith(day, hadith);
+        return changed;
+    }
+
+    /**
+     * Write the row only when its version differs from the stored one
+     */
+    private boolean upsert(String table, int day, ContentValues values, String[] hashColumns, Long manifestVersion) {
+        long version = manifestVersion != null ? manifestVersion : contentHash(values, hashColumns);
+        if (getVersion(table, day) == version) {
+            return false;
+        }
+
+        values.put(COL_DAY, day);
+        values.put(COL_VERSION, version);
+        values.put(COL_UPDATED_AT, System.currentTimeMillis());
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.insertWithOnConflict(table, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        Log.d(TAG, "✅ Upserted " + table + " day " + day + " (v" + version + ")");
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the given columns in order; stable across runs and Android versions
+     * (ContentValues.toString() follows HashMap order). Null and empty values hash differently.
+     */
+    private static long contentHash(ContentValues values, String[] columns) {
+        long hash = 0xcbf29ce484222325L;
+        for (String column : columns) {
+            Object value = values.get(column);
+            String text = value == null ? "\u0000" : "\u0001" + value;
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0x1F) * 0x100000001b3L; // field separator
+        }
+        return hash == -1 ? 0 : hash; // -1 means "not stored"
+    }
+
+    /**
+     * Get stored version of a row, or -1 if the day isn't stored
+     */
+    public long getVersion(String table, int day) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.query(table, new String[]{COL_VERSION}, COL_DAY + "=?",
+                new String[]{String.valueOf(day)}, null, null, null);
+
+        long version = -1;
+        if (cursor != null && cursor.moveToFirst()) {
+            version = cursor.getLong(0);
+        }
+
+        if (cursor != null) cursor.close();
+        return version;
+    }
+
+    /**
+     * Get stored versions of all rows in a table keyed by day
+     */
+    public Map<Integer, Long> getVersions(String table) {
+        Map<Integer, Long> versions = new HashMap<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.query(table, new String[]{COL_DAY, COL_VERSION},
+                null, null, null, null, null);
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                versions.put(cursor.getInt(0), cursor.getLong(1));
+            } while (cursor.moveToNext());
+        }
+
+        if (cursor != null) cursor.close();
+        return versions;
+    }
+
+    // ============ SEARCH ============
+
+    /**
+     * Add or replace one search document
+     * Body is stored with Arabic marks stripped (for snippets); normalized tokens go in terms.
+     */
+    public void indexSearchDocument(int source, String type, int day, String title, String body) {
+        String cleanBody = TextNormalizer.stripArabicMarks(body != null ? body : "");
+        String cleanTitle = TextNormalizer.stripArabicMarks(title != null ? title : "");
+        String terms = TextUtils.join(" ", TextNormalizer.tokenize(cleanTitle + " " + cleanBody));
+
+        long docId = source * 1000L + day;
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.delete(TABLE_SEARCH, "docid=?", new String[]{String.valueOf(docId)});
+
+        ContentValues values = new ContentValues();
+        values.put("docid", docId);
+        values.put(COL_KIND, type);
+        values.put(COL_DAY, day);
+        values.put(COL_TITLE, cleanTitle);
+        values.put(COL_BODY, cleanBody);
+        values.put(COL_TERMS, terms);
+        db.insert(TABLE_SEARCH, null, values);
+    }
+
+    /**
+     * Index every synced Firebase row (search table added after rows were stored)
+     */
+    public void reindexStoredContent() {
+        RamadanDayContent[] lessons = getDayContentRange(1, 30);
+        for (int day = 1; day <= 30; day++) {
+            if (lessons[day] != null) indexLesson(day, lessons[day]);
+
+            DailyAyah ayah = getAyah(day);
+            if (ayah != null) indexAyah(day, ayah);
+
+            DailyHadith hadith = getHadith(day);
+            if (hadith != null) indexHadith(day, hadith);
+        }
+    }
+
+    /**
+     * Run MATCH against the search table, most relevant first, one page at a time
+     *
+     * Pass 1 scores every match (BM25 over matchinfo, at most a few hundred rows);
+     * pass 2 builds snippets for the requested page only.
+     *
+     * @param matchQuery FTS4 query (e.g. "patienc* صبر*"), terms implicitly ANDed
+     */
+    public List<SearchResult> search(String matchQuery, int limit, int offset) {
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        List<RankedDoc> ranked = new ArrayList<>();
+        Cursor cursor = db.rawQuery("SELECT docid, matchinfo(" + TABLE_SEARCH + ", '" + SearchRanker.MATCHINFO_FORMAT + "')"
+                        + " FROM " + TABLE_SEARCH
+                        + " WHERE " + TABLE_SEARCH + " MATCH ?",
+                new String[]{matchQuery});
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                ranked.add(new RankedDoc(cursor.getLong(0),
+                        SearchRanker.score(decodeMatchInfo(cursor.getBlob(1)), SEARCH_COLUMN_WEIGHTS)));
+            } while (cursor.moveToNext());
+        }
+        if (cursor != null) cursor.close();
+
+        if (offset >= ranked.size()) {
+            return Collections.emptyList();
+        }
+        // Best score first; equal scores in docid order so pages are stable
+        Collections.sort(ranked, (a, b) -> {
+            int byScore = Double.compare(b.score, a.score);
+            return byScore != 0 ? byScore : Long.compare(a.docId, b.docId);
+        });
+        List<RankedDoc> page = ranked.subList(offset, Math.min(ranked.size(), offset + limit));
+
+        StringBuilder ids = new StringBuilder();
+        for (RankedDoc entry : page) {
+            if (ids.length() > 0) ids.append(',');
+            ids.append(entry.docId);
+        }
+
+        Map<Long, SearchResult> byDocId = new HashMap<>();
+        cursor = db.rawQuery("SELECT docid, " + COL_KIND + ", " + COL_DAY + ", " + COL_TITLE + ", "
+                        + "snippet(" + TABLE_SEARCH + ", '<b>', '</b>', '…', " + BODY_COLUMN_INDEX + ", " + SNIPPET_TOKENS + ")"
+                        + " FROM " + TABLE_SEARCH
+                        + " WHERE " + TABLE_SEARCH + " MATCH ? AND docid IN (" + ids + ")",
+                new String[]{matchQuery});
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                long docId = cursor.getLong(0);
+                byDocId.put(docId, new SearchResult(cursor.getString(1), cursor.getInt(2),
+                        cursor.getString(3), cursor.getString(4), (int) (docId / 1000)));
+            } while (cursor.moveToNext());
+        }
+        if (cursor != null) cursor.close();
+
+        List<SearchResult> results = new ArrayList<>(page.size());
+        for (RankedDoc entry : page) {
+            SearchResult result = byDocId.get(entry.docId);
+            if (result != null) results.add(result);
+        }
+        return results;
+    }
+
+    private static final class RankedDoc {
+        final long docId;
+        final double score;
+
+        RankedDoc(long docId, double score) {
+            this.docId = docId;
+            this.score = score;
+        }
+    }
+
+    /** matchinfo() blob -> unsigned 32-bit ints in the machine's byte order */
+    private static int[] decodeMatchInfo(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob).order(ByteOrder.nativeOrder());
+        int[] values = new int[blob.length / 4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return values;
+    }
+
+    /**
+     * Batch many index writes into one transaction
+     */
+    public void runInTransaction(Runnable work) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            work.run();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void indexLesson(int day, RamadanDayContent content) {
+        StringBuilder body = new StringBuilder();
+        appendLine(body, content.getSurahRange());
+        appendLine(body, content.getExplanation());
+        if (content.getKeyTakeaways() != null) {
+            for (String takeaway : content.getKeyTakeaways()) {
+                appendLine(body, takeaway);
+            }
+        }
+        appendLine(body, content.getReflectionQuestion());
+
+        String title = "Day " + day + (content.getCoreTheme() != null ? ": " + content.getCoreTheme() : "");
+        indexSearchDocument(SEARCH_SOURCE_LESSON, SearchResult.TYPE_LESSON, day, title, body.toString());
+    }
+
+    private void indexAyah(int day, DailyAyah ayah) {
+        StringBuilder body = new StringBuilder();
+        appendLine(body, ayah.getArabic());
+        appendLine(body, ayah.getEnglish());
+        appendLine(body, ayah.getTransliteration());
+
+        String title = ayah.getReference() != null ? ayah.getReference() : "Ayah - Day " + day;
+        indexSearchDocument(SEARCH_SOURCE_AYAH, SearchResult.TYPE_AYAH, day, title, body.toString());
+    }
+
+    private void indexHadith(int day, DailyHadith hadith) {
+        StringBuilder body = new StringBuilder();
+        appendLine(body, hadith.getArabic());
+        appendLine(body, hadith.getEnglish());
+        appendLine(body, hadith.getTransliteration());
+
+        String title = hadith.getReference() != null ? hadith.getReference() : "Hadith - Day " + day;
+        indexSearchDocument(SEARCH_SOURCE_HADITH, SearchResult.TYPE_HADITH, day, title, body.toString());
+    }
+
+    private static void appendLine(StringBuilder builder, String text) {
+        if (text == null || text.isEmpty()) return;
+        if (builder.length() > 0) builder.append('\n');
+        builder.append(text);
+    }
+
+    private List<String> parseStringList(String json) {
+        if (json == null) {
+            return null;
+        }
+
+        List<String> list = new ArrayList<>();
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                list.add(array.getString(i));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Error parsing stored list: " + e.getMessage());
+        }
+        return list;
+    }
+}
@@ -114,7 +114,10 @@ public class SalahDatabaseHelper extends SQLiteOpenHelper {
         Log.d(TAG, "✅ Database upgraded to v" + newVersion);
     }
 
-    private String getTodayDate() {
+    /**
+     * Date key of today's rows (yyyy-MM-dd), also used in synced Salah paths
+     */
+    public static String getTodayDate() {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH);
         return sdf.format(new Date());
     }
@@ -220,6 +223,29 @@ public class SalahDatabaseHelper extends SQLiteOpenHelper {
         db.close();
     }
 
+    /**
+     * Completed or qaza flag synced from another device (for any date, not recorded again)
+     * Inserts a bare row if the prayer isn't stored yet; its time is filled in by updatePrayerTimesOnly()
+     */
+    public void applyRemoteStatus(String date, String prayerName, boolean qaza, boolean value) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        String column = qaza ? COL_IS_QAZA : COL_IS_COMPLETED;
+
+        ContentValues values = new ContentValues();
+        values.put(column, value ? 1 : 0);
+        int updated = db.update(TABLE_PRAYERS, values, COL_DATE + "=? AND " + COL_PRAYER_NAME + "=?",
+                new String[]{date, prayerName});
+
+        if (updated == 0) {
+            values.put(COL_DATE, date);
+            values.put(COL_PRAYER_NAME, prayerName);
+            db.insert(TABLE_PRAYERS, null, values);
+        }
+
+        db.close();
+        Log.d(TAG, "☁️ Synced " + column + "=" + value + " for " + prayerName + " on " + date);
+    }
+
     /**
      * FULL SAVE (used only for initial insert or complete overwrite)
      */
@@ -0,0 +1,199 @@
+package com.example.sirralquran.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+import com.example.sirralquran.models.SyncField;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database Helper for progress sync
+ * - sync_fields: last known value and timestamp of every synced field
+ * - pending = 1 marks the outbox: changed locally, not yet acknowledged by Firebase
+ *
+ * One row per field path, so repeated changes to a field coalesce into one pending write.
+ */
+public class SyncDatabaseHelper extends SQLiteOpenHelper {
+
+    private static final String TAG = "SyncDatabaseHelper";
+    private static final String DATABASE_NAME = "Sync.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_FIELDS = "sync_fields";
+
+    // Columns
+    private static final String COL_PATH = "path";
+    private static final String COL_VALUE = "value";
+    private static final String COL_UPDATED_AT = "updated_at";
+    private static final String COL_PENDING = "pending";
+
+    private static SyncDatabaseHelper instance;
+
+    public static synchronized SyncDatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new SyncDatabaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private SyncDatabaseHelper(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_FIELDS + " ("
+                + COL_PATH + " TEXT PRIMARY KEY, "
+                + COL_VALUE + " TEXT, "
+                + COL_UPDATED_AT + " INTEGER NOT NULL, "
+                + COL_PENDING + " INTEGER NOT NULL DEFAULT 0"
+                + ")");
+        db.execSQL("CREATE INDEX idx_sync_pending ON " + TABLE_FIELDS + " (" + COL_PENDING + ")");
+        Log.d(TAG, "✅ Database created (v1) with sync_fields table");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        Log.d(TAG, "🔄 Upgrading database from v" + oldVersion + " to v" + newVersion);
+    }
+
+    /**
+     * Record local changes in one transaction and queue them for upload
+     */
+    public void recordLocal(List<SyncField> fields) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (SyncField field : fields) {
+                db.insertWithOnConflict(TABLE_FIELDS, null, toValues(field, true), SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Store a value that came from Firebase (nothing to upload)
+     */
+    public void saveRemote(SyncField field) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.insertWithOnConflict(TABLE_FIELDS, null, toValues(field, false), SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Put already-recorded fields back in the outbox (local value is newer than Firebase's)
+     */
+    public void markPending(List<String> paths) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(COL_PENDING, 1);
+            for (String path : paths) {
+                db.update(TABLE_FIELDS, values, COL_PATH + "=?", new String[]{path});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Clear the outbox flag for uploaded fields, unless they changed again while in flight
+     */
+    public void markSent(List<SyncField> sent) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(COL_PENDING, 0);
+            for (SyncField field : sent) {
+                db.update(TABLE_FIELDS, values, COL_PATH + "=? AND " + COL_UPDATED_AT + "=?",
+                        new String[]{field.getPath(), String.valueOf(field.getUpdatedAt())});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public List<SyncField> getPending() {
+        List<SyncField> fields = new ArrayList<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        Cursor cursor = db.query(
+                TABLE_FIELDS,
+                new String[]{COL_PATH, COL_VALUE, COL_UPDATED_AT},
+                COL_PENDING + "=1",
+                null, null, null, null
+        );
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                fields.add(new SyncField(cursor.getString(0), cursor.getString(1), cursor.getLong(2)));
+            } while (cursor.moveToNext());
+        }
+
+        if (cursor != null) cursor.close();
+        return fields;
+    }
+
+    /**
+     * Every known field keyed by path
+     */
+    public Map<String, SyncField> getAllFields() {
+        Map<String, SyncField> fields = new HashMap<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+
+        Cursor cursor = db.query(
+                TABLE_FIELDS,
+                new String[]{COL_PATH, COL_VALUE, COL_UPDATED_AT},
+                null, null, null, null, null
+        );
+
+        if (cursor != null && cursor.moveToFirst()) {
+            do {
+                SyncField field = new SyncField(cursor.getString(0), cursor.getString(1), cursor.getLong(2));
+                fields.put(field.getPath(), field);
+            } while (cursor.moveToNext());
+        }
+
+        if (cursor != null) cursor.close();
+        return fields;
+    }
+
+    public int getPendingCount() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_FIELDS + " WHERE " + COL_PENDING + "=1", null);
+
+        int count = 0;
+        if (cursor != null && cursor.moveToFirst()) {
+            count = cursor.getInt(0);
+        }
+
+        if (cursor != null) cursor.close();
+        return count;
+    }
+
+    public void deleteAll() {
+        SQLiteDatabase db = this.getWritableDatabase();
+        int deleted = db.delete(TABLE_FIELDS, null, null);
+        Log.d(TAG, "❌ Cleared " + deleted + " sync fields");
+    }
+
+    private ContentValues toValues(SyncField field, boolean pending) {
+        ContentValues values = new ContentValues();
+        values.put(COL_PATH, field.getPath());
+        values.put(COL_VALUE, field.getValue());
+        values.put(COL_UPDATED_AT, field.getUpdatedAt());
+        values.put(COL_PENDING, pending ? 1 : 0);
+        return values;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.sirralquran.models;
+
+/**
+ * Immutable snapshot of app_config/ramadan
+ * Read in one request instead of separate is_ramadan_active / current_day reads
+ */
+public final class AppConfig {
+    private final boolean ramadanActive;
+    private final int currentDay;
+    private final String startDate;      // "yyyy-MM-dd", may be null
+    private final long contentVersion;
+    private final long fetchedAt;
+
+    public AppConfig(boolean ramadanActive, int currentDay, String startDate, long contentVersion, long fetchedAt) {
+        this.ramadanActive = ramadanActive;
+        this.currentDay = currentDay;
+        this.startDate = startDate;
+        this.contentVersion = contentVersion;
+        this.fetchedAt = fetchedAt;
+    }
+
+    // Getters
+    public boolean isRamadanActive() { return ramadanActive; }
+    public int getCurrentDay() { return currentDay; }
+    public String getStartDate() { return startDate; }
+    public long getContentVersion() { return contentVersion; }
+    public long getFetchedAt() { return fetchedAt; }
+
+    /**
+     * True if both snapshots carry the same config values (fetch time ignored)
+     */
+    public boolean hasSameValues(AppConfig other) {
+        if (other == null) return false;
+        return ramadanActive == other.ramadanActive
+                && currentDay == other.currentDay
+                && contentVersion == other.contentVersion
+                && (startDate == null ? other.startDate == null : startDate.equals(other.startDate));
+    }
+}
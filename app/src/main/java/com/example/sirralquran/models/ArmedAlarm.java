@@ -0,0 +1,32 @@
+package com.example.sirralquran.models;
+
+/**
+ * Model for an alarm currently armed in AlarmManager
+ * Persisted so each refresh can be diffed against what is already scheduled
+ */
+public class ArmedAlarm {
+    private String eventKey;
+    private int requestCode;
+    private long triggerAt;
+    private int payloadHash;
+
+    public ArmedAlarm(String eventKey, int requestCode, long triggerAt, int payloadHash) {
+        this.eventKey = eventKey;
+        this.requestCode = requestCode;
+        this.triggerAt = triggerAt;
+        this.payloadHash = payloadHash;
+    }
+
+    // Getters
+    public String getEventKey() { return eventKey; }
+    public int getRequestCode() { return requestCode; }
+    public long getTriggerAt() { return triggerAt; }
+    public int getPayloadHash() { return payloadHash; }
+
+    /**
+     * True if this alarm fires at the same time with the same payload
+     */
+    public boolean isSameAs(long otherTriggerAt, int otherPayloadHash) {
+        return triggerAt == otherTriggerAt && payloadHash == otherPayloadHash;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.sirralquran.models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Model for the content version manifest in app_config/content_manifest
+ * Per-day versions for day content, Ayat and Hadith so sync can fetch only changed days
+ */
+public class ContentManifest {
+    private Map<Integer, Long> dayContentVersions;
+    private Map<Integer, Long> ayatVersions;
+    private Map<Integer, Long> hadithVersions;
+
+    public ContentManifest() {
+        this.dayContentVersions = new HashMap<>();
+        this.ayatVersions = new HashMap<>();
+        this.hadithVersions = new HashMap<>();
+    }
+
+    // Getters
+    public Map<Integer, Long> getDayContentVersions() { return dayContentVersions; }
+    public Map<Integer, Long> getAyatVersions() { return ayatVersions; }
+    public Map<Integer, Long> getHadithVersions() { return hadithVersions; }
+
+    public boolean isEmpty() {
+        return dayContentVersions.isEmpty() && ayatVersions.isEmpty() && hadithVersions.isEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.sirralquran.models;
+
+import java.util.Calendar;
+
+/**
+ * Unlock state, time remaining and completion for all 30 days, evaluated in one pass
+ *
+ * Built by RamadanManager.evaluateAll() from the in-memory progress (a completion bitset plus
+ * completion times), so list screens read every day without touching SharedPreferences.
+ * Plain Java so the unlock rules can be tested on the JVM.
+ */
+public class JourneyProgress {
+
+    public static final int DAYS = 30;
+
+    // 5:00 AM unlock time
+    private static final int UNLOCK_HOUR = 5;
+    private static final int UNLOCK_MINUTE = 0;
+
+    /** Unlock instant when the day is still waiting for 5:00 AM */
+    public static final long UNLOCKED = 0;
+    /** The previous day (or the Ramadan day) has to move first */
+    public static final long BLOCKED = -1;
+
+    private final int currentDay;
+    private final long completedBits;
+    private final long evaluatedAt;
+
+    /** [day]: UNLOCKED, BLOCKED, or the 5:00 AM instant the day opens */
+    private final long[] unlockAt = new long[DAYS + 1];
+    /** [day]: 0 when available, -1 when the previous day isn't done, else ms until unlock */
+    private final long[] remaining = new long[DAYS + 1];
+    private final boolean[] unlocked = new boolean[DAYS + 1];
+
+    private int nextUnlockDay = 0;
+    private long nextUnlockTime = -1;
+
+    /**
+     * @param completedBits   bit N set = day N completed
+     * @param completionTimes [day] = completion time in millis (0 if unknown)
+     * @param currentDay      current Ramadan day
+     * @param now             evaluation time in millis
+     */
+    public JourneyProgress(long completedBits, long[] completionTimes, int currentDay, long now) {
+        this.currentDay = currentDay;
+        this.completedBits = completedBits;
+        this.evaluatedAt = now;
+
+        for (int day = 1; day <= DAYS; day++) {
+            int previousDay = day - 1;
+            boolean previousCompleted = day == 1 || isBitSet(completedBits, previousDay);
+            long completionTime = previousDay < completionTimes.length ? completionTimes[previousDay] : 0;
+
+            if (day == 1) {
+                unlockAt[day] = UNLOCKED;
+                remaining[day] = 0;
+            } else if (!previousCompleted) {
+                unlockAt[day] = BLOCKED;
+                remaining[day] = -1;
+            } else if (day < currentDay) {
+                // Catch-up mode: unlocks as soon as the previous day is done
+                unlockAt[day] = UNLOCKED;
+                remaining[day] = 0;
+            } else if (completionTime == 0) {
+                unlockAt[day] = BLOCKED;
+                remaining[day] = -1;
+            } else {
+                // Normal mode: 5:00 AM after the previous day was completed
+                long opensAt = getNext5AM(completionTime);
+                unlockAt[day] = now >= opensAt ? UNLOCKED : opensAt;
+                remaining[day] = Math.max(0, opensAt - now);
+            }
+
+            // Never beyond the current Ramadan day
+            unlocked[day] = day <= currentDay && unlockAt[day] == UNLOCKED;
+        }
+
+        if (currentDay >= 2 && currentDay <= DAYS && unlockAt[currentDay] > 0) {
+            nextUnlockDay = currentDay;
+            nextUnlockTime = unlockAt[currentDay];
+        } else if (currentDay >= 1 && currentDay < DAYS && isBitSet(completedBits, currentDay)
+                && currentDay < completionTimes.length && completionTimes[currentDay] != 0) {
+            // Usual flow: today's day is done, tomorrow's opens at 5:00 AM once the date moves
+            long opensAt = getNext5AM(completionTimes[currentDay]);
+            if (opensAt > now) {
+                nextUnlockDay = currentDay + 1;
+                nextUnlockTime = opensAt;
+            }
+        }
+    }
+
+    public int getCurrentDay() { return currentDay; }
+    public long getEvaluatedAt() { return evaluatedAt; }
+
+    public boolean isCompleted(int day) {
+        return day >= 1 && day <= DAYS && isBitSet(completedBits, day);
+    }
+
+    public boolean isUnlocked(int day) {
+        return day >= 1 && day <= DAYS && unlocked[day];
+    }
+
+    /**
+     * UNLOCKED, BLOCKED, or the future instant the day opens at 5:00 AM
+     */
+    public long getUnlockAt(int day) {
+        return day >= 1 && day <= DAYS ? unlockAt[day] : BLOCKED;
+    }
+
+    /**
+     * 0 when available, -1 when the previous day isn't completed, else ms until 5:00 AM
+     */
+    public long getTimeRemaining(int day) {
+        if (day <= 1) {
+            return 0;
+        }
+        return day <= DAYS ? remaining[day] : -1;
+    }
+
+    /**
+     * Completed days among the accessible ones (1..current day)
+     */
+    public int getCompletedCount() {
+        int maxDay = Math.min(currentDay, DAYS);
+        if (maxDay <= 0) {
+            return 0;
+        }
+        long accessibleMask = ((1L << (maxDay + 1)) - 1) & ~1L;
+        return Long.bitCount(completedBits & accessibleMask);
+    }
+
+    public int getProgressPercentage() {
+        if (currentDay <= 0) return 0;
+        return (getCompletedCount() * 100) / currentDay;
+    }
+
+    /**
+     * Next time a day opens without user action, or -1
+     *
+     * Either the current day waiting on 5:00 AM, or, when the current day is already completed,
+     * the next day at the 5:00 AM after that completion.
+     */
+    public long getNextUnlockTime() {
+        return nextUnlockTime;
+    }
+
+    /**
+     * Day that opens at getNextUnlockTime(), or 0
+     */
+    public int getNextUnlockDay() {
+        return nextUnlockDay;
+    }
+
+    /**
+     * Next 5:00 AM after the given time
+     */
+    public static long getNext5AM(long fromTime) {
+        Calendar next5AM = Calendar.getInstance();
+        next5AM.setTimeInMillis(fromTime);
+        next5AM.set(Calendar.HOUR_OF_DAY, UNLOCK_HOUR);
+        next5AM.set(Calendar.MINUTE, UNLOCK_MINUTE);
+        next5AM.set(Calendar.SECOND, 0);
+        next5AM.set(Calendar.MILLISECOND, 0);
+
+        // If completion time is after that day's 5 AM, move to the next morning
+        if (next5AM.getTimeInMillis() < fromTime) {
+            next5AM.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        return next5AM.getTimeInMillis();
+    }
+
+    private static boolean isBitSet(long bits, int day) {
+        return (bits & (1L << day)) != 0;
+    }
+}
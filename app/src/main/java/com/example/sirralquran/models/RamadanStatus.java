@@ -0,0 +1,103 @@
+package com.example.sirralquran.models;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Ramadan flag and day for one civil date, and where they came from
+ *
+ * fromConfig() decides only when app_config can answer for today:
+ * 1. start_date within the last 30 days: day counted locally from it (right on later offline days)
+ * 2. config fetched today: its is_ramadan_active, with the day from start_date or current_day
+ * Otherwise it returns null and the local Hijri date decides (e.g. a start_date from last year).
+ */
+public final class RamadanStatus {
+
+    public static final String SOURCE_START_DATE = "start_date";
+    public static final String SOURCE_CONFIG = "config";
+    public static final String SOURCE_HIJRI = "hijri";
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    private final boolean ramadan;
+    private final int day;
+    private final String source;
+
+    public RamadanStatus(boolean ramadan, int day, String source) {
+        this.ramadan = ramadan && day >= 1 && day <= JourneyProgress.DAYS;
+        this.day = this.ramadan ? day : 0;
+        this.source = source;
+    }
+
+    // Getters
+    public boolean isRamadan() { return ramadan; }
+    public int getDay() { return day; }   // 0 outside Ramadan
+    public String getSource() { return source; }
+
+    /**
+     * Status from an app_config snapshot, or null if it can't answer for the day of now
+     */
+    public static RamadanStatus fromConfig(AppConfig config, long now) {
+        if (config == null) {
+            return null;
+        }
+
+        // A flag fetched today can switch Ramadan off (e.g. Eid announced after day 29)
+        boolean fetchedToday = dateKey(config.getFetchedAt()) == dateKey(now);
+
+        int startDay = daysSince(config.getStartDate(), now);
+        boolean inMonth = startDay >= 0 && startDay < JourneyProgress.DAYS;
+        if (startDay != Integer.MIN_VALUE && (fetchedToday || inMonth)) {
+            boolean active = !fetchedToday || config.isRamadanActive();
+            return new RamadanStatus(active, startDay + 1, SOURCE_START_DATE);
+        }
+
+        if (fetchedToday) {
+            return new RamadanStatus(config.isRamadanActive(), config.getCurrentDay(), SOURCE_CONFIG);
+        }
+        return null;
+    }
+
+    /**
+     * Local civil date as yyyyMMdd, e.g. 20260301
+     */
+    public static int dateKey(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar.get(Calendar.YEAR) * 10000
+                + (calendar.get(Calendar.MONTH) + 1) * 100
+                + calendar.get(Calendar.DAY_OF_MONTH);
+    }
+
+    /**
+     * Whole local days from startDate ("yyyy-MM-dd") to now, or Integer.MIN_VALUE if not a date
+     */
+    static int daysSince(String startDate, long now) {
+        if (startDate == null || startDate.isEmpty()) {
+            return Integer.MIN_VALUE;
+        }
+
+        // Both dates as UTC midnights so DST changes don't shift the count
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.ENGLISH);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        format.setLenient(false);
+        Date start;
+        try {
+            start = format.parse(startDate);
+        } catch (ParseException e) {
+            return Integer.MIN_VALUE;
+        }
+
+        Calendar local = Calendar.getInstance();
+        local.setTimeInMillis(now);
+        Calendar today = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        today.clear();
+        today.set(local.get(Calendar.YEAR), local.get(Calendar.MONTH), local.get(Calendar.DAY_OF_MONTH));
+
+        return (int) Math.floorDiv(today.getTimeInMillis() - start.getTime(), DAY_MS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.sirralquran.models;
+
+/**
+ * One full-text search hit
+ * Snippet is a short excerpt with matches wrapped in <b></b> (for Html.fromHtml)
+ */
+public final class SearchResult {
+
+    // Result types
+    public static final String TYPE_HADITH = "hadith";
+    public static final String TYPE_AYAH = "ayah";
+    public static final String TYPE_DUA = "dua";
+    public static final String TYPE_ASHRA_DAY = "ashra_day";
+    public static final String TYPE_LESSON = "lesson";
+
+    private final String type;
+    private final int dayNumber;
+    private final String title;
+    private final String snippet;
+    private final int source; // ContentDatabaseHelper.SEARCH_SOURCE_*: bundled asset or synced row
+
+    public SearchResult(String type, int dayNumber, String title, String snippet, int source) {
+        this.type = type;
+        this.dayNumber = dayNumber;
+        this.title = title;
+        this.snippet = snippet;
+        this.source = source;
+    }
+
+    // Getters
+    public String getType() { return type; }
+    public int getDayNumber() { return dayNumber; }
+    public String getTitle() { return title; }
+    public String getSnippet() { return snippet; }
+    public int getSource() { return source; }
+}
@@ -0,0 +1,35 @@
+package com.example.sirralquran.models;
+
+/**
+ * Model for one synced progress field, e.g. "journey/day_3/completed_at"
+ * Compared by updatedAt across devices (last writer wins)
+ */
+public class SyncField {
+    private String path;
+    private String value;
+    private long updatedAt;
+
+    public SyncField(String path, String value, long updatedAt) {
+        this.path = path;
+        this.value = value;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public String getPath() { return path; }
+    public String getValue() { return value; }
+    public long getUpdatedAt() { return updatedAt; }
+
+    /**
+     * True if this value should replace the other one
+     * Equal timestamps are broken by value so every device picks the same winner.
+     */
+    public boolean winsOver(SyncField other) {
+        if (other == null || updatedAt != other.updatedAt) {
+            return other == null || updatedAt > other.updatedAt;
+        }
+        String mine = value != null ? value : "";
+        String theirs = other.value != null ? other.value : "";
+        return mine.compareTo(theirs) > 0;
+    }
+}
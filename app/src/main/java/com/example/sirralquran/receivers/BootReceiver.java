@@ -0,0 +1,26 @@
+package com.example.sirralquran.receivers;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+import com.example.sirralquran.controllers.RamadanManager;
+
+/**
+ * Re-arms the next day's unlock alarm after a reboot or app update (alarms don't survive either)
+ */
+public class BootReceiver extends BroadcastReceiver {
+    private static final String TAG = "BootReceiver";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        if (!Intent.ACTION_BOOT_COMPLETED.equals(action)
+                && !Intent.ACTION_MY_PACKAGE_REPLACED.equals(action)) {
+            return;
+        }
+
+        Log.d(TAG, "🔁 " + action + ", re-arming day unlock");
+        new RamadanManager(context).scheduleNextUnlock();
+    }
+}
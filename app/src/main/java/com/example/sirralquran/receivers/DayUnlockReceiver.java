@@ -0,0 +1,92 @@
+package com.example.sirralquran.receivers;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.util.Log;
+import androidx.core.app.NotificationCompat;
+import com.example.sirralquran.R;
+import com.example.sirralquran.controllers.RamadanManager;
+import com.example.sirralquran.views.ThirtyDayJourneyActivity;
+
+/**
+ * Alarm at the next 5:00 AM unlock (armed by RamadanManager.scheduleNextUnlock)
+ * Notifies that the day is open, unless a visible screen is already showing it
+ */
+public class DayUnlockReceiver extends BroadcastReceiver {
+    private static final String TAG = "DayUnlockReceiver";
+    private static final String CHANNEL_ID = "day_unlock";
+    private static final int NOTIFICATION_ID = 5100;
+
+    public static final String EXTRA_DAY = "day_number";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        int day = intent.getIntExtra(EXTRA_DAY, 0);
+
+        if (RamadanManager.hasUnlockListeners()) {
+            Log.d(TAG, "🔓 Day " + day + " unlocked, screen already listening");
+            return;
+        }
+
+        // Progress or Ramadan day may have changed since the alarm was set
+        if (day <= 0 || !new RamadanManager(context).isDayUnlocked(day)) {
+            Log.d(TAG, "⏭️ Day " + day + " no longer due, skipping notification");
+            return;
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            if (context.checkSelfPermission(android.Manifest.permission.POST_NOTIFICATIONS)
+                    != android.content.pm.PackageManager.PERMISSION_GRANTED) {
+                Log.w(TAG, "⚠️ Notification permission not granted");
+                return;
+            }
+        }
+
+        createNotificationChannel(context);
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle("🌙 Day " + day + " is unlocked")
+                .setContentText("Today's lesson is ready for you")
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setAutoCancel(true)
+                .setContentIntent(getPendingIntent(context));
+
+        NotificationManager notificationManager = context.getSystemService(NotificationManager.class);
+        notificationManager.notify(NOTIFICATION_ID, builder.build());
+        Log.d(TAG, "📢 Day " + day + " unlock notification shown");
+    }
+
+    private void createNotificationChannel(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                    CHANNEL_ID,
+                    "Daily Lessons",
+                    NotificationManager.IMPORTANCE_DEFAULT
+            );
+            channel.setDescription("When the next Ramadan day unlocks");
+
+            NotificationManager notificationManager =
+                    context.getSystemService(NotificationManager.class);
+
+            notificationManager.createNotificationChannel(channel);
+        }
+    }
+
+    private PendingIntent getPendingIntent(Context context) {
+        Intent intent = new Intent(context, ThirtyDayJourneyActivity.class);
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+
+        return PendingIntent.getActivity(
+                context,
+                NOTIFICATION_ID,
+                intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+    }
+}
@@ -3,15 +3,19 @@ package com.example.sirralquran.receivers;
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.app.PendingIntent;
+import android.app.usage.UsageStatsManager;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.media.RingtoneManager;
 import android.net.Uri;
 import android.os.Build;
+import android.os.PowerManager;
 import android.util.Log;
 import androidx.core.app.NotificationCompat;
 import com.example.sirralquran.R;
+import com.example.sirralquran.database.AlarmDatabaseHelper;
+import com.example.sirralquran.services.AdhanPlaybackService;
 import com.example.sirralquran.views.SalahTrackerActivity;
 
 /**
@@ -20,9 +24,29 @@ import com.example.sirralquran.views.SalahTrackerActivity;
 public class PrayerNotificationReceiver extends BroadcastReceiver {
     private static final String TAG = "PrayerReceiver";
     private static final String CHANNEL_ID = "prayer_notifications";
+    // Before prayer time: plain notification sound (the prayer channel's sound is the Adhan)
+    private static final String REMINDER_CHANNEL_ID = "prayer_reminders";
+
+    public static final String ACTION_PREPARE_ADHAN = "com.example.sirralquran.action.ALARM_ADHAN";
+    public static final String EXTRA_TRIGGER_AT = "trigger_at";
 
     @Override
     public void onReceive(Context context, Intent intent) {
+        recordDelivery(context, intent);
+
+        // Adhan alarm: hand over to the playback service, which prepares and plays at prayer time
+        if (ACTION_PREPARE_ADHAN.equals(intent.getAction())) {
+            long playAt = intent.getLongExtra("play_at", System.currentTimeMillis());
+            Log.d(TAG, "🔊 Adhan alarm triggered for: " + intent.getStringExtra("prayer_name"));
+            AdhanPlaybackService.prepare(
+                    context,
+                    intent.getStringExtra("prayer_name"),
+                    intent.getStringExtra("prayer_name_arabic"),
+                    playAt
+            );
+            return;
+        }
+
         String prayerName = intent.getStringExtra("prayer_name");
         String prayerNameArabic = intent.getStringExtra("prayer_name_arabic");
         String prayerTime = intent.getStringExtra("prayer_time");
@@ -39,22 +63,30 @@ public class PrayerNotificationReceiver extends BroadcastReceiver {
             }
         }
 
-        // Create notification channel
+        // Create notification channels
         createNotificationChannel(context);
+        createReminderChannel(context);
 
         // Build notification
-        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+        boolean isReminder = offset > 0;
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context,
+                isReminder ? REMINDER_CHANNEL_ID : CHANNEL_ID)
                 .setSmallIcon(R.drawable.ic_notification)
                 .setContentTitle(getNotificationTitle(prayerName, offset))
                 .setContentText(prayerNameArabic + " - " + prayerTime)
                 .setStyle(new NotificationCompat.BigTextStyle()
                         .bigText(getNotificationMessage(prayerName, offset)))
                 .setPriority(NotificationCompat.PRIORITY_HIGH)
-                .setSound(getNotificationSound(context))
+                .setSound(isReminder ? getReminderSound() : getNotificationSound(context))
                 .setAutoCancel(true)
                 .setVibrate(new long[]{0, 500, 200, 500})
                 .setContentIntent(getPendingIntent(context));
 
+        // At prayer time the Adhan service plays the full Adhan, so don't play the channel sound too
+        if (!isReminder) {
+            builder.setSilent(true);
+        }
+
         // Show notification
         NotificationManager notificationManager =
                 (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
@@ -64,6 +96,70 @@ public class PrayerNotificationReceiver extends BroadcastReceiver {
         Log.d(TAG, "✅ Notification shown for " + prayerName);
     }
 
+    /**
+     * Record scheduled vs actual delivery time for drift telemetry
+     */
+    private void recordDelivery(Context context, Intent intent) {
+        long receivedAt = System.currentTimeMillis();
+        long scheduledAt = intent.getLongExtra(EXTRA_TRIGGER_AT, 0);
+        if (scheduledAt == 0) {
+            return;
+        }
+
+        String label = intent.getStringExtra("prayer_name");
+        if (intent.getBooleanExtra("is_test", false)) {
+            label = "Test";
+        } else if (ACTION_PREPARE_ADHAN.equals(intent.getAction())) {
+            label = label + " (Adhan)";
+        }
+
+        String deviceState = getDeviceState(context);
+        Log.d(TAG, "⏱️ " + label + " delivered " + (receivedAt - scheduledAt) + " ms late [" + deviceState + "]");
+
+        try {
+            AlarmDatabaseHelper.getInstance(context).recordDelivery(label, deviceState, scheduledAt, receivedAt);
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Error recording delivery: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Describe power state at delivery: doze / power save / active, plus standby bucket (Android 9+)
+     */
+    private String getDeviceState(Context context) {
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+
+        String state;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M && powerManager.isDeviceIdleMode()) {
+            state = "doze";
+        } else if (powerManager.isPowerSaveMode()) {
+            state = "power_save";
+        } else if (!powerManager.isInteractive()) {
+            state = "screen_off";
+        } else {
+            state = "active";
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            UsageStatsManager usageStatsManager =
+                    (UsageStatsManager) context.getSystemService(Context.USAGE_STATS_SERVICE);
+            state += "/" + getBucketName(usageStatsManager.getAppStandbyBucket());
+        }
+
+        return state;
+    }
+
+    private String getBucketName(int bucket) {
+        switch (bucket) {
+            case UsageStatsManager.STANDBY_BUCKET_ACTIVE: return "active";
+            case UsageStatsManager.STANDBY_BUCKET_WORKING_SET: return "working_set";
+            case UsageStatsManager.STANDBY_BUCKET_FREQUENT: return "frequent";
+            case UsageStatsManager.STANDBY_BUCKET_RARE: return "rare";
+            case UsageStatsManager.STANDBY_BUCKET_RESTRICTED: return "restricted";
+            default: return "bucket_" + bucket;
+        }
+    }
+
     /**
      * Create notification channel (Android 8.0+)
      */
@@ -85,6 +181,27 @@ public class PrayerNotificationReceiver extends BroadcastReceiver {
         }
     }
 
+    /**
+     * Channel for reminders before prayer time (Android 8.0+)
+     */
+    private void createReminderChannel(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                    REMINDER_CHANNEL_ID,
+                    "Prayer Reminders",
+                    NotificationManager.IMPORTANCE_HIGH
+            );
+            channel.setDescription("Reminders before prayer time");
+            channel.enableVibration(true);
+            channel.setSound(getReminderSound(), null);
+
+            NotificationManager notificationManager =
+                    context.getSystemService(NotificationManager.class);
+
+            notificationManager.createNotificationChannel(channel);
+        }
+    }
+
     /**
      * Get notification title based on offset
      */
@@ -124,6 +241,10 @@ public class PrayerNotificationReceiver extends BroadcastReceiver {
         return Uri.parse("android.resource://" + context.getPackageName() + "/" + R.raw.adhan);
     }
 
+    private Uri getReminderSound() {
+        return RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
+    }
+
     /**
      * Get pending intent to open app
      */
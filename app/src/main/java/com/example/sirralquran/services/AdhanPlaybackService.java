@@ -0,0 +1,374 @@
+package com.example.sirralquran.services;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioAttributes;
+import android.media.AudioFocusRequest;
+import android.media.AudioManager;
+import android.media.MediaPlayer;
+import android.os.Build;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import androidx.core.app.NotificationCompat;
+import androidx.core.content.ContextCompat;
+import com.example.sirralquran.R;
+import com.example.sirralquran.utils.AppMetrics;
+import com.example.sirralquran.views.SalahTrackerActivity;
+
+/**
+ * Short-lived foreground service that plays the full Adhan
+ *
+ * FLOW:
+ * 1. Alarm fires a little BEFORE prayer time → ACTION_PREPARE
+ * 2. MediaPlayer is created and prepared (decoder ready, first buffers filled)
+ * 3. At prayer time playback starts from the already-prepared player
+ * 4. User can stop from the notification → ACTION_STOP
+ *
+ * A transient focus loss (e.g. a navigation prompt) pauses the Adhan and it resumes when focus
+ * returns; only a permanent loss, or a pause longer than MAX_FOCUS_PAUSE_MS, stops it.
+ */
+public class AdhanPlaybackService extends Service {
+
+    private static final String TAG = "AdhanPlayback";
+    private static final String CHANNEL_ID = "adhan_playback";
+    private static final String CHANNEL_NAME = "Adhan";
+    private static final int NOTIFICATION_ID = 7001;
+
+    public static final String ACTION_PREPARE = "com.example.sirralquran.action.PREPARE_ADHAN";
+    public static final String ACTION_STOP = "com.example.sirralquran.action.STOP_ADHAN";
+
+    public static final String EXTRA_PRAYER_NAME = "prayer_name";
+    public static final String EXTRA_PRAYER_NAME_ARABIC = "prayer_name_arabic";
+    public static final String EXTRA_PLAY_AT = "play_at";
+
+    // Don't play an Adhan that is this late (e.g. device was off)
+    private static final long MAX_LATE_START_MS = 2 * 60 * 1000;
+
+    // Don't resume an Adhan paused longer than this (e.g. a phone call)
+    private static final long MAX_FOCUS_PAUSE_MS = 2 * 60 * 1000;
+
+    // Wake lock covers the prepare lead time plus the whole Adhan
+    private static final long WAKE_LOCK_TIMEOUT_MS = 8 * 60 * 1000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable startPlaybackRunnable = this::startPlayback;
+    private final Runnable pauseTimeoutRunnable = () -> {
+        Log.d(TAG, "⏹️ Focus not back in time, stopping Adhan");
+        stopPlayback();
+    };
+
+    private MediaPlayer mediaPlayer;
+    private AudioManager audioManager;
+    private AudioFocusRequest focusRequest;
+    private PowerManager.WakeLock wakeLock;
+    private boolean isPrepared = false;
+    private boolean isPausedForFocus = false;
+    private long playAt;
+
+    private final AudioManager.OnAudioFocusChangeListener focusChangeListener = focusChange -> {
+        switch (focusChange) {
+            case AudioManager.AUDIOFOCUS_LOSS:
+                Log.d(TAG, "🔇 Audio focus lost, stopping Adhan");
+                stopPlayback();
+                break;
+            case AudioManager.AUDIOFOCUS_LOSS_TRANSIENT:
+                pauseForFocus();
+                break;
+            case AudioManager.AUDIOFOCUS_GAIN:
+                resumeAfterFocus();
+                break;
+        }
+    };
+
+    /**
+     * Start the service ahead of prayer time so the player is ready when it fires
+     */
+    public static void prepare(Context context, String prayerName, String prayerNameArabic, long playAt) {
+        Intent intent = new Intent(context, AdhanPlaybackService.class);
+        intent.setAction(ACTION_PREPARE);
+        intent.putExtra(EXTRA_PRAYER_NAME, prayerName);
+        intent.putExtra(EXTRA_PRAYER_NAME_ARABIC, prayerNameArabic);
+        intent.putExtra(EXTRA_PLAY_AT, playAt);
+        ContextCompat.startForegroundService(context, intent);
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        audioManager = (AudioManager) getSystemService(Context.AUDIO_SERVICE);
+        createNotificationChannel();
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        String action = intent != null ? intent.getAction() : null;
+
+        if (ACTION_STOP.equals(action)) {
+            Log.d(TAG, "⏹️ Stop requested");
+            stopPlayback();
+            return START_NOT_STICKY;
+        }
+
+        if (!ACTION_PREPARE.equals(action)) {
+            stopSelf();
+            return START_NOT_STICKY;
+        }
+
+        String prayerName = intent.getStringExtra(EXTRA_PRAYER_NAME);
+        String prayerNameArabic = intent.getStringExtra(EXTRA_PRAYER_NAME_ARABIC);
+        playAt = intent.getLongExtra(EXTRA_PLAY_AT, System.currentTimeMillis());
+
+        startInForeground(buildNotification("🕌 " + prayerName + " • " + prayerNameArabic));
+        acquireWakeLock();
+
+        long lateBy = System.currentTimeMillis() - playAt;
+        if (lateBy > MAX_LATE_START_MS) {
+            Log.w(TAG, "⏭️ Adhan for " + prayerName + " is " + (lateBy / 1000) + "s late, skipping");
+            stopPlayback();
+            return START_NOT_STICKY;
+        }
+
+        Log.d(TAG, "🔊 Preparing Adhan for " + prayerName);
+        preparePlayer();
+        return START_NOT_STICKY;
+    }
+
+    /**
+     * Create and prepare the player; the raw resource streams from the APK after the first buffers
+     */
+    private void preparePlayer() {
+        releasePlayer();
+        isPrepared = false;
+
+        try {
+            mediaPlayer = new MediaPlayer();
+            mediaPlayer.setAudioAttributes(new AudioAttributes.Builder()
+                    .setUsage(AudioAttributes.USAGE_ALARM)
+                    .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                    .build());
+
+            AssetFileDescriptor afd = getResources().openRawResourceFd(R.raw.adhan);
+            mediaPlayer.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            afd.close();
+
+            mediaPlayer.setOnPreparedListener(mp -> {
+                isPrepared = true;
+                long delay = playAt - System.currentTimeMillis();
+                Log.d(TAG, "✅ Adhan prepared, starting in " + Math.max(0, delay) + " ms");
+                handler.removeCallbacks(startPlaybackRunnable);
+                handler.postDelayed(startPlaybackRunnable, Math.max(0, delay));
+            });
+            mediaPlayer.setOnCompletionListener(mp -> {
+                Log.d(TAG, "✅ Adhan finished");
+                stopPlayback();
+            });
+            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+                Log.e(TAG, "❌ MediaPlayer error: " + what + "/" + extra);
+                stopPlayback();
+                return true;
+            });
+
+            mediaPlayer.prepareAsync();
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Error preparing Adhan: " + e.getMessage());
+            stopPlayback();
+        }
+    }
+
+    private void startPlayback() {
+        if (mediaPlayer == null || !isPrepared) {
+            return;
+        }
+
+        if (!requestAudioFocus()) {
+            Log.w(TAG, "⚠️ Audio focus denied, not playing Adhan");
+            stopPlayback();
+            return;
+        }
+
+        mediaPlayer.start();
+
+        long startLatency = System.currentTimeMillis() - playAt;
+        AppMetrics.set("adhan.start_latency_ms", startLatency);
+        Log.d(TAG, "▶️ Adhan started (" + startLatency + " ms after prayer time)");
+    }
+
+    private void pauseForFocus() {
+        if (mediaPlayer == null || !isPrepared || !mediaPlayer.isPlaying()) {
+            return;
+        }
+        mediaPlayer.pause();
+        isPausedForFocus = true;
+        handler.postDelayed(pauseTimeoutRunnable, MAX_FOCUS_PAUSE_MS);
+        Log.d(TAG, "⏸️ Audio focus lost for now, Adhan paused");
+    }
+
+    private void resumeAfterFocus() {
+        if (!isPausedForFocus || mediaPlayer == null) {
+            return;
+        }
+        handler.removeCallbacks(pauseTimeoutRunnable);
+        isPausedForFocus = false;
+        mediaPlayer.start();
+        Log.d(TAG, "▶️ Audio focus back, Adhan resumed");
+    }
+
+    private boolean requestAudioFocus() {
+        int result;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            focusRequest = new AudioFocusRequest.Builder(AudioManager.AUDIOFOCUS_GAIN_TRANSIENT)
+                    .setAudioAttributes(new AudioAttributes.Builder()
+                            .setUsage(AudioAttributes.USAGE_ALARM)
+                            .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                            .build())
+                    .setOnAudioFocusChangeListener(focusChangeListener, handler)
+                    .build();
+            result = audioManager.requestAudioFocus(focusRequest);
+        } else {
+            result = audioManager.requestAudioFocus(
+                    focusChangeListener,
+                    AudioManager.STREAM_ALARM,
+                    AudioManager.AUDIOFOCUS_GAIN_TRANSIENT
+            );
+        }
+        return result == AudioManager.AUDIOFOCUS_REQUEST_GRANTED;
+    }
+
+    private void abandonAudioFocus() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            if (focusRequest != null) {
+                audioManager.abandonAudioFocusRequest(focusRequest);
+                focusRequest = null;
+            }
+        } else {
+            audioManager.abandonAudioFocus(focusChangeListener);
+        }
+    }
+
+    private void stopPlayback() {
+        handler.removeCallbacks(startPlaybackRunnable);
+        handler.removeCallbacks(pauseTimeoutRunnable);
+        isPausedForFocus = false;
+        releasePlayer();
+        abandonAudioFocus();
+        releaseWakeLock();
+
+        stopForeground(STOP_FOREGROUND_REMOVE);
+        stopSelf();
+    }
+
+    private void releasePlayer() {
+        if (mediaPlayer != null) {
+            try {
+                if (isPrepared && mediaPlayer.isPlaying()) {
+                    mediaPlayer.stop();
+                }
+            } catch (IllegalStateException e) {
+                Log.e(TAG, "Player already stopped: " + e.getMessage());
+            }
+            mediaPlayer.release();
+            mediaPlayer = null;
+        }
+        isPrepared = false;
+    }
+
+    private void acquireWakeLock() {
+        if (wakeLock == null) {
+            PowerManager powerManager = (PowerManager) getSystemService(Context.POWER_SERVICE);
+            wakeLock = powerManager.newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "SirrAlQuran:Adhan");
+            wakeLock.setReferenceCounted(false);
+        }
+        wakeLock.acquire(WAKE_LOCK_TIMEOUT_MS);
+    }
+
+    private void releaseWakeLock() {
+        if (wakeLock != null && wakeLock.isHeld()) {
+            wakeLock.release();
+        }
+    }
+
+    private void startInForeground(Notification notification) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            startForeground(NOTIFICATION_ID, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_MEDIA_PLAYBACK);
+        } else {
+            startForeground(NOTIFICATION_ID, notification);
+        }
+    }
+
+    private Notification buildNotification(String title) {
+        Intent stopIntent = new Intent(this, AdhanPlaybackService.class);
+        stopIntent.setAction(ACTION_STOP);
+        PendingIntent stopPendingIntent = PendingIntent.getService(
+                this,
+                0,
+                stopIntent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        Intent openIntent = new Intent(this, SalahTrackerActivity.class);
+        openIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        PendingIntent openPendingIntent = PendingIntent.getActivity(
+                this,
+                0,
+                openIntent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        return new NotificationCompat.Builder(this, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle(title)
+                .setContentText("Adhan")
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setCategory(NotificationCompat.CATEGORY_ALARM)
+                .setOngoing(true)
+                .setSilent(true)
+                .setContentIntent(openPendingIntent)
+                .setDeleteIntent(stopPendingIntent)
+                .addAction(0, "Stop", stopPendingIntent)
+                .build();
+    }
+
+    /**
+     * Create notification channel (Android 8.0+), silent because the service plays the audio itself
+     */
+    private void createNotificationChannel() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                    CHANNEL_ID,
+                    CHANNEL_NAME,
+                    NotificationManager.IMPORTANCE_HIGH
+            );
+            channel.setDescription("Adhan playback at prayer time");
+            channel.setSound(null, null);
+
+            NotificationManager notificationManager = getSystemService(NotificationManager.class);
+            notificationManager.createNotificationChannel(channel);
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        handler.removeCallbacksAndMessages(null);
+        releasePlayer();
+        abandonAudioFocus();
+        releaseWakeLock();
+        super.onDestroy();
+    }
+
+    @Nullable
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+}
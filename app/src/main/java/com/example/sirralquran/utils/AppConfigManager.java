@@ -0,0 +1,257 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.sirralquran.models.AppConfig;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the app_config/ramadan snapshot with a TTL (stale-while-revalidate)
+ *
+ * - Last good AppConfig is kept in memory and SharedPreferences
+ * - getConfig() answers instantly from it; if older than the TTL it is refreshed
+ *   in the background and the listener is called again only if the values changed
+ * - With nothing cached yet, the listener waits for the single network read
+ * - While the app is in the foreground a live listener keeps the snapshot current
+ *   (startWatching/stopWatching) and pushes changes to registered observers;
+ *   the cached value is then authoritative and no extra reads are made
+ */
+public class AppConfigManager {
+
+    private static final String TAG = "AppConfigManager";
+    private static final String PREFS_NAME = "AppConfigPrefs";
+    private static final String KEY_HAS_CONFIG = "has_config";
+    private static final String KEY_ACTIVE = "ramadan_active";
+    private static final String KEY_CURRENT_DAY = "current_day";
+    private static final String KEY_START_DATE = "start_date";
+    private static final String KEY_CONTENT_VERSION = "content_version";
+    private static final String KEY_FETCHED_AT = "fetched_at";
+
+    public static final long CONFIG_TTL_MS = 10 * 60 * 1000; // 10 minutes
+
+    private static AppConfigManager instance;
+
+    private final SharedPreferences prefs;
+    private AppConfig cachedConfig;
+    private boolean isRevalidating = false;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnConfigChangeListener> observers = new CopyOnWriteArrayList<>();
+    private ContentSource.Subscription watchSubscription;
+    private boolean isLive = false;
+
+    public static synchronized AppConfigManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new AppConfigManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AppConfigManager(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.cachedConfig = loadPersisted();
+    }
+
+    /**
+     * Resolved on every read, so ContentSourceProvider.setOverride also reaches this singleton
+     */
+    private static ContentSource contentSource() {
+        return ContentSourceProvider.get();
+    }
+
+    /**
+     * Last good config, or null if it was never fetched
+     */
+    public synchronized AppConfig getCachedConfig() {
+        return cachedConfig;
+    }
+
+    /**
+     * Get config: cached value immediately, revalidated in the background when stale
+     */
+    public void getConfig(OnConfigListener listener) {
+        AppConfig cached = getCachedConfig();
+
+        if (cached != null) {
+            listener.onConfig(cached);
+            if (System.currentTimeMillis() - cached.getFetchedAt() > CONFIG_TTL_MS) {
+                Log.d(TAG, "🔄 Config stale, revalidating in background");
+                refresh(cached, listener);
+            }
+            return;
+        }
+
+        Log.d(TAG, "📡 No cached config, waiting for Firebase");
+        refresh(null, listener);
+    }
+
+    /**
+     * Force a network read (e.g. pull-to-refresh).
+     * Cancel the returned subscription to drop the read if its result is no longer wanted.
+     */
+    public ContentSource.Subscription refresh(OnConfigListener listener) {
+        return refresh(getCachedConfig(), listener);
+    }
+
+    private ContentSource.Subscription refresh(AppConfig delivered, OnConfigListener listener) {
+        synchronized (this) {
+            // Live listener attached: the cached value is already current
+            if (isLive && delivered != null) {
+                return () -> { };
+            }
+
+            // A background revalidation is already running; the caller has the cached value
+            if (isRevalidating && delivered != null) {
+                return () -> { };
+            }
+            isRevalidating = true;
+        }
+
+        AtomicBoolean settled = new AtomicBoolean(false);
+        ContentSource.Subscription read = contentSource().getRamadanConfig(new FirebaseHelper.OnDataLoadListener<AppConfig>() {
+            @Override
+            public void onSuccess(AppConfig config) {
+                synchronized (AppConfigManager.this) {
+                    if (!settled.compareAndSet(false, true)) return;
+                    cachedConfig = config;
+                    isRevalidating = false;
+                }
+                persist(config);
+
+                if (!config.hasSameValues(delivered)) {
+                    Log.d(TAG, "✅ Config changed, notifying listener");
+                    listener.onConfig(config);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                synchronized (AppConfigManager.this) {
+                    if (!settled.compareAndSet(false, true)) return;
+                    isRevalidating = false;
+                }
+                Log.e(TAG, "❌ Config refresh failed: " + error);
+                if (delivered == null) {
+                    listener.onError(error);
+                }
+            }
+        });
+
+        return () -> {
+            synchronized (AppConfigManager.this) {
+                if (!settled.compareAndSet(false, true)) return;
+                isRevalidating = false;
+            }
+            Log.d(TAG, "🔇 Config refresh cancelled");
+            read.cancel();
+        };
+    }
+
+    // ============ LIVE UPDATES ============
+
+    /**
+     * Attach the persistent app_config/ramadan listener (app came to foreground)
+     */
+    public synchronized void startWatching() {
+        if (watchSubscription != null) {
+            return;
+        }
+
+        Log.d(TAG, "👂 Start watching app config");
+        watchSubscription = contentSource().watchRamadanConfig(new FirebaseHelper.OnDataLoadListener<AppConfig>() {
+            @Override
+            public void onSuccess(AppConfig config) {
+                AppConfig previous;
+                synchronized (AppConfigManager.this) {
+                    previous = cachedConfig;
+                    cachedConfig = config;
+                    isLive = watchSubscription != null;
+                }
+                persist(config);
+
+                if (!config.hasSameValues(previous)) {
+                    Log.d(TAG, "📣 Config changed: active=" + config.isRamadanActive() + ", day=" + config.getCurrentDay());
+                    mainHandler.post(() -> {
+                        for (OnConfigChangeListener observer : observers) {
+                            observer.onConfigChanged(config);
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.e(TAG, "❌ Config watch failed: " + error);
+                synchronized (AppConfigManager.this) {
+                    isLive = false;
+                    watchSubscription = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Detach the listener (app went to background)
+     */
+    public synchronized void stopWatching() {
+        if (watchSubscription == null) {
+            return;
+        }
+
+        Log.d(TAG, "🔇 Stop watching app config");
+        watchSubscription.cancel();
+        watchSubscription = null;
+        isLive = false;
+    }
+
+    /**
+     * Observers are called on the main thread, in registration order, when the config changes
+     */
+    public void addObserver(OnConfigChangeListener observer) {
+        if (!observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    public void removeObserver(OnConfigChangeListener observer) {
+        observers.remove(observer);
+    }
+
+    private AppConfig loadPersisted() {
+        if (!prefs.getBoolean(KEY_HAS_CONFIG, false)) {
+            return null;
+        }
+        return new AppConfig(
+                prefs.getBoolean(KEY_ACTIVE, false),
+                prefs.getInt(KEY_CURRENT_DAY, 1),
+                prefs.getString(KEY_START_DATE, null),
+                prefs.getLong(KEY_CONTENT_VERSION, 0),
+                prefs.getLong(KEY_FETCHED_AT, 0)
+        );
+    }
+
+    private void persist(AppConfig config) {
+        prefs.edit()
+                .putBoolean(KEY_HAS_CONFIG, true)
+                .putBoolean(KEY_ACTIVE, config.isRamadanActive())
+                .putInt(KEY_CURRENT_DAY, config.getCurrentDay())
+                .putString(KEY_START_DATE, config.getStartDate())
+                .putLong(KEY_CONTENT_VERSION, config.getContentVersion())
+                .putLong(KEY_FETCHED_AT, config.getFetchedAt())
+                .apply();
+    }
+
+    public interface OnConfigListener {
+        void onConfig(AppConfig config);
+        void onError(String error);
+    }
+
+    public interface OnConfigChangeListener {
+        void onConfigChanged(AppConfig config);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sirralquran.utils;
+
+import android.util.Log;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide app metrics (counters and last-value gauges)
+ * Cheap enough to call from hot paths; values reset with the process
+ */
+public final class AppMetrics {
+
+    private static final String TAG = "AppMetrics";
+    private static final Map<String, AtomicLong> values = new ConcurrentHashMap<>();
+
+    private AppMetrics() {
+    }
+
+    private static AtomicLong get(String name) {
+        return values.computeIfAbsent(name, key -> new AtomicLong());
+    }
+
+    /**
+     * Increment a counter by one
+     */
+    public static void increment(String name) {
+        get(name).incrementAndGet();
+    }
+
+    /**
+     * Add to a counter
+     */
+    public static void add(String name, long delta) {
+        get(name).addAndGet(delta);
+    }
+
+    /**
+     * Set a gauge to its latest value
+     */
+    public static void set(String name, long value) {
+        get(name).set(value);
+    }
+
+    public static long getValue(String name) {
+        AtomicLong value = values.get(name);
+        return value != null ? value.get() : 0;
+    }
+
+    /**
+     * Get a sorted copy of all metrics
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> copy = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : values.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().get());
+        }
+        return copy;
+    }
+
+    /**
+     * Dump all metrics to logcat
+     */
+    public static void dump() {
+        for (Map.Entry<String, Long> entry : snapshot().entrySet()) {
+            Log.d(TAG, "📊 " + entry.getKey() + " = " + entry.getValue());
+        }
+    }
+}
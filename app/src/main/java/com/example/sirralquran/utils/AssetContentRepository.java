@@ -0,0 +1,767 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.sirralquran.models.AshraDay;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide, read-only copy of the bundled content (ashra.json, hadees.json, ayat.json)
+ *
+ * - Opened once, on a background thread, the first time any screen asks for it
+ * - Backed by content.pack (compiled from the JSON at build time, memory-mapped):
+ *   opening reads only the header and day columns, records are decoded on first access
+ * - Falls back to parsing the JSON assets if the pack is missing, or per file when the pack
+ *   lacks that file's section
+ * - Day-indexed arrays (index 0 unused) and per-Ashra slices; every screen shares one Snapshot
+ * - Translations come from the active language's pack (ContentLanguageManager); only that
+ *   language and the Arabic are ever decoded. Switching language drops the decoded records,
+ *   so they're re-read in the new language, and tells content observers.
+ * - Indexes (search, related graph) read Snapshot.getBaseContent(), which ignores the language
+ *
+ * Duas come from the same ashra.json entries as the Ashra days, so they share those objects.
+ */
+public class AssetContentRepository {
+
+    private static final String TAG = "AssetContentRepo";
+    private static final int TOTAL_DAYS = 30;
+    private static final int ASHRA_COUNT = 3;
+
+    private static volatile AssetContentRepository instance;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnLoadedListener> waiting = new ArrayList<>();
+    private final List<OnContentChangeListener> contentObservers = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot;
+    private boolean isLoading = false;
+
+    private AssetContentRepository(Context context) {
+        this.context = context.getApplicationContext();
+        ContentLanguageManager.getInstance(this.context).addObserver(this::switchLanguage);
+    }
+
+    public static AssetContentRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AssetContentRepository.class) {
+                if (instance == null) {
+                    instance = new AssetContentRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Deliver the snapshot on the main thread
+     * Runs the listener immediately when already loaded; otherwise joins the single in-flight parse
+     */
+    public void load(OnLoadedListener listener) {
+        Snapshot loaded = snapshot;
+        if (loaded != null) {
+            listener.onLoaded(loaded);
+            return;
+        }
+
+        synchronized (this) {
+            if (snapshot != null) {
+                listener.onLoaded(snapshot);
+                return;
+            }
+            waiting.add(listener);
+            if (isLoading) {
+                return;
+            }
+            isLoading = true;
+        }
+
+        new Thread(() -> {
+            long start = System.currentTimeMillis();
+            String language = ContentLanguageManager.getInstance(context).getLanguage();
+            ContentPack pack = ContentPack.open(context);
+            Snapshot parsed = pack != null
+                    ? new Snapshot(openPackRecords(pack), language, Translations.open(context, language))
+                    : parseAssets();
+            Log.d(TAG, "📦 Content opened from " + (pack != null ? "pack" : "JSON")
+                    + " in " + (System.currentTimeMillis() - start) + "ms");
+
+            List<OnLoadedListener> toNotify;
+            synchronized (this) {
+                snapshot = parsed;
+                isLoading = false;
+                toNotify = new ArrayList<>(waiting);
+                waiting.clear();
+            }
+
+            mainHandler.post(() -> {
+                for (OnLoadedListener waiter : toNotify) {
+                    waiter.onLoaded(parsed);
+                }
+                // Language may have changed while opening
+                switchLanguage(ContentLanguageManager.getInstance(context).getLanguage());
+            });
+        }, "AssetContentLoader").start();
+    }
+
+    /**
+     * Start parsing ahead of the first screen that needs it
+     */
+    public void preload() {
+        load(loaded -> { });
+    }
+
+    /**
+     * Snapshot if already parsed, or null
+     */
+    public Snapshot getIfLoaded() {
+        return snapshot;
+    }
+
+    // ============ LANGUAGE ============
+
+    /**
+     * Re-point the shared snapshot at another language pack; no-op before the first load
+     * (the load itself reads the current language)
+     */
+    private void switchLanguage(String language) {
+        Snapshot loaded = snapshot;
+        if (loaded == null || language.equals(loaded.getLanguage())) {
+            return;
+        }
+
+        new Thread(() -> {
+            Translations translations = Translations.open(context, language);
+            if (!loaded.swapLanguage(language, translations)) {
+                return;
+            }
+            Log.d(TAG, "🌐 Content switched to " + language);
+            mainHandler.post(() -> {
+                for (OnContentChangeListener observer : contentObservers) {
+                    observer.onContentChanged(loaded);
+                }
+            });
+        }, "ContentLanguageSwitch").start();
+    }
+
+    /**
+     * Observers are called on the main thread after the snapshot's language changed
+     */
+    public void addObserver(OnContentChangeListener observer) {
+        if (!contentObservers.contains(observer)) {
+            contentObservers.add(observer);
+        }
+    }
+
+    public void removeObserver(OnContentChangeListener observer) {
+        contentObservers.remove(observer);
+    }
+
+    // ============ JSON FALLBACK ============
+
+    private Snapshot parseAssets() {
+        return new Snapshot(parseAshraJson(), parseHadithJson(), parseAyatJson());
+    }
+
+    /**
+     * Pack sections missing from content.pack (file skipped at build time) are read from their JSON
+     */
+    private PackRecords openPackRecords(ContentPack pack) {
+        PackRecords records = new PackRecords(pack);
+        if (records.ashra == null) {
+            Log.w(TAG, "⚠️ content.pack has no ashra section, reading ashra.json");
+            records.ashraFromJson = parseAshraJson();
+        }
+        if (records.hadith == null) {
+            Log.w(TAG, "⚠️ content.pack has no hadees section, reading hadees.json");
+            records.hadithFromJson = parseHadithJson();
+        }
+        if (records.ayat == null) {
+            Log.w(TAG, "⚠️ content.pack has no ayat section, reading ayat.json");
+            records.ayatFromJson = parseAyatJson();
+        }
+        return records;
+    }
+
+    private AshraDay[] parseAshraJson() {
+        AshraDay[] days = new AshraDay[TOTAL_DAYS + 1];
+        try {
+            JSONArray ashraArray = new JSONArray(readAsset("ashra.json"));
+            for (int i = 0; i < ashraArray.length(); i++) {
+                AshraDay day = parseAshraDay(ashraArray.getJSONObject(i));
+                if (isValidDay(day.getDayNumber())) {
+                    days[day.getDayNumber()] = day;
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Failed to parse ashra.json", e);
+        }
+        return days;
+    }
+
+    private DailyHadith[] parseHadithJson() {
+        DailyHadith[] hadith = new DailyHadith[TOTAL_DAYS + 1];
+        try {
+            JSONArray hadithArray = new JSONObject(readAsset("hadees.json")).getJSONArray("ramadan_hadith_30_days");
+            for (int i = 0; i < hadithArray.length(); i++) {
+                JSONObject obj = hadithArray.getJSONObject(i);
+
+                DailyHadith item = new DailyHadith();
+                item.setDayNumber(obj.getInt("day"));
+                item.setArabic(obj.getString("arabic"));
+                item.setEnglish(obj.getString("english"));
+                item.setReference(obj.getString("reference"));
+
+                if (isValidDay(item.getDayNumber())) {
+                    hadith[item.getDayNumber()] = item;
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Failed to parse hadees.json", e);
+        }
+        return hadith;
+    }
+
+    private DailyAyah[] parseAyatJson() {
+        DailyAyah[] ayat = new DailyAyah[TOTAL_DAYS + 1];
+        try {
+            JSONArray ayatArray = new JSONObject(readAsset("ayat.json")).getJSONArray("ramadan_ayat_30_days");
+            for (int i = 0; i < ayatArray.length(); i++) {
+                JSONObject obj = ayatArray.getJSONObject(i);
+
+                DailyAyah item = new DailyAyah();
+                item.setDayNumber(obj.getInt("day"));
+                item.setArabic(obj.getString("arabic"));
+                item.setEnglish(obj.getString("english"));
+                item.setReference(obj.getString("reference"));
+
+                if (isValidDay(item.getDayNumber())) {
+                    ayat[item.getDayNumber()] = item;
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Failed to parse ayat.json", e);
+        }
+        return ayat;
+    }
+
+    private AshraDay parseAshraDay(JSONObject dayObj) throws Exception {
+        JSONObject duaObj = dayObj.getJSONObject("dua");
+        JSONObject hadithObj = dayObj.getJSONObject("hadith");
+
+        JSONArray actionsArray = dayObj.getJSONArray("daily_actions");
+        List<String> actions = new ArrayList<>();
+        for (int j = 0; j < actionsArray.length(); j++) {
+            actions.add(actionsArray.getString(j));
+        }
+
+        return buildAshraDay(
+                dayObj.getInt("day"),
+                dayObj.getString("ashra"),
+                dayObj.getString("about_day"),
+                duaObj.getString("arabic"),
+                duaObj.getString("transliteration"),
+                duaObj.getString("translation"),
+                Collections.unmodifiableList(actions),
+                hadithObj.getString("text"),
+                hadithObj.getString("reference"));
+    }
+
+    private static AshraDay buildAshraDay(int dayNumber, String ashraName, String aboutDay,
+                                          String duaArabic, String duaTransliteration, String duaTranslation,
+                                          List<String> actions, String hadithText, String hadithReference) {
+        AshraDay day = new AshraDay(
+                dayNumber,
+                getAshraNumber(ashraName),
+                getArabicTitle(dayNumber),
+                aboutDay,
+                ashraName,
+                duaArabic,
+                duaTransliteration,
+                duaTranslation
+        );
+        day.setActions(actions);
+        day.setHadithText(hadithText);
+        day.setHadithReference(hadithReference);
+        return day;
+    }
+
+    /**
+     * Read the whole asset (InputStream.available() is only an estimate for compressed assets)
+     */
+    private String readAsset(String fileName) throws IOException {
+        try (InputStream is = context.getAssets().open(fileName)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+            byte[] buffer = new byte[8 * 1024];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static boolean isValidDay(int day) {
+        return day >= 1 && day <= TOTAL_DAYS;
+    }
+
+    private static int getAshraNumber(String ashraName) {
+        if (ashraName == null) return 1;
+        if (ashraName.equalsIgnoreCase("Rehmah")) return 1;
+        if (ashraName.equalsIgnoreCase("Maghfirah")) return 2;
+        if (ashraName.equalsIgnoreCase("Naja'at")) return 3;
+        return 1;
+    }
+
+    /**
+     * Arabic title for each day, based on the day's theme
+     */
+    private static String getArabicTitle(int dayNumber) {
+        String[] titles = {
+                "بِدَايَةُ رَمَضَان", // Day 1 - Beginning of Ramadan
+                "الشُّكْر", // Day 2 - Gratitude
+                "الْحُبّ", // Day 3 - Love
+                "الْهِدَايَة", // Day 4 - Guidance
+                "التَّوْبَة", // Day 5 - Repentance
+                "الْعِلْم", // Day 6 - Knowledge
+                "الرَّحْمَة", // Day 7 - Mercy
+                "تَطْهِيرُ الْقَلْب", // Day 8 - Purification of Heart
+                "الثَّبَات", // Day 9 - Steadfastness
+                "الصَّبْر", // Day 10 - Patience
+                "الْمَغْفِرَة", // Day 11 - Forgiveness
+                "التَّوْبَةُ النَّصُوح", // Day 12 - Sincere Repentance
+                "الْعَفْو", // Day 13 - Pardon
+                "التَّطْهِير", // Day 14 - Cleansing
+                "نِصْفُ رَمَضَان", // Day 15 - Mid Ramadan
+                "الِاسْتِغْفَار", // Day 16 - Seeking Forgiveness
+                "إِصْلَاحُ الدِّين", // Day 17 - Rectifying Religion
+                "الْحِسَابُ الْيَسِير", // Day 18 - Easy Reckoning
+                "كَثْرَةُ التَّوْبَة", // Day 19 - Frequent Repentance
+                "خَتْمُ الْخَيْر", // Day 20 - Ending with Goodness
+                "لَيْلَةُ الْقَدْر", // Day 21 - Laylatul Qadr
+                "الْجَنَّة", // Day 22 - Paradise
+                "الْعَفْوُ وَالْمَغْفِرَة", // Day 23 - Pardon & Forgiveness
+                "ثِقَلُ الْمِيزَان", // Day 24 - Heavy Scale
+                "الْعِتْقُ مِنَ النَّار", // Day 25 - Freedom from Fire
+                "الصَّالِحُون", // Day 26 - The Righteous
+                "اللَّيْلَةُ الْعَظِيمَة", // Day 27 - The Great Night
+                "تَقَبُّلُ الْأَعْمَال", // Day 28 - Acceptance of Deeds
+                "التَّأَمُّلُ الْأَخِير", // Day 29 - Final Reflection
+                "خِتَامُ رَمَضَان" // Day 30 - Completion of Ramadan
+        };
+
+        if (isValidDay(dayNumber)) {
+            return titles[dayNumber - 1];
+        }
+        return "يَوْم " + dayNumber; // Default: Day X
+    }
+
+    // ============ PACK RECORDS ============
+
+    /**
+     * Day-to-record lookup over the pack sections; only the "day" column is read up front
+     * A section the pack doesn't have (null) is served from its JSON file instead (English only).
+     */
+    private static final class PackRecords {
+        private final ContentPack.Section ashra;
+        private final ContentPack.Section hadith;
+        private final ContentPack.Section ayat;
+        private final int[] ashraRecord;
+        private final int[] hadithRecord;
+        private final int[] ayatRecord;
+
+        // Set before the snapshot is published, only for missing sections
+        private AshraDay[] ashraFromJson;
+        private DailyHadith[] hadithFromJson;
+        private DailyAyah[] ayatFromJson;
+
+        PackRecords(ContentPack pack) {
+            ashra = sectionWithRecords(pack, "ashra");
+            hadith = sectionWithRecords(pack, "hadees");
+            ayat = sectionWithRecords(pack, "ayat");
+            ashraRecord = indexByDay(ashra);
+            hadithRecord = indexByDay(hadith);
+            ayatRecord = indexByDay(ayat);
+        }
+
+        private static ContentPack.Section sectionWithRecords(ContentPack pack, String name) {
+            ContentPack.Section section = pack.getSection(name);
+            return section != null && section.getRecordCount() > 0 ? section : null;
+        }
+
+        private static int[] indexByDay(ContentPack.Section section) {
+            int[] records = new int[TOTAL_DAYS + 1];
+            Arrays.fill(records, -1);
+            if (section == null) {
+                return records;
+            }
+            int dayField = section.field("day");
+            for (int record = 0; record < section.getRecordCount(); record++) {
+                int day = section.getInt(record, dayField);
+                if (isValidDay(day)) {
+                    records[day] = record;
+                }
+            }
+            return records;
+        }
+
+        int ashraNumberOf(int dayNumber) {
+            if (ashraFromJson != null) {
+                return ashraFromJson[dayNumber] != null ? ashraFromJson[dayNumber].getAshraNumber() : 0;
+            }
+            int record = ashraRecord[dayNumber];
+            return record < 0 ? 0 : getAshraNumber(ashra.getString(record, ashra.field("ashra")));
+        }
+
+        /**
+         * Translatable fields come from translations when it has them (null = English columns)
+         */
+        AshraDay decodeAshraDay(int dayNumber, Translations translations) {
+            if (ashraFromJson != null) {
+                return ashraFromJson[dayNumber];
+            }
+            int record = ashraRecord[dayNumber];
+            if (record < 0) {
+                return null;
+            }
+            Translations.Lookup local = translations != null ? translations.ashra(dayNumber) : null;
+            return buildAshraDay(
+                    dayNumber,
+                    ashra.getString(record, ashra.field("ashra")),
+                    text(local, "about_day", false, record),
+                    ashra.getString(record, ashra.field("dua.arabic")),
+                    text(local, "dua.transliteration", true, record),
+                    text(local, "dua.translation", true, record),
+                    local != null && local.getStringList("daily_actions") != null
+                            ? local.getStringList("daily_actions")
+                            : ashra.getStringList(record, ashra.field("daily_actions")),
+                    text(local, "hadith.text", false, record),
+                    ashra.getString(record, ashra.field("hadith.reference")));
+        }
+
+        private String text(Translations.Lookup local, String field, boolean isTranslation, int record) {
+            if (local != null) {
+                String value = isTranslation ? local.getTranslation(field) : local.getString(field);
+                if (value != null) return value;
+            }
+            return ashra.getString(record, ashra.field(field));
+        }
+
+        DailyHadith decodeHadith(int dayNumber, Translations translations) {
+            if (hadithFromJson != null) {
+                return hadithFromJson[dayNumber];
+            }
+            int record = hadithRecord[dayNumber];
+            if (record < 0) {
+                return null;
+            }
+            DailyHadith item = new DailyHadith();
+            item.setDayNumber(dayNumber);
+            item.setArabic(hadith.getString(record, hadith.field("arabic")));
+            String translation = translations != null ? translations.hadith(dayNumber).getTranslation("translation") : null;
+            item.setEnglish(translation != null ? translation : hadith.getString(record, hadith.field("english")));
+            item.setReference(hadith.getString(record, hadith.field("reference")));
+            return item;
+        }
+
+        DailyAyah decodeAyah(int dayNumber, Translations translations) {
+            if (ayatFromJson != null) {
+                return ayatFromJson[dayNumber];
+            }
+            int record = ayatRecord[dayNumber];
+            if (record < 0) {
+                return null;
+            }
+            DailyAyah item = new DailyAyah();
+            item.setDayNumber(dayNumber);
+            item.setArabic(ayat.getString(record, ayat.field("arabic")));
+            String translation = translations != null ? translations.ayat(dayNumber).getTranslation("translation") : null;
+            item.setEnglish(translation != null ? translation : ayat.getString(record, ayat.field("english")));
+            item.setReference(ayat.getString(record, ayat.field("reference")));
+            return item;
+        }
+    }
+
+    // ============ LANGUAGE PACKS ============
+
+    /**
+     * Translated fields of one content-<language>.pack, keyed by day like the base pack
+     * (sections ashra / hadees / ayat; hadith and ayat text in a "translation" field)
+     *
+     * Arabic only: translations and transliterations are blank, descriptions come from the
+     * pack when one is bundled and from the English columns otherwise.
+     */
+    private static final class Translations {
+        private final ContentPack.Section ashra;
+        private final ContentPack.Section hadith;
+        private final ContentPack.Section ayat;
+        private final int[] ashraRecord;
+        private final int[] hadithRecord;
+        private final int[] ayatRecord;
+        private final boolean arabicOnly;
+
+        /**
+         * Null for English (the base pack's own columns) or a language without a bundled pack
+         */
+        static Translations open(Context context, String language) {
+            if (ContentLanguageManager.LANGUAGE_ENGLISH.equals(language)) {
+                return null;
+            }
+            boolean arabicOnly = ContentLanguageManager.LANGUAGE_ARABIC.equals(language);
+            ContentPack pack = ContentPack.open(context, ContentPack.languageAssetName(language));
+            if (pack == null && !arabicOnly) {
+                Log.w(TAG, "⚠️ No content pack for " + language + ", showing English");
+                return null;
+            }
+            return new Translations(pack, arabicOnly);
+        }
+
+        private Translations(ContentPack pack, boolean arabicOnly) {
+            this.ashra = pack != null ? pack.getSection("ashra") : null;
+            this.hadith = pack != null ? pack.getSection("hadees") : null;
+            this.ayat = pack != null ? pack.getSection("ayat") : null;
+            this.ashraRecord = PackRecords.indexByDay(ashra);
+            this.hadithRecord = PackRecords.indexByDay(hadith);
+            this.ayatRecord = PackRecords.indexByDay(ayat);
+            this.arabicOnly = arabicOnly;
+        }
+
+        Lookup ashra(int dayNumber) {
+            return new Lookup(ashra, ashraRecord[dayNumber]);
+        }
+
+        Lookup hadith(int dayNumber) {
+            return new Lookup(hadith, hadithRecord[dayNumber]);
+        }
+
+        Lookup ayat(int dayNumber) {
+            return new Lookup(ayat, ayatRecord[dayNumber]);
+        }
+
+        /** One day's record; getters return null when the pack doesn't have the field */
+        final class Lookup {
+            private final ContentPack.Section section;
+            private final int record;
+
+            Lookup(ContentPack.Section section, int record) {
+                this.section = section;
+                this.record = record;
+            }
+
+            String getString(String field) {
+                return section != null && record >= 0 ? section.getString(record, section.field(field)) : null;
+            }
+
+            List<String> getStringList(String field) {
+                return section != null && record >= 0 ? section.getStringList(record, section.field(field)) : null;
+            }
+
+            /** Translation or transliteration of the Arabic text itself */
+            String getTranslation(String field) {
+                return arabicOnly ? "" : getString(field);
+            }
+        }
+    }
+
+    // ============ SNAPSHOT ============
+
+    /**
+     * Shared read-only content; lookups by day are array reads
+     * Pack-backed snapshots decode each record the first time it's asked for and keep it
+     */
+    public static final class Snapshot {
+        private final AshraDay[] daysByNumber;
+        private final DailyHadith[] hadithByDay;
+        private final DailyAyah[] ayatByDay;
+        private final PackRecords pack; // null when parsed from JSON (arrays already full)
+        private String language;
+        private Translations translations; // null = English columns of the base pack
+
+        private List<AshraDay> allDays;
+        private List<DailyHadith> allHadith;
+        private List<DailyAyah> allAyat;
+        private final List<List<AshraDay>> daysByAshra = new ArrayList<>();
+
+        Snapshot(AshraDay[] daysByNumber, DailyHadith[] hadithByDay, DailyAyah[] ayatByDay) {
+            this.daysByNumber = daysByNumber;
+            this.hadithByDay = hadithByDay;
+            this.ayatByDay = ayatByDay;
+            this.pack = null;
+            this.language = ContentLanguageManager.LANGUAGE_ENGLISH;
+            initAshraSlots();
+        }
+
+        Snapshot(PackRecords pack, String language, Translations translations) {
+            this.daysByNumber = new AshraDay[TOTAL_DAYS + 1];
+            this.hadithByDay = new DailyHadith[TOTAL_DAYS + 1];
+            this.ayatByDay = new DailyAyah[TOTAL_DAYS + 1];
+            this.pack = pack;
+            this.language = language;
+            this.translations = translations;
+            initAshraSlots();
+        }
+
+        private void initAshraSlots() {
+            for (int ashra = 0; ashra <= ASHRA_COUNT; ashra++) {
+                daysByAshra.add(null); // index 0 unused, slices built on first request
+            }
+        }
+
+        public synchronized String getLanguage() {
+            return language;
+        }
+
+        /**
+         * English and Arabic of the base pack, whatever the active language
+         * For indexes that are built once and must not change with the UI language; not cached.
+         */
+        public Snapshot getBaseContent() {
+            return pack != null ? new Snapshot(pack, ContentLanguageManager.LANGUAGE_ENGLISH, null) : this;
+        }
+
+        /**
+         * Drop every decoded record so the next read decodes it in the new language
+         * Objects handed out earlier keep the old text; screens re-read on onContentChanged.
+         */
+        synchronized boolean swapLanguage(String language, Translations translations) {
+            if (pack == null) {
+                Log.w(TAG, "⚠️ JSON fallback content is English only");
+                return false;
+            }
+            this.language = language;
+            this.translations = translations;
+
+            Arrays.fill(daysByNumber, null);
+            Arrays.fill(hadithByDay, null);
+            Arrays.fill(ayatByDay, null);
+            allDays = null;
+            allHadith = null;
+            allAyat = null;
+            for (int ashra = 1; ashra <= ASHRA_COUNT; ashra++) {
+                daysByAshra.set(ashra, null);
+            }
+            return true;
+        }
+
+        public synchronized AshraDay getDay(int dayNumber) {
+            if (!isValidDay(dayNumber)) {
+                return null;
+            }
+            if (daysByNumber[dayNumber] == null && pack != null) {
+                daysByNumber[dayNumber] = pack.decodeAshraDay(dayNumber, translations);
+            }
+            return daysByNumber[dayNumber];
+        }
+
+        public synchronized List<AshraDay> getDaysForAshra(int ashraNumber) {
+            if (ashraNumber < 1 || ashraNumber > ASHRA_COUNT) {
+                return Collections.emptyList();
+            }
+            List<AshraDay> slice = daysByAshra.get(ashraNumber);
+            if (slice == null) {
+                List<AshraDay> days = new ArrayList<>();
+                for (int day = 1; day <= TOTAL_DAYS; day++) {
+                    // Pack: check the Ashra column before decoding the whole record
+                    if (pack != null && pack.ashraNumberOf(day) != ashraNumber) continue;
+
+                    AshraDay ashraDay = getDay(day);
+                    if (ashraDay != null && ashraDay.getAshraNumber() == ashraNumber) {
+                        days.add(ashraDay);
+                    }
+                }
+                slice = Collections.unmodifiableList(days);
+                daysByAshra.set(ashraNumber, slice);
+            }
+            return slice;
+        }
+
+        public synchronized List<AshraDay> getAllDays() {
+            if (allDays == null) {
+                List<AshraDay> days = new ArrayList<>();
+                for (int day = 1; day <= TOTAL_DAYS; day++) {
+                    AshraDay ashraDay = getDay(day);
+                    if (ashraDay != null) days.add(ashraDay);
+                }
+                allDays = Collections.unmodifiableList(days);
+            }
+            return allDays;
+        }
+
+        /**
+         * Duas are the dua fields of the Ashra day entries
+         */
+        public AshraDay getDua(int dayNumber) {
+            return getDay(dayNumber);
+        }
+
+        public List<AshraDay> getAllDuas() {
+            return getAllDays();
+        }
+
+        public synchronized DailyHadith getHadith(int dayNumber) {
+            if (!isValidDay(dayNumber)) {
+                return null;
+            }
+            if (hadithByDay[dayNumber] == null && pack != null) {
+                hadithByDay[dayNumber] = pack.decodeHadith(dayNumber, translations);
+            }
+            return hadithByDay[dayNumber];
+        }
+
+        public synchronized List<DailyHadith> getAllHadith() {
+            if (allHadith == null) {
+                List<DailyHadith> items = new ArrayList<>();
+                for (int day = 1; day <= TOTAL_DAYS; day++) {
+                    DailyHadith item = getHadith(day);
+                    if (item != null) items.add(item);
+                }
+                allHadith = Collections.unmodifiableList(items);
+            }
+            return allHadith;
+        }
+
+        public synchronized DailyAyah getAyah(int dayNumber) {
+            if (!isValidDay(dayNumber)) {
+                return null;
+            }
+            if (ayatByDay[dayNumber] == null && pack != null) {
+                ayatByDay[dayNumber] = pack.decodeAyah(dayNumber, translations);
+            }
+            return ayatByDay[dayNumber];
+        }
+
+        public synchronized List<DailyAyah> getAllAyat() {
+            if (allAyat == null) {
+                List<DailyAyah> items = new ArrayList<>();
+                for (int day = 1; day <= TOTAL_DAYS; day++) {
+                    DailyAyah item = getAyah(day);
+                    if (item != null) items.add(item);
+                }
+                allAyat = Collections.unmodifiableList(items);
+            }
+            return allAyat;
+        }
+    }
+
+    public interface OnLoadedListener {
+        void onLoaded(Snapshot snapshot);
+    }
+
+    public interface OnContentChangeListener {
+        void onContentChanged(Snapshot snapshot);
+    }
+}
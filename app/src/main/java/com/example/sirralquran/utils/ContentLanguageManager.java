@@ -0,0 +1,151 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Language the bundled content is shown in, next to the Arabic text
+ *
+ * - English: translations from content.pack (the base pack)
+ * - Urdu (and any later language): content-<code>.pack, compiled from src/main/content/<code>
+ * - Arabic only: no translation or transliteration, descriptions from content-ar.pack if bundled
+ *
+ * Observers are told on the main thread so open screens can re-bind without restarting.
+ * Only languages whose pack is in the APK are offered (Arabic only needs none).
+ */
+public class ContentLanguageManager {
+
+    private static final String TAG = "ContentLanguage";
+    private static final String PREFS_NAME = "ContentLanguagePrefs";
+    private static final String KEY_LANGUAGE = "language";
+
+    public static final String LANGUAGE_ENGLISH = "en";
+    public static final String LANGUAGE_URDU = "ur";
+    public static final String LANGUAGE_ARABIC = "ar";
+
+    public static final String[] SUPPORTED_LANGUAGES = {LANGUAGE_ENGLISH, LANGUAGE_URDU, LANGUAGE_ARABIC};
+
+    private static ContentLanguageManager instance;
+
+    private final SharedPreferences prefs;
+    private final String[] availableLanguages;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnLanguageChangeListener> observers = new CopyOnWriteArrayList<>();
+
+    public static synchronized ContentLanguageManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentLanguageManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentLanguageManager(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.availableLanguages = findAvailableLanguages(context);
+    }
+
+    /**
+     * SUPPORTED_LANGUAGES that can actually be shown with this APK's assets
+     */
+    private static String[] findAvailableLanguages(Context context) {
+        List<String> assets;
+        try {
+            String[] names = context.getAssets().list("");
+            assets = names != null ? Arrays.asList(names) : new ArrayList<>();
+        } catch (IOException e) {
+            Log.e(TAG, "❌ Could not list assets: " + e.getMessage());
+            assets = new ArrayList<>();
+        }
+
+        List<String> available = new ArrayList<>();
+        for (String language : SUPPORTED_LANGUAGES) {
+            boolean needsPack = !LANGUAGE_ENGLISH.equals(language) && !LANGUAGE_ARABIC.equals(language);
+            if (!needsPack || assets.contains(ContentPack.languageAssetName(language))) {
+                available.add(language);
+            } else {
+                Log.w(TAG, "⚠️ No " + ContentPack.languageAssetName(language) + " bundled, " + language + " not offered");
+            }
+        }
+        return available.toArray(new String[0]);
+    }
+
+    /**
+     * Languages to offer in settings
+     */
+    public String[] getAvailableLanguages() {
+        return availableLanguages.clone();
+    }
+
+    /**
+     * Saved choice, or the device language when available (English otherwise)
+     */
+    public String getLanguage() {
+        String saved = prefs.getString(KEY_LANGUAGE, null);
+        if (saved != null && isAvailable(saved)) {
+            return saved;
+        }
+        String device = Locale.getDefault().getLanguage();
+        return isAvailable(device) ? device : LANGUAGE_ENGLISH;
+    }
+
+    private boolean isAvailable(String language) {
+        for (String available : availableLanguages) {
+            if (available.equals(language)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void setLanguage(String language) {
+        boolean changed = !language.equals(getLanguage());
+        prefs.edit().putString(KEY_LANGUAGE, language).apply();
+        if (!changed) {
+            return;
+        }
+        Log.d(TAG, "🌐 Content language: " + language);
+
+        mainHandler.post(() -> {
+            for (OnLanguageChangeListener observer : observers) {
+                observer.onLanguageChanged(language);
+            }
+        });
+    }
+
+    /**
+     * Display name of a language in its own script
+     */
+    public static String getDisplayName(String language) {
+        switch (language) {
+            case LANGUAGE_URDU: return "اردو";
+            case LANGUAGE_ARABIC: return "العربية فقط";
+            default: return "English";
+        }
+    }
+
+    /**
+     * Observers are called on the main thread, in registration order, when the language changes
+     */
+    public void addObserver(OnLanguageChangeListener observer) {
+        if (!observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    public void removeObserver(OnLanguageChangeListener observer) {
+        observers.remove(observer);
+    }
+
+    public interface OnLanguageChangeListener {
+        void onLanguageChanged(String language);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.sirralquran.utils;
+
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reflection-free decoders for Firebase content nodes
+ *
+ * DataSnapshot.getValue() gives a Map of the node; these walk it once and fill the model
+ * directly instead of going through Firebase's reflective bean mapper (getValue(Class)).
+ * Keys match the snake_case @PropertyName names on the models.
+ */
+public final class ContentMappers {
+
+    private ContentMappers() {
+    }
+
+    public interface Mapper<T> {
+        T map(Map<String, Object> values);
+    }
+
+    public static final Mapper<RamadanDayContent> DAY_CONTENT = ContentMappers::toDayContent;
+    public static final Mapper<DailyAyah> AYAH = ContentMappers::toAyah;
+    public static final Mapper<DailyHadith> HADITH = ContentMappers::toHadith;
+
+    public static RamadanDayContent toDayContent(Map<String, Object> values) {
+        RamadanDayContent content = new RamadanDayContent();
+        content.setDayNumber(getInt(values, "day_number"));
+        content.setJuz(getInt(values, "juz"));
+        content.setSurahRange(getString(values, "surah_range"));
+        content.setCoreTheme(getString(values, "core_theme"));
+        content.setExplanation(getString(values, "explanation"));
+        content.setKeyTakeaways(getStringList(values, "key_takeaways"));
+        content.setReflectionQuestion(getString(values, "reflection_question"));
+        content.setVideoUrl(getString(values, "video_url"));
+        content.setAudioUrl(getString(values, "audio_url"));
+        content.setRelatedAyah(getString(values, "related_ayah"));
+        content.setRelatedHadith(getString(values, "related_hadith"));
+        content.setScholar(getString(values, "scholar"));
+        content.setDurationMinutes(getInt(values, "duration_minutes"));
+        content.setDifficultyLevel(getString(values, "difficulty_level"));
+        return content;
+    }
+
+    public static DailyAyah toAyah(Map<String, Object> values) {
+        DailyAyah ayah = new DailyAyah();
+        ayah.setDayNumber(getInt(values, "day_number"));
+        ayah.setArabic(getString(values, "arabic"));
+        ayah.setEnglish(getString(values, "english"));
+        ayah.setTransliteration(getString(values, "transliteration"));
+        ayah.setReference(getString(values, "reference"));
+        ayah.setSurahName(getString(values, "surah_name"));
+        ayah.setSurahNumber(getInt(values, "surah_number"));
+        ayah.setAyahNumber(getInt(values, "ayah_number"));
+        ayah.setJuz(getInt(values, "juz"));
+        ayah.setTheme(getString(values, "theme"));
+        return ayah;
+    }
+
+    public static DailyHadith toHadith(Map<String, Object> values) {
+        DailyHadith hadith = new DailyHadith();
+        hadith.setDayNumber(getInt(values, "day_number"));
+        hadith.setArabic(getString(values, "arabic"));
+        hadith.setEnglish(getString(values, "english"));
+        hadith.setTransliteration(getString(values, "transliteration"));
+        hadith.setReference(getString(values, "reference"));
+        hadith.setBook(getString(values, "book"));
+        hadith.setHadithNumber(getInt(values, "hadith_number"));
+        hadith.setNarrator(getString(values, "narrator"));
+        hadith.setGrade(getString(values, "grade"));
+        hadith.setTheme(getString(values, "theme"));
+        return hadith;
+    }
+
+    // ============ FIELD READERS ============
+
+    private static String getString(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Firebase hands numbers back as Long or Double; numeric strings are accepted too
+     */
+    private static int getInt(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Integer.parseInt(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Lists arrive as List, or as a Map keyed "0", "1", ... when the array is sparse
+     */
+    private static List<String> getStringList(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        Iterable<?> items;
+        if (value instanceof List) {
+            items = (List<?>) value;
+        } else if (value instanceof Map) {
+            items = ((Map<?, ?>) value).values();
+        } else {
+            return null;
+        }
+
+        List<String> list = new ArrayList<>();
+        for (Object item : items) {
+            if (item != null) {
+                list.add(item.toString());
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of content.pack, the binary pack compiled from the JSON assets at build time
+ * (compileContentPack in app/build.gradle.kts), or of a content-<language>.pack
+ *
+ * - The asset is stored uncompressed and memory-mapped; opening only reads the header
+ * - Records are fixed-width int rows, so any field of any record is one absolute read
+ * - Strings are decoded from the UTF-8 string table only when a field is read
+ */
+public class ContentPack {
+
+    private static final String TAG = "ContentPack";
+
+    public static final String ASSET_NAME = "content.pack";
+
+    private static final int MAGIC = 0x5351504B; // "SQPK"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int TYPE_INT = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_LIST = 2;
+
+    /** Stored for an int field the record doesn't have */
+    public static final int NO_INT = Integer.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int stringIndexOffset;
+    private final int stringDataOffset;
+    private final int listCount;
+    private final int listIndexOffset;
+    private final int listPoolOffset;
+    private final Map<String, Section> sections = new HashMap<>();
+
+    /**
+     * Map the pack out of the APK, or null if it's missing or unreadable
+     */
+    public static ContentPack open(Context context) {
+        return open(context, ASSET_NAME);
+    }
+
+    /** Asset name of a language pack, e.g. content-ur.pack */
+    public static String languageAssetName(String language) {
+        return "content-" + language + ".pack";
+    }
+
+    /**
+     * Map another pack asset (e.g. a language pack), or null if it's missing or unreadable
+     */
+    public static ContentPack open(Context context, String assetName) {
+        try (AssetFileDescriptor fd = context.getAssets().openFd(assetName);
+             FileInputStream stream = fd.createInputStream()) {
+            ByteBuffer mapped = stream.getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+            return new ContentPack(mapped);
+        } catch (IOException e) {
+            // openFd fails if the asset got compressed: fall back to reading it onto the heap
+            Log.w(TAG, "⚠️ Pack not mappable, reading into memory: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "❌ Invalid pack: " + e.getMessage());
+            return null;
+        }
+
+        try (InputStream is = context.getAssets().open(assetName)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+            byte[] chunk = new byte[8 * 1024];
+            int read;
+            while ((read = is.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+            return new ContentPack(ByteBuffer.wrap(out.toByteArray()));
+        } catch (IOException | IllegalArgumentException e) {
+            Log.e(TAG, "❌ Pack " + assetName + " unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public ContentPack(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < 36 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a content pack");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported pack version " + buffer.getInt(4));
+        }
+
+        int sectionCount = buffer.getInt(8);
+        stringCount = buffer.getInt(12);
+        stringIndexOffset = buffer.getInt(16);
+        stringDataOffset = buffer.getInt(20);
+        listCount = buffer.getInt(24);
+        listIndexOffset = buffer.getInt(28);
+        listPoolOffset = buffer.getInt(32);
+
+        for (int s = 0; s < sectionCount; s++) {
+            int entry = 36 + s * 20;
+            Section section = new Section(
+                    buffer.getInt(entry + 4),
+                    buffer.getInt(entry + 8),
+                    buffer.getInt(entry + 12),
+                    buffer.getInt(entry + 16));
+            sections.put(getString(buffer.getInt(entry)), section);
+        }
+    }
+
+    /**
+     * Section compiled from the JSON file of that name (without .json), or null
+     */
+    public Section getSection(String name) {
+        return sections.get(name);
+    }
+
+    String getString(int id) {
+        if (id < 0 || id >= stringCount) {
+            return null;
+        }
+        int start = buffer.getInt(stringIndexOffset + id * 4);
+        int end = buffer.getInt(stringIndexOffset + (id + 1) * 4);
+
+        byte[] bytes = new byte[end - start];
+        ByteBuffer view = buffer.duplicate();
+        view.position(stringDataOffset + start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    List<String> getStringList(int id) {
+        if (id < 0 || id >= listCount) {
+            return null;
+        }
+        int start = buffer.getInt(listIndexOffset + id * 4);
+        int end = buffer.getInt(listIndexOffset + (id + 1) * 4);
+
+        List<String> list = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            list.add(getString(buffer.getInt(listPoolOffset + i * 4)));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * One compiled JSON file: a field table and recordCount rows of fieldCount ints
+     */
+    public final class Section {
+        private final int fieldCount;
+        private final int recordCount;
+        private final int recordsOffset;
+        private final Map<String, Integer> fieldIndex = new HashMap<>();
+        private final int[] fieldTypes;
+
+        Section(int fieldCount, int recordCount, int fieldTableOffset, int recordsOffset) {
+            this.fieldCount = fieldCount;
+            this.recordCount = recordCount;
+            this.recordsOffset = recordsOffset;
+            this.fieldTypes = new int[fieldCount];
+            for (int f = 0; f < fieldCount; f++) {
+                fieldIndex.put(ContentPack.this.getString(buffer.getInt(fieldTableOffset + f * 8)), f);
+                fieldTypes[f] = buffer.getInt(fieldTableOffset + f * 8 + 4);
+            }
+        }
+
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * Field position for the getters, or -1 if no record has it (nested fields are "parent.child")
+         */
+        public int field(String name) {
+            Integer index = fieldIndex.get(name);
+            return index != null ? index : -1;
+        }
+
+        public int getInt(int record, int field) {
+            if (field < 0 || fieldTypes[field] != TYPE_INT) {
+                return NO_INT;
+            }
+            return cell(record, field);
+        }
+
+        public String getString(int record, int field) {
+            if (field < 0) {
+                return null;
+            }
+            int value = cell(record, field);
+            switch (fieldTypes[field]) {
+                case TYPE_STRING: return ContentPack.this.getString(value);
+                case TYPE_INT: return value == NO_INT ? null : String.valueOf(value);
+                default: return null;
+            }
+        }
+
+        public List<String> getStringList(int record, int field) {
+            if (field < 0 || fieldTypes[field] != TYPE_LIST) {
+                return null;
+            }
+            return ContentPack.this.getStringList(cell(record, field));
+        }
+
+        private int cell(int record, int field) {
+            if (record < 0 || record >= recordCount) {
+                throw new IndexOutOfBoundsException("Record " + record + " of " + recordCount);
+            }
+            return buffer.getInt(recordsOffset + (record * fieldCount + field) * 4);
+        }
+    }
+}
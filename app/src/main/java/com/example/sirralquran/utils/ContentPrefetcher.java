@@ -0,0 +1,181 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkRequest;
+import android.util.Log;
+import com.example.sirralquran.database.ContentDatabaseHelper;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prefetches the next day's lesson, Ayah and Hadith into the local content store
+ * so opening a freshly unlocked day (often at Sehri) never waits on the network.
+ *
+ * Video metadata (video_url, duration) is part of the day content row.
+ * Only unmetered networks are used. A deferred or failed day is kept pending and retried
+ * as soon as an unmetered network becomes available (NetworkCallback) or the app reopens.
+ */
+public class ContentPrefetcher {
+
+    private static final String TAG = "ContentPrefetcher";
+    private static final String PREFS_NAME = "ContentPrefetchPrefs";
+    private static final String KEY_PENDING_DAY = "pending_day";
+
+    private static final String METRIC_REQUESTED = "prefetch.requested";
+    private static final String METRIC_SKIPPED_STORED = "prefetch.skipped_stored";
+    private static final String METRIC_DEFERRED = "prefetch.deferred_metered";
+    private static final String METRIC_COMPLETED = "prefetch.completed";
+    private static final String METRIC_FAILED = "prefetch.failed";
+
+    private static ContentPrefetcher instance;
+
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final ContentSyncManager syncManager;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private ConnectivityManager.NetworkCallback unmeteredCallback;
+
+    public static synchronized ContentPrefetcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentPrefetcher(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentPrefetcher(Context context) {
+        this.context = context;
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.syncManager = ContentSyncManager.getInstance(context);
+    }
+
+    /**
+     * Prefetch a day into the local store (no-op if it is already stored)
+     */
+    public void prefetchDay(int day) {
+        if (day < 1 || day > ContentSyncManager.TOTAL_DAYS) {
+            return;
+        }
+        AppMetrics.increment(METRIC_REQUESTED);
+
+        executor.execute(() -> {
+            if (isStored(day)) {
+                Log.d(TAG, "✅ Day " + day + " already stored, nothing to prefetch");
+                AppMetrics.increment(METRIC_SKIPPED_STORED);
+                clearPending(day);
+                return;
+            }
+
+            if (!isNetworkAllowed()) {
+                Log.d(TAG, "📵 No unmetered network: deferring prefetch of day " + day);
+                AppMetrics.increment(METRIC_DEFERRED);
+                setPending(day);
+                return;
+            }
+
+            Log.d(TAG, "⬇️ Prefetching day " + day);
+            syncManager.syncDay(day, new ContentSyncManager.OnSyncListener() {
+                @Override
+                public void onSyncComplete(int changedRows) {
+                    Log.d(TAG, "✅ Day " + day + " prefetched (" + changedRows + " rows)");
+                    AppMetrics.increment(METRIC_COMPLETED);
+                    clearPending(day);
+                }
+
+                @Override
+                public void onSyncFailed(String error) {
+                    Log.e(TAG, "❌ Prefetch of day " + day + " failed: " + error);
+                    AppMetrics.increment(METRIC_FAILED);
+                    setPending(day);
+                }
+            });
+        });
+    }
+
+    /**
+     * Retry a prefetch that was deferred or failed (call when the app comes to foreground)
+     */
+    public void retryPending() {
+        int pendingDay = prefs.getInt(KEY_PENDING_DAY, 0);
+        if (pendingDay > 0) {
+            Log.d(TAG, "🔄 Retrying pending prefetch of day " + pendingDay);
+            prefetchDay(pendingDay);
+        }
+    }
+
+    private void setPending(int day) {
+        prefs.edit().putInt(KEY_PENDING_DAY, day).apply();
+        waitForUnmeteredNetwork();
+    }
+
+    private void clearPending(int day) {
+        if (prefs.getInt(KEY_PENDING_DAY, 0) == day) {
+            prefs.edit().remove(KEY_PENDING_DAY).apply();
+        }
+    }
+
+    /**
+     * One-shot callback: the next unmetered network retries the pending day
+     */
+    private synchronized void waitForUnmeteredNetwork() {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null || unmeteredCallback != null) {
+            return;
+        }
+
+        NetworkRequest request = new NetworkRequest.Builder()
+                .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                .addCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED)
+                .build();
+        unmeteredCallback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) {
+                Log.d(TAG, "📶 Unmetered network available");
+                stopWaitingForNetwork();
+                retryPending();
+            }
+        };
+
+        try {
+            cm.registerNetworkCallback(request, unmeteredCallback);
+        } catch (RuntimeException e) {
+            // Too many callbacks registered app-wide; retryPending on next open still covers it
+            Log.e(TAG, "❌ Could not watch for unmetered network: " + e.getMessage());
+            unmeteredCallback = null;
+        }
+    }
+
+    private synchronized void stopWaitingForNetwork() {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm != null && unmeteredCallback != null) {
+            cm.unregisterNetworkCallback(unmeteredCallback);
+        }
+        unmeteredCallback = null;
+    }
+
+    private boolean isStored(int day) {
+        ContentDatabaseHelper store = syncManager.getStore();
+        return store.getDayContent(day) != null
+                && store.getAyah(day) != null
+                && store.getHadith(day) != null;
+    }
+
+    /**
+     * Prefetch is speculative, so only a connected, unmetered network is used
+     * (mobile data waits, with or without Data Saver)
+     */
+    private boolean isNetworkAllowed() {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) {
+            return false;
+        }
+
+        NetworkCapabilities capabilities = cm.getNetworkCapabilities(cm.getActiveNetwork());
+        return capabilities != null
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+    }
+}
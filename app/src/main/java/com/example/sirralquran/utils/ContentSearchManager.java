@@ -0,0 +1,180 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.sirralquran.database.ContentDatabaseHelper;
+import com.example.sirralquran.models.AshraDay;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.SearchResult;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Full-text search over hadith, ayat, duas, Ashra days and Firebase lessons
+ *
+ * - Firebase rows are indexed by ContentDatabaseHelper as they are upserted
+ * - Bundled assets are indexed once per installed APK (re-indexed after an update), from the
+ *   base pack's English and Arabic so results don't depend on the content language
+ * - Queries are prefix matches on normalized tokens, ranked by BM25 (SearchRanker), paged,
+ *   run on one background thread; SearchActivity is the screen for it
+ */
+public class ContentSearchManager {
+
+    private static final String TAG = "ContentSearchManager";
+    private static final String PREFS_NAME = "ContentSearchPrefs";
+    private static final String KEY_ASSETS_INDEXED_FOR = "assets_indexed_for";
+    private static final String KEY_STORE_INDEXED = "store_indexed";
+
+    // Bumped when what gets indexed from the assets changes (2: base pack, not the active language)
+    private static final int ASSET_INDEX_VERSION = 2;
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static ContentSearchManager instance;
+
+    private final Context context;
+    private final SharedPreferences prefs;
+    private final ContentDatabaseHelper store;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public static synchronized ContentSearchManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentSearchManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentSearchManager(Context context) {
+        this.context = context;
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.store = ContentDatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * Make sure assets and already-synced rows are in the index (no-op once done)
+     */
+    public void ensureIndexed() {
+        executor.execute(() -> {
+            if (!prefs.getBoolean(KEY_STORE_INDEXED, false)) {
+                store.runInTransaction(store::reindexStoredContent);
+                prefs.edit().putBoolean(KEY_STORE_INDEXED, true).apply();
+                Log.d(TAG, "✅ Stored Firebase content indexed");
+            }
+        });
+
+        long indexStamp = getInstallStamp() * 31 + ASSET_INDEX_VERSION;
+        if (prefs.getLong(KEY_ASSETS_INDEXED_FOR, -1) == indexStamp) {
+            return;
+        }
+
+        AssetContentRepository.getInstance(context).load(snapshot ->
+                executor.execute(() -> indexAssets(snapshot.getBaseContent(), indexStamp)));
+    }
+
+    /**
+     * Search one page; results arrive on the main thread
+     *
+     * @param page zero-based page number
+     */
+    public void search(String query, int page, int pageSize, OnSearchListener listener) {
+        String matchQuery = buildMatchQuery(query);
+        if (matchQuery.isEmpty()) {
+            listener.onResults(query, page, Collections.emptyList());
+            return;
+        }
+
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            List<SearchResult> results;
+            try {
+                results = store.search(matchQuery, pageSize, page * pageSize);
+            } catch (Exception e) {
+                Log.e(TAG, "❌ Search failed for '" + matchQuery + "': " + e.getMessage());
+                mainHandler.post(() -> listener.onError(query, e.getMessage()));
+                return;
+            }
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            AppMetrics.set("search.last_query_ms", elapsedMs);
+            AppMetrics.increment("search.queries");
+            Log.d(TAG, "🔍 '" + matchQuery + "' page " + page + ": " + results.size() + " results in " + elapsedMs + "ms");
+
+            mainHandler.post(() -> listener.onResults(query, page, results));
+        });
+    }
+
+    /**
+     * User text -> FTS prefix query over normalized tokens, e.g. "Patience الصَّبْر" -> "patienc* صبر*"
+     * Tokens only contain letters and digits, so user input can't inject FTS syntax.
+     */
+    static String buildMatchQuery(String query) {
+        StringBuilder match = new StringBuilder();
+        for (String token : TextNormalizer.tokenize(query)) {
+            if (match.length() > 0) match.append(' ');
+            match.append(token).append('*');
+        }
+        return match.toString();
+    }
+
+    // ============ ASSET INDEXING ============
+
+    private void indexAssets(AssetContentRepository.Snapshot snapshot, long indexStamp) {
+        long start = System.currentTimeMillis();
+        store.runInTransaction(() -> {
+            for (DailyHadith hadith : snapshot.getAllHadith()) {
+                store.indexSearchDocument(ContentDatabaseHelper.SEARCH_SOURCE_ASSET_HADITH, SearchResult.TYPE_HADITH,
+                        hadith.getDayNumber(), hadith.getReference(),
+                        hadith.getArabic() + "\n" + hadith.getEnglish());
+            }
+
+            for (DailyAyah ayah : snapshot.getAllAyat()) {
+                store.indexSearchDocument(ContentDatabaseHelper.SEARCH_SOURCE_ASSET_AYAH, SearchResult.TYPE_AYAH,
+                        ayah.getDayNumber(), ayah.getReference(),
+                        ayah.getArabic() + "\n" + ayah.getEnglish());
+            }
+
+            for (AshraDay day : snapshot.getAllDays()) {
+                store.indexSearchDocument(ContentDatabaseHelper.SEARCH_SOURCE_DUA, SearchResult.TYPE_DUA,
+                        day.getDayNumber(), "Dua - Day " + day.getDayNumber(),
+                        day.getDuaArabic() + "\n" + day.getDuaTransliteration() + "\n" + day.getDuaTranslation());
+
+                StringBuilder body = new StringBuilder();
+                if (day.getDescription() != null) body.append(day.getDescription());
+                if (day.getActions() != null) {
+                    for (String action : day.getActions()) body.append('\n').append(action);
+                }
+                if (day.getHadithText() != null) body.append('\n').append(day.getHadithText());
+
+                store.indexSearchDocument(ContentDatabaseHelper.SEARCH_SOURCE_ASHRA_DAY, SearchResult.TYPE_ASHRA_DAY,
+                        day.getDayNumber(), day.getTitle() + " - " + day.getTheme(), body.toString());
+            }
+        });
+
+        prefs.edit().putLong(KEY_ASSETS_INDEXED_FOR, indexStamp).apply();
+        Log.d(TAG, "✅ Assets indexed in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Changes whenever the APK (and so its bundled assets) is updated
+     */
+    private long getInstallStamp() {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+
+    public interface OnSearchListener {
+        void onResults(String query, int page, List<SearchResult> results);
+        void onError(String query, String error);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sirralquran.utils;
+
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.ContentManifest;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+
+/**
+ * Read-only source of Ramadan content and config
+ *
+ * FirebaseHelper is the live implementation; FakeContentSource (androidTest) serves JSON fixtures
+ * for offline tests and latency benchmarks. Get the active one from ContentSourceProvider.
+ * Range results are indexed by day number (index 0 unused); missing days are null.
+ */
+public interface ContentSource {
+
+    void getDayContent(int dayNumber, FirebaseHelper.OnDataLoadListener<RamadanDayContent> listener);
+
+    void getAyahByDay(int dayNumber, FirebaseHelper.OnDataLoadListener<DailyAyah> listener);
+
+    void getHadithByDay(int dayNumber, FirebaseHelper.OnDataLoadListener<DailyHadith> listener);
+
+    void getDayContentRange(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<RamadanDayContent[]> listener);
+
+    void getAyahRange(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<DailyAyah[]> listener);
+
+    void getHadithRange(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<DailyHadith[]> listener);
+
+    void getContentManifest(FirebaseHelper.OnDataLoadListener<ContentManifest> listener);
+
+    /**
+     * One read of app_config/ramadan; cancel the returned subscription to drop the pending callback
+     */
+    Subscription getRamadanConfig(FirebaseHelper.OnDataLoadListener<AppConfig> listener);
+
+    /**
+     * Keep a live listener on app_config/ramadan; called with every change until cancelled
+     */
+    Subscription watchRamadanConfig(FirebaseHelper.OnDataLoadListener<AppConfig> listener);
+
+    /**
+     * Drop any in-memory cached nodes so the next read goes to the backend
+     */
+    void clearCache();
+
+    interface Subscription {
+        void cancel();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.sirralquran.utils;
+
+/**
+ * Hands out the active ContentSource
+ * Live Firebase by default; tests and benchmarks can swap in a FakeContentSource
+ */
+public final class ContentSourceProvider {
+
+    private static volatile ContentSource override;
+
+    private ContentSourceProvider() {
+    }
+
+    public static ContentSource get() {
+        ContentSource source = override;
+        return source != null ? source : FirebaseHelper.getInstance();
+    }
+
+    /**
+     * Replace the live source (null restores Firebase)
+     * Singletons resolve the source on every read; other consumers when they are created.
+     */
+    public static void setOverride(ContentSource source) {
+        override = source;
+    }
+}
@@ -0,0 +1,370 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.sirralquran.database.ContentDatabaseHelper;
+import com.example.sirralquran.models.ContentManifest;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background sync from the ContentSource (Firebase) into the local ContentDatabaseHelper store
+ * Screens read the store directly; this only upserts rows whose version changed.
+ * syncDelta() uses the app_config content manifest so unchanged days are never fetched.
+ */
+public class ContentSyncManager {
+
+    private static final String TAG = "ContentSyncManager";
+    public static final int TOTAL_DAYS = 30;
+
+    // More changed days than this in one collection → one range query instead of per-day reads
+    private static final int RANGE_FETCH_THRESHOLD = 5;
+
+    private static ContentSyncManager instance;
+
+    private final Context context;
+    private final ContentDatabaseHelper store;
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public static synchronized ContentSyncManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentSyncManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentSyncManager(Context context) {
+        this.context = context;
+        this.store = ContentDatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * Resolved on every read, so ContentSourceProvider.setOverride also reaches this singleton
+     */
+    private static ContentSource contentSource() {
+        return ContentSourceProvider.get();
+    }
+
+    public ContentDatabaseHelper getStore() {
+        return store;
+    }
+
+    /**
+     * Keep day content fetched outside a sync (e.g. a lesson opened before the first sync)
+     */
+    public void storeDayContent(int day, RamadanDayContent content) {
+        writeExecutor.execute(() -> store.upsertDayContent(day, content));
+    }
+
+    /**
+     * Sync all 30 days of content, Ayat and Hadith (one range query per collection)
+     */
+    public void syncAll(OnSyncListener listener) {
+        Log.d(TAG, "🔄 Syncing all content");
+        SyncBatch batch = new SyncBatch(3, listener);
+
+        contentSource().getDayContentRange(1, TOTAL_DAYS, new FirebaseHelper.OnDataLoadListener<RamadanDayContent[]>() {
+            @Override
+            public void onSuccess(RamadanDayContent[] contents) {
+                writeExecutor.execute(() -> {
+                    int changed = 0;
+                    for (int day = 1; day < contents.length; day++) {
+                        if (contents[day] != null && store.upsertDayContent(day, contents[day])) changed++;
+                    }
+                    batch.complete(changed);
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                batch.fail(error);
+            }
+        });
+
+        contentSource().getAyahRange(1, TOTAL_DAYS, new FirebaseHelper.OnDataLoadListener<DailyAyah[]>() {
+            @Override
+            public void onSuccess(DailyAyah[] ayat) {
+                writeExecutor.execute(() -> {
+                    int changed = 0;
+                    for (int day = 1; day < ayat.length; day++) {
+                        if (ayat[day] != null && store.upsertAyah(day, ayat[day])) changed++;
+                    }
+                    batch.complete(changed);
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                batch.fail(error);
+            }
+        });
+
+        contentSource().getHadithRange(1, TOTAL_DAYS, new FirebaseHelper.OnDataLoadListener<DailyHadith[]>() {
+            @Override
+            public void onSuccess(DailyHadith[] hadiths) {
+                writeExecutor.execute(() -> {
+                    int changed = 0;
+                    for (int day = 1; day < hadiths.length; day++) {
+                        if (hadiths[day] != null && store.upsertHadith(day, hadiths[day])) changed++;
+                    }
+                    batch.complete(changed);
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                batch.fail(error);
+            }
+        });
+    }
+
+    /**
+     * Sync content, Ayah and Hadith for a single day
+     */
+    public void syncDay(int day, OnSyncListener listener) {
+        Log.d(TAG, "🔄 Syncing day " + day);
+        SyncBatch batch = new SyncBatch(3, listener);
+
+        contentSource().getDayContent(day, new FirebaseHelper.OnDataLoadListener<RamadanDayContent>() {
+            @Override
+            public void onSuccess(RamadanDayContent content) {
+                writeExecutor.execute(() -> batch.complete(store.upsertDayContent(day, content) ? 1 : 0));
+            }
+
+            @Override
+            public void onError(String error) {
+                batch.fail(error);
+            }
+        });
+
+        contentSource().getAyahByDay(day, new FirebaseHelper.OnDataLoadListener<DailyAyah>() {
+            @Override
+            public void onSuccess(DailyAyah ayah) {
+                writeExecutor.execute(() -> batch.complete(store.upsertAyah(day, ayah) ? 1 : 0));
+            }
+
+            @Override
+            public void onError(String error) {
+                batch.fail(error);
+            }
+        });
+
+        contentSource().getHadithByDay(day, new FirebaseHelper.OnDataLoadListener<DailyHadith>() {
+            @Override
+            public void onSuccess(DailyHadith hadith) {
+                writeExecutor.execute(() -> batch.complete(store.upsertHadith(day, hadith) ? 1 : 0));
+            }
+
+            @Override
+            public void onError(String error) {
+                batch.fail(error);
+            }
+        });
+    }
+
+    /**
+     * Delta sync: compare the app_config content manifest against the local store
+     * and fetch only the days whose version changed. Falls back to syncAll() if no manifest.
+     */
+    public void syncDelta(OnSyncListener listener) {
+        contentSource().getContentManifest(new FirebaseHelper.OnDataLoadListener<ContentManifest>() {
+            @Override
+            public void onSuccess(ContentManifest manifest) {
+                if (manifest.isEmpty()) {
+                    Log.d(TAG, "⚠️ No content manifest, falling back to full sync");
+                    syncAll(listener);
+                    return;
+                }
+
+                writeExecutor.execute(() -> applyManifest(manifest, listener));
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.e(TAG, "❌ Manifest load failed: " + error);
+                if (listener != null) {
+                    mainHandler.post(() -> listener.onSyncFailed(error));
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs on the write executor: diff manifest against stored versions and fetch changes
+     */
+    private void applyManifest(ContentManifest manifest, OnSyncListener listener) {
+        List<Integer> changedContent = findChangedDays(manifest.getDayContentVersions(),
+                store.getVersions(ContentDatabaseHelper.TABLE_DAY_CONTENT));
+        List<Integer> changedAyat = findChangedDays(manifest.getAyatVersions(),
+                store.getVersions(ContentDatabaseHelper.TABLE_AYAT));
+        List<Integer> changedHadith = findChangedDays(manifest.getHadithVersions(),
+                store.getVersions(ContentDatabaseHelper.TABLE_HADITH));
+
+        Log.d(TAG, "🔄 Delta sync: " + changedContent.size() + " days, "
+                + changedAyat.size() + " ayat, " + changedHadith.size() + " hadith changed");
+
+        int parts = countParts(changedContent) + countParts(changedAyat) + countParts(changedHadith);
+        SyncBatch batch = new SyncBatch(parts, listener);
+        if (parts == 0) {
+            batch.finishEmpty();
+            return;
+        }
+
+        // Changed nodes must not be served from the source's in-memory cache
+        ContentSource source = contentSource();
+        source.clearCache();
+
+        syncChangedDays(changedContent, manifest.getDayContentVersions(), batch,
+                source::getDayContent, source::getDayContentRange, store::upsertDayContent);
+        syncChangedDays(changedAyat, manifest.getAyatVersions(), batch,
+                source::getAyahByDay, source::getAyahRange, store::upsertAyah);
+        syncChangedDays(changedHadith, manifest.getHadithVersions(), batch,
+                source::getHadithByDay, source::getHadithRange, store::upsertHadith);
+    }
+
+    private List<Integer> findChangedDays(Map<Integer, Long> manifestVersions, Map<Integer, Long> storedVersions) {
+        List<Integer> changed = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entry : manifestVersions.entrySet()) {
+            int day = entry.getKey();
+            if (day < 1 || day > TOTAL_DAYS) continue;
+            if (!entry.getValue().equals(storedVersions.get(day))) {
+                changed.add(day);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Few changes are fetched day by day; many are cheaper as one range query
+     */
+    private int countParts(List<Integer> changedDays) {
+        if (changedDays.isEmpty()) return 0;
+        return changedDays.size() > RANGE_FETCH_THRESHOLD ? 1 : changedDays.size();
+    }
+
+    private <T> void syncChangedDays(List<Integer> changedDays, Map<Integer, Long> versions, SyncBatch batch,
+                                     DayFetcher<T> dayFetcher, RangeFetcher<T> rangeFetcher, Upserter<T> upserter) {
+        if (changedDays.isEmpty()) return;
+
+        if (changedDays.size() > RANGE_FETCH_THRESHOLD) {
+            rangeFetcher.fetch(1, TOTAL_DAYS, new FirebaseHelper.OnDataLoadListener<T[]>() {
+                @Override
+                public void onSuccess(T[] items) {
+                    writeExecutor.execute(() -> {
+                        int changed = 0;
+                        for (int day : changedDays) {
+                            if (day < items.length && items[day] != null
+                                    && upserter.upsert(day, items[day], versions.get(day))) changed++;
+                        }
+                        batch.complete(changed);
+                    });
+                }
+
+                @Override
+                public void onError(String error) {
+                    batch.fail(error);
+                }
+            });
+            return;
+        }
+
+        for (int day : changedDays) {
+            dayFetcher.fetch(day, new FirebaseHelper.OnDataLoadListener<T>() {
+                @Override
+                public void onSuccess(T item) {
+                    writeExecutor.execute(() -> batch.complete(upserter.upsert(day, item, versions.get(day)) ? 1 : 0));
+                }
+
+                @Override
+                public void onError(String error) {
+                    batch.fail(error);
+                }
+            });
+        }
+    }
+
+    private interface DayFetcher<T> {
+        void fetch(int day, FirebaseHelper.OnDataLoadListener<T> listener);
+    }
+
+    private interface RangeFetcher<T> {
+        void fetch(int fromDay, int toDay, FirebaseHelper.OnDataLoadListener<T[]> listener);
+    }
+
+    private interface Upserter<T> {
+        boolean upsert(int day, T item, Long version);
+    }
+
+    /**
+     * Collects the results of parallel collection syncs and reports once on the main thread
+     */
+    private class SyncBatch {
+        private final AtomicInteger remaining;
+        private final AtomicInteger changedRows = new AtomicInteger();
+        private volatile String lastError;
+        private final OnSyncListener listener;
+
+        SyncBatch(int parts, OnSyncListener listener) {
+            this.remaining = new AtomicInteger(parts);
+            this.listener = listener;
+        }
+
+        void complete(int changed) {
+            changedRows.addAndGet(changed);
+            finishPart();
+        }
+
+        void fail(String error) {
+            Log.e(TAG, "❌ Sync part failed: " + error);
+            lastError = error;
+            finishPart();
+        }
+
+        private void finishPart() {
+            if (remaining.decrementAndGet() > 0) {
+                return;
+            }
+            report();
+        }
+
+        void finishEmpty() {
+            report();
+        }
+
+        private void report() {
+
+            int changed = changedRows.get();
+            String error = lastError;
+            Log.d(TAG, "✅ Sync finished: " + changed + " rows changed" + (error != null ? " (with errors)" : ""));
+
+            if (changed > 0) {
+                // Related items are computed from the synced lessons
+                RelatedContentManager.getInstance(context).invalidate();
+            }
+
+            if (listener == null) return;
+            mainHandler.post(() -> {
+                if (changed == 0 && error != null) {
+                    listener.onSyncFailed(error);
+                } else {
+                    listener.onSyncComplete(changed);
+                }
+            });
+        }
+    }
+
+    public interface OnSyncListener {
+        void onSyncComplete(int changedRows);
+        void onSyncFailed(String error);
+    }
+}
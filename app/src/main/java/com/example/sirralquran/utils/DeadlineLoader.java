@@ -0,0 +1,160 @@
+package com.example.sirralquran.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+/**
+ * Stale-while-revalidate loader with a per-request deadline
+ *
+ * - Cached value (if any) is delivered synchronously as STALE so the first frame has content
+ * - The fetch runs in the background; its result is delivered as FRESH
+ * - If nothing was cached and the fetch misses the deadline, the fallback is delivered as FALLBACK
+ *   (a FRESH result arriving later is still delivered)
+ * - With a SameValue check, a FRESH result equal to the STALE one is not delivered again
+ * - cancel() drops everything not yet delivered and cancels the pending fetch
+ *
+ * Results after the synchronous cached one are delivered on the main thread.
+ */
+public class DeadlineLoader<T> {
+
+    private static final String TAG = "DeadlineLoader";
+
+    public enum Source { FRESH, STALE, FALLBACK }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final String name;
+    private final OnResultListener<T> listener;
+    private final FallbackProvider<T> fallback;
+    private final SameValue<T> sameValue;
+    private final Runnable deadlineRunnable;
+    private final long startedAt = System.currentTimeMillis();
+
+    private volatile boolean cancelled = false;
+    private boolean delivered = false;
+    private T staleValue;
+    private ContentSource.Subscription pendingFetch;
+
+    private DeadlineLoader(String name, FallbackProvider<T> fallback, SameValue<T> sameValue,
+                           OnResultListener<T> listener) {
+        this.name = name;
+        this.fallback = fallback;
+        this.sameValue = sameValue;
+        this.listener = listener;
+        this.deadlineRunnable = this::useFallback;
+    }
+
+    /**
+     * Start a load. Keep the returned loader to cancel() it (e.g. in onDestroy)
+     */
+    public static <T> DeadlineLoader<T> load(String name, CacheReader<T> cache, Fetcher<T> fetcher,
+                                             FallbackProvider<T> fallback, long deadlineMs,
+                                             OnResultListener<T> listener) {
+        return load(name, cache, fetcher, fallback, null, deadlineMs, listener);
+    }
+
+    /**
+     * Same as above; a FRESH result for which sameValue is true against the STALE one is skipped
+     */
+    public static <T> DeadlineLoader<T> load(String name, CacheReader<T> cache, Fetcher<T> fetcher,
+                                             FallbackProvider<T> fallback, SameValue<T> sameValue,
+                                             long deadlineMs, OnResultListener<T> listener) {
+        DeadlineLoader<T> loader = new DeadlineLoader<>(name, fallback, sameValue, listener);
+
+        T cached = cache.read();
+        if (cached != null) {
+            loader.staleValue = cached;
+            loader.deliver(cached, Source.STALE);
+        } else {
+            loader.mainHandler.postDelayed(loader.deadlineRunnable, deadlineMs);
+        }
+
+        loader.pendingFetch = fetcher.fetch(new FirebaseHelper.OnDataLoadListener<T>() {
+            @Override
+            public void onSuccess(T data) {
+                loader.mainHandler.post(() -> {
+                    loader.mainHandler.removeCallbacks(loader.deadlineRunnable);
+                    if (data != null) {
+                        loader.deliver(data, Source.FRESH);
+                    } else {
+                        loader.useFallback();
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.e(TAG, "❌ " + name + " fetch failed: " + error);
+                // No cached value → don't wait out the deadline, fall back now
+                loader.mainHandler.post(() -> {
+                    loader.mainHandler.removeCallbacks(loader.deadlineRunnable);
+                    loader.useFallback();
+                });
+            }
+        });
+
+        return loader;
+    }
+
+    /**
+     * Drop any result not yet delivered
+     */
+    public void cancel() {
+        cancelled = true;
+        mainHandler.removeCallbacks(deadlineRunnable);
+        if (pendingFetch != null) {
+            pendingFetch.cancel();
+        }
+    }
+
+    /**
+     * Deadline passed or fetch failed: fall back unless something was already shown
+     */
+    private void useFallback() {
+        if (delivered || cancelled) {
+            return;
+        }
+        Log.w(TAG, "⏱️ " + name + " has no result in time, using fallback");
+        deliver(fallback.get(), Source.FALLBACK);
+    }
+
+    private void deliver(T value, Source source) {
+        if (cancelled) {
+            return;
+        }
+        if (source == Source.FRESH && staleValue != null && sameValue != null
+                && sameValue.isSame(staleValue, value)) {
+            Log.d(TAG, "✅ " + name + " unchanged since STALE, not delivered again");
+            AppMetrics.increment("loader." + name + ".unchanged");
+            return;
+        }
+        delivered = true;
+        long elapsed = System.currentTimeMillis() - startedAt;
+        Log.d(TAG, "✅ " + name + " delivered " + source + " after " + elapsed + "ms");
+        AppMetrics.increment("loader." + name + "." + source.name().toLowerCase());
+        listener.onResult(value, source);
+    }
+
+    public interface CacheReader<T> {
+        T read();
+    }
+
+    /**
+     * Returns the pending request so cancel() can drop it, or null if it can't be cancelled
+     */
+    public interface Fetcher<T> {
+        ContentSource.Subscription fetch(FirebaseHelper.OnDataLoadListener<T> listener);
+    }
+
+    public interface SameValue<T> {
+        boolean isSame(T stale, T fresh);
+    }
+
+    public interface FallbackProvider<T> {
+        T get();
+    }
+
+    public interface OnResultListener<T> {
+        void onResult(T value, Source source);
+    }
+}
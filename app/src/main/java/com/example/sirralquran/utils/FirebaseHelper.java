@@ -1,7 +1,11 @@
 package com.example.sirralquran.utils;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.ContentManifest;
 import com.example.sirralquran.models.DailyAyah;
 import com.example.sirralquran.models.DailyHadith;
 import com.example.sirralquran.models.RamadanDayContent;
@@ -10,28 +14,53 @@ import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * FIXED FirebaseHelper - Uses getInstance() to get the SAME database instance initialized in SplashActivity
+ * FIXED FirebaseHelper - Uses getInstance() to get the SAME database instance initialized in SirrAlQuranApplication
+ * Live ContentSource; consumers should get it through ContentSourceProvider
  */
-public class FirebaseHelper {
+public class FirebaseHelper implements ContentSource {
 
     private static final String TAG = "FirebaseHelper";
     private static FirebaseHelper instance;
     private DatabaseReference database;
 
-    // CRITICAL: This MUST match SplashActivity and google-services.json (NO trailing slash!)
-    private static final String FIREBASE_URL = "https://sirrallquran-default-rtdb.firebaseio.com";
+    // CRITICAL: This MUST match SirrAlQuranApplication and google-services.json (NO trailing slash!)
+    static final String FIREBASE_URL = "https://sirrallquran-default-rtdb.firebaseio.com";
 
-    // Collection names in Firebase
-    private static final String COLLECTION_AYAT = "ramadan_special_ayat";
-    private static final String COLLECTION_HADITH = "ramadan_special_hadith";
-    private static final String COLLECTION_DAY_CONTENT = "ramadan_day_content";
-    private static final String COLLECTION_APP_CONFIG = "app_config";
+    // Collection names in Firebase (package-private for FirebaseSyncPolicy)
+    static final String COLLECTION_AYAT = "ramadan_special_ayat";
+    static final String COLLECTION_HADITH = "ramadan_special_hadith";
+    static final String COLLECTION_DAY_CONTENT = "ramadan_day_content";
+    static final String COLLECTION_APP_CONFIG = "app_config";
+    static final String COLLECTION_USER_PROGRESS = "user_progress";
+
+    // Decoded day nodes, keyed by "collection/day_N"
+    private static final int CACHE_MAX_ENTRIES = 120;
+    private static final long CACHE_TTL_MS = 5 * 60 * 1000; // 5 minutes
+    private static final String METRIC_CACHE_HIT = "firebase.cache_hit";
+    private static final String METRIC_CACHE_MISS = "firebase.cache_miss";
+    private static final String METRIC_CACHE_JOINED = "firebase.cache_joined_in_flight";
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Object cacheLock = new Object();
+    private final Map<String, CacheEntry> cache = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > CACHE_MAX_ENTRIES;
+        }
+    };
+    private final Map<String, List<OnDataLoadListener<?>>> inFlight = new HashMap<>();
 
     private FirebaseHelper() {
         try {
-            // CRITICAL FIX: Use getInstance(URL) to get the SAME instance created in SplashActivity
+            // CRITICAL FIX: Use getInstance(URL) to get the SAME instance created in SirrAlQuranApplication
             FirebaseDatabase firebaseDatabase = FirebaseDatabase.getInstance(FIREBASE_URL);
             database = firebaseDatabase.getReference();
 
@@ -50,102 +79,223 @@ public class FirebaseHelper {
     }
 
     /**
-     * Check if Ramadan is active from Firebase config
+     * Read the whole app_config/ramadan node in ONE request
      */
-    public void isRamadanActive(OnDataLoadListener<Boolean> listener) {
-        String path = COLLECTION_APP_CONFIG + "/ramadan/is_ramadan_active";
-        Log.d(TAG, "🔍 Checking Ramadan status: " + path);
+    @Override
+    public Subscription getRamadanConfig(OnDataLoadListener<AppConfig> listener) {
+        Log.d(TAG, "🔍 Fetching app config: " + COLLECTION_APP_CONFIG + "/ramadan");
 
-        database.child(COLLECTION_APP_CONFIG)
-                .child("ramadan")
-                .child("is_ramadan_active")
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        Log.d(TAG, "📡 Ramadan status callback FIRED!");
-                        Log.d(TAG, "📊 Snapshot exists: " + snapshot.exists());
-                        Log.d(TAG, "📊 Snapshot value: " + snapshot.getValue());
+        DatabaseReference configRef = database.child(COLLECTION_APP_CONFIG).child("ramadan");
+        ValueEventListener valueListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Log.d(TAG, "📡 App config callback FIRED! Exists: " + snapshot.exists());
+                listener.onSuccess(parseRamadanConfig(snapshot));
+            }
 
-                        Boolean isActive = snapshot.getValue(Boolean.class);
-                        Log.d(TAG, "✅ Ramadan active: " + (isActive != null && isActive));
-                        listener.onSuccess(isActive != null && isActive);
-                    }
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "❌ Firebase error: " + error.getMessage());
+                Log.e(TAG, "❌ Error code: " + error.getCode());
+                listener.onError(error.getMessage());
+            }
+        };
+        configRef.addListenerForSingleValueEvent(valueListener);
 
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-                        Log.e(TAG, "❌ Firebase error: " + error.getMessage());
-                        Log.e(TAG, "❌ Error code: " + error.getCode());
-                        Log.e(TAG, "❌ Error details: " + error.getDetails());
-                        listener.onError(error.getMessage());
-                    }
-                });
+        return () -> configRef.removeEventListener(valueListener);
+    }
+
+    /**
+     * Persistent listener on app_config/ramadan (pushes every change while attached)
+     */
+    @Override
+    public Subscription watchRamadanConfig(OnDataLoadListener<AppConfig> listener) {
+        Log.d(TAG, "👂 Watching app config: " + COLLECTION_APP_CONFIG + "/ramadan");
+
+        DatabaseReference configRef = database.child(COLLECTION_APP_CONFIG).child("ramadan");
+        ValueEventListener valueListener = configRef.addValueEventListener(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                Log.d(TAG, "📡 App config changed");
+                listener.onSuccess(parseRamadanConfig(snapshot));
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "❌ App config watch cancelled: " + error.getMessage());
+                listener.onError(error.getMessage());
+            }
+        });
+
+        return () -> {
+            configRef.removeEventListener(valueListener);
+            Log.d(TAG, "🔇 Stopped watching app config");
+        };
+    }
+
+    private AppConfig parseRamadanConfig(DataSnapshot snapshot) {
+        Boolean isActive = snapshot.child("is_ramadan_active").getValue(Boolean.class);
+        Integer currentDay = snapshot.child("current_day").getValue(Integer.class);
+        Long contentVersion = snapshot.child("content_version").getValue(Long.class);
+        Object startDate = snapshot.child("start_date").getValue();
+
+        AppConfig config = new AppConfig(
+                isActive != null && isActive,
+                currentDay != null ? currentDay : 1,
+                startDate != null ? startDate.toString() : null,
+                contentVersion != null ? contentVersion : 0,
+                System.currentTimeMillis()
+        );
+        Log.d(TAG, "✅ App config: active=" + config.isRamadanActive() + ", day=" + config.getCurrentDay()
+                + ", start=" + config.getStartDate() + ", contentVersion=" + config.getContentVersion());
+        return config;
     }
 
     /**
-     * Get current Ramadan day (1-30) from Firebase
+     * Fetch the content version manifest (app_config/content_manifest)
+     *
+     * Shape: { ramadan_day_content: { day_1: 3, ... }, ramadan_special_ayat: {...}, ramadan_special_hadith: {...} }
+     * Versions may be numbers or hash strings; strings are reduced to a stable long.
      */
-    public void getCurrentRamadanDay(OnDataLoadListener<Integer> listener) {
-        String path = COLLECTION_APP_CONFIG + "/ramadan/current_day";
-        Log.d(TAG, "🔍 Fetching current day: " + path);
+    @Override
+    public void getContentManifest(OnDataLoadListener<ContentManifest> listener) {
+        Log.d(TAG, "🔍 Fetching content manifest: " + COLLECTION_APP_CONFIG + "/content_manifest");
 
         database.child(COLLECTION_APP_CONFIG)
-                .child("ramadan")
-                .child("current_day")
+                .child("content_manifest")
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        Log.d(TAG, "📡 Current day callback FIRED!");
-                        Log.d(TAG, "📊 Snapshot exists: " + snapshot.exists());
-                        Log.d(TAG, "📊 Snapshot value: " + snapshot.getValue());
+                        ContentManifest manifest = new ContentManifest();
+                        readManifestVersions(snapshot.child(COLLECTION_DAY_CONTENT), manifest.getDayContentVersions());
+                        readManifestVersions(snapshot.child(COLLECTION_AYAT), manifest.getAyatVersions());
+                        readManifestVersions(snapshot.child(COLLECTION_HADITH), manifest.getHadithVersions());
 
-                        Integer currentDay = snapshot.getValue(Integer.class);
-                        Log.d(TAG, "✅ Current day: " + currentDay);
-                        listener.onSuccess(currentDay != null ? currentDay : 1);
+                        Log.d(TAG, "✅ Content manifest loaded: " + manifest.getDayContentVersions().size() + " days, "
+                                + manifest.getAyatVersions().size() + " ayat, "
+                                + manifest.getHadithVersions().size() + " hadith");
+                        listener.onSuccess(manifest);
                     }
 
                     @Override
                     public void onCancelled(@NonNull DatabaseError error) {
                         Log.e(TAG, "❌ Firebase error: " + error.getMessage());
-                        Log.e(TAG, "❌ Error code: " + error.getCode());
                         listener.onError(error.getMessage());
                     }
                 });
     }
 
+    private void readManifestVersions(DataSnapshot collection, Map<Integer, Long> versions) {
+        for (DataSnapshot child : collection.getChildren()) {
+            int dayNumber = parseDayKey(child.getKey());
+            Object value = child.getValue();
+            if (dayNumber < 1 || value == null) {
+                continue;
+            }
+
+            if (value instanceof Number) {
+                versions.put(dayNumber, ((Number) value).longValue());
+            } else {
+                versions.put(dayNumber, (long) value.toString().hashCode());
+            }
+        }
+    }
+
     /**
      * Fetch Ayah for specific Ramadan day
      */
+    @Override
     public void getAyahByDay(int dayNumber, OnDataLoadListener<DailyAyah> listener) {
+        getDayNode(COLLECTION_AYAT, "Ayah", ContentMappers.AYAH, dayNumber, listener);
+    }
+
+    /**
+     * Fetch Hadith for specific Ramadan day
+     */
+    @Override
+    public void getHadithByDay(int dayNumber, OnDataLoadListener<DailyHadith> listener) {
+        getDayNode(COLLECTION_HADITH, "Hadith", ContentMappers.HADITH, dayNumber, listener);
+    }
+
+    /**
+     * Fetch day content for specific Ramadan day
+     */
+    @Override
+    public void getDayContent(int dayNumber, OnDataLoadListener<RamadanDayContent> listener) {
+        getDayNode(COLLECTION_DAY_CONTENT, "Day content", ContentMappers.DAY_CONTENT, dayNumber, listener);
+    }
+
+    /**
+     * Read one "day_N" node, served from the LRU when fresh.
+     * Concurrent requests for the same node join the pending load instead of adding a listener.
+     * A cache hit is posted like a network result, so the listener never runs inside this call.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void getDayNode(String collection, String label, ContentMappers.Mapper<T> mapper, int dayNumber,
+                                OnDataLoadListener<T> listener) {
         String dayKey = "day_" + dayNumber;
-        String path = COLLECTION_AYAT + "/" + dayKey;
-        Log.d(TAG, "🔍 Fetching Ayah: " + path);
+        String path = collection + "/" + dayKey;
+
+        T hit = null;
+        synchronized (cacheLock) {
+            CacheEntry cached = cache.get(path);
+            if (cached != null && !cached.isExpired()) {
+                hit = (T) cached.value;
+            }
+        }
+        if (hit != null) {
+            AppMetrics.increment(METRIC_CACHE_HIT);
+            Log.d(TAG, "⚡ " + label + " served from cache: " + path);
+            T value = hit;
+            mainHandler.post(() -> listener.onSuccess(value));
+            return;
+        }
+
+        synchronized (cacheLock) {
+
+            List<OnDataLoadListener<?>> waiting = inFlight.get(path);
+            if (waiting != null) {
+                AppMetrics.increment(METRIC_CACHE_JOINED);
+                Log.d(TAG, "🔗 Joining pending load: " + path);
+                waiting.add(listener);
+                return;
+            }
 
-        database.child(COLLECTION_AYAT)
+            AppMetrics.increment(METRIC_CACHE_MISS);
+            waiting = new ArrayList<>();
+            waiting.add(listener);
+            inFlight.put(path, waiting);
+        }
+
+        Log.d(TAG, "🔍 Fetching " + label + ": " + path);
+
+        database.child(collection)
                 .child(dayKey)
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        Log.d(TAG, "📡 Ayah callback FIRED!");
+                        Log.d(TAG, "📡 " + label + " callback FIRED!");
                         Log.d(TAG, "📊 Exists: " + snapshot.exists());
 
                         if (snapshot.exists()) {
                             try {
-                                DailyAyah ayah = snapshot.getValue(DailyAyah.class);
-                                if (ayah != null) {
-                                    Log.d(TAG, "✅ Ayah loaded for day " + dayNumber);
-                                    listener.onSuccess(ayah);
+                                T value = decode(snapshot, mapper);
+                                if (value != null) {
+                                    Log.d(TAG, "✅ " + label + " loaded for day " + dayNumber);
+                                    putCache(path, value);
+                                    deliverSuccess(path, value);
                                 } else {
-                                    Log.e(TAG, "❌ Ayah is null after parsing");
-                                    listener.onError("Failed to parse Ayah data");
+                                    Log.e(TAG, "❌ " + label + " is null after parsing");
+                                    deliverError(path, "Failed to parse " + label + " data");
                                 }
                             } catch (Exception e) {
-                                Log.e(TAG, "❌ Error parsing Ayah: " + e.getMessage());
+                                Log.e(TAG, "❌ Error parsing " + label + ": " + e.getMessage());
                                 e.printStackTrace();
-                                listener.onError("Error parsing Ayah: " + e.getMessage());
+                                deliverError(path, "Error parsing " + label + ": " + e.getMessage());
                             }
                         } else {
-                            Log.e(TAG, "❌ Ayah not found for day " + dayNumber);
-                            listener.onError("Ayah not found for day " + dayNumber);
+                            Log.e(TAG, "❌ " + label + " not found for day " + dayNumber);
+                            deliverError(path, label + " not found for day " + dayNumber);
                         }
                     }
 
@@ -153,92 +303,131 @@ public class FirebaseHelper {
                     public void onCancelled(@NonNull DatabaseError error) {
                         Log.e(TAG, "❌ Firebase error: " + error.getMessage());
                         Log.e(TAG, "❌ Error code: " + error.getCode());
-                        listener.onError(error.getMessage());
+                        deliverError(path, error.getMessage());
                     }
                 });
     }
 
+    // ============ DECODED OBJECT CACHE ============
+
+    private void putCache(String path, Object value) {
+        synchronized (cacheLock) {
+            cache.put(path, new CacheEntry(value));
+        }
+    }
+
+    private List<OnDataLoadListener<?>> takeWaiting(String path) {
+        synchronized (cacheLock) {
+            List<OnDataLoadListener<?>> waiting = inFlight.remove(path);
+            return waiting != null ? waiting : new ArrayList<>();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void deliverSuccess(String path, T value) {
+        for (OnDataLoadListener<?> waiting : takeWaiting(path)) {
+            ((OnDataLoadListener<T>) waiting).onSuccess(value);
+        }
+    }
+
+    private void deliverError(String path, String error) {
+        for (OnDataLoadListener<?> waiting : takeWaiting(path)) {
+            waiting.onError(error);
+        }
+    }
+
     /**
-     * Fetch Hadith for specific Ramadan day
+     * Drop all cached nodes (e.g. after the content manifest reports changes)
      */
-    public void getHadithByDay(int dayNumber, OnDataLoadListener<DailyHadith> listener) {
-        String dayKey = "day_" + dayNumber;
-        String path = COLLECTION_HADITH + "/" + dayKey;
-        Log.d(TAG, "🔍 Fetching Hadith: " + path);
+    @Override
+    public void clearCache() {
+        synchronized (cacheLock) {
+            cache.clear();
+        }
+    }
 
-        database.child(COLLECTION_HADITH)
-                .child(dayKey)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        Log.d(TAG, "📡 Hadith callback FIRED!");
-                        Log.d(TAG, "📊 Exists: " + snapshot.exists());
+    private static class CacheEntry {
+        final Object value;
+        final long loadedAt;
 
-                        if (snapshot.exists()) {
-                            try {
-                                DailyHadith hadith = snapshot.getValue(DailyHadith.class);
-                                if (hadith != null) {
-                                    Log.d(TAG, "✅ Hadith loaded for day " + dayNumber);
-                                    listener.onSuccess(hadith);
-                                } else {
-                                    Log.e(TAG, "❌ Hadith is null after parsing");
-                                    listener.onError("Failed to parse Hadith data");
-                                }
-                            } catch (Exception e) {
-                                Log.e(TAG, "❌ Error parsing Hadith: " + e.getMessage());
-                                e.printStackTrace();
-                                listener.onError("Error parsing Hadith: " + e.getMessage());
-                            }
-                        } else {
-                            Log.e(TAG, "❌ Hadith not found for day " + dayNumber);
-                            listener.onError("Hadith not found for day " + dayNumber);
-                        }
-                    }
+        CacheEntry(Object value) {
+            this.value = value;
+            this.loadedAt = System.currentTimeMillis();
+        }
 
-                    @Override
-                    public void onCancelled(@NonNull DatabaseError error) {
-                        Log.e(TAG, "❌ Firebase error: " + error.getMessage());
-                        Log.e(TAG, "❌ Error code: " + error.getCode());
-                        listener.onError(error.getMessage());
-                    }
-                });
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > CACHE_TTL_MS;
+        }
     }
 
     /**
-     * Fetch day content for specific Ramadan day
+     * Fetch day content for a range of Ramadan days in ONE query
+     * Result is indexed by day number (index 0 unused); missing days are null.
      */
-    public void getDayContent(int dayNumber, OnDataLoadListener<RamadanDayContent> listener) {
-        String dayKey = "day_" + dayNumber;
-        String path = COLLECTION_DAY_CONTENT + "/" + dayKey;
-        Log.d(TAG, "🔍 Fetching Day Content: " + path);
+    @Override
+    public void getDayContentRange(int fromDay, int toDay, OnDataLoadListener<RamadanDayContent[]> listener) {
+        getRange(COLLECTION_DAY_CONTENT, RamadanDayContent.class, ContentMappers.DAY_CONTENT, fromDay, toDay, listener);
+    }
 
-        database.child(COLLECTION_DAY_CONTENT)
-                .child(dayKey)
+    /**
+     * Fetch Ayat for a range of Ramadan days in ONE query (indexed by day number)
+     */
+    @Override
+    public void getAyahRange(int fromDay, int toDay, OnDataLoadListener<DailyAyah[]> listener) {
+        getRange(COLLECTION_AYAT, DailyAyah.class, ContentMappers.AYAH, fromDay, toDay, listener);
+    }
+
+    /**
+     * Fetch Hadith for a range of Ramadan days in ONE query (indexed by day number)
+     */
+    @Override
+    public void getHadithRange(int fromDay, int toDay, OnDataLoadListener<DailyHadith[]> listener) {
+        getRange(COLLECTION_HADITH, DailyHadith.class, ContentMappers.HADITH, fromDay, toDay, listener);
+    }
+
+    /**
+     * Read a day-keyed collection as one ordered range.
+     *
+     * Keys are "day_1".."day_30" (not zero-padded), so a lexicographic key range
+     * from "day_<from>" to "day_<to>" would skip days (e.g. day_4..day_9 for 1-30).
+     * Instead the "day_" key prefix is read as one ordered range and trimmed here.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void getRange(String collection, Class<T> type, ContentMappers.Mapper<T> mapper, int fromDay, int toDay,
+                              OnDataLoadListener<T[]> listener) {
+        Log.d(TAG, "🔍 Fetching " + collection + " range: " + fromDay + "-" + toDay);
+
+        database.child(collection)
+                .orderByKey()
+                .startAt("day_")
+                .endAt("day_\uf8ff")
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(@NonNull DataSnapshot snapshot) {
-                        Log.d(TAG, "📡 Day Content callback FIRED!");
-                        Log.d(TAG, "📊 Exists: " + snapshot.exists());
+                        Log.d(TAG, "📡 " + collection + " range callback FIRED! Children: " + snapshot.getChildrenCount());
+
+                        T[] items = (T[]) Array.newInstance(type, toDay + 1);
+                        int loaded = 0;
+
+                        for (DataSnapshot child : snapshot.getChildren()) {
+                            int dayNumber = parseDayKey(child.getKey());
+                            if (dayNumber < fromDay || dayNumber > toDay) {
+                                continue;
+                            }
 
-                        if (snapshot.exists()) {
                             try {
-                                RamadanDayContent content = snapshot.getValue(RamadanDayContent.class);
-                                if (content != null) {
-                                    Log.d(TAG, "✅ Day content loaded for day " + dayNumber);
-                                    listener.onSuccess(content);
-                                } else {
-                                    Log.e(TAG, "❌ Day content is null after parsing");
-                                    listener.onError("Failed to parse day content");
+                                items[dayNumber] = decode(child, mapper);
+                                if (items[dayNumber] != null) {
+                                    putCache(collection + "/" + child.getKey(), items[dayNumber]);
                                 }
+                                loaded++;
                             } catch (Exception e) {
-                                Log.e(TAG, "❌ Error parsing day content: " + e.getMessage());
-                                e.printStackTrace();
-                                listener.onError("Error parsing content: " + e.getMessage());
+                                Log.e(TAG, "❌ Error parsing " + collection + " for " + child.getKey() + ": " + e.getMessage());
                             }
-                        } else {
-                            Log.e(TAG, "❌ Content not found for day " + dayNumber);
-                            listener.onError("Content not found for day " + dayNumber);
                         }
+
+                        Log.d(TAG, "✅ " + collection + " loaded for " + loaded + " days");
+                        listener.onSuccess(items);
                     }
 
                     @Override
@@ -250,6 +439,32 @@ public class FirebaseHelper {
                 });
     }
 
+    /**
+     * Decode a node with a hand-written mapper (no reflective bean mapping)
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T decode(DataSnapshot snapshot, ContentMappers.Mapper<T> mapper) {
+        Object raw = snapshot.getValue();
+        if (!(raw instanceof Map)) {
+            return null;
+        }
+        return mapper.map((Map<String, Object>) raw);
+    }
+
+    /**
+     * Parse "day_N" key into N, or -1 if the key isn't a day key
+     */
+    private int parseDayKey(String key) {
+        if (key == null || !key.startsWith("day_")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(key.substring(4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Generic data load listener interface
      */
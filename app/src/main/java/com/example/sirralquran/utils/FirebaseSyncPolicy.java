@@ -0,0 +1,104 @@
+package com.example.sirralquran.utils;
+
+import android.util.Log;
+import com.google.firebase.database.FirebaseDatabase;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Decides which Firebase subtrees are kept synced on the device
+ *
+ * Instead of keepSynced(true) on the database root (which mirrors the whole backend),
+ * only app_config/ramadan, the content manifest and the current Ramadan window
+ * (yesterday, today, tomorrow for each content collection) are kept synced.
+ * applyForDay() moves the window as the Ramadan day advances.
+ */
+public class FirebaseSyncPolicy {
+
+    private static final String TAG = "FirebaseSyncPolicy";
+
+    // Offline persistence cache limit (Firebase allows 1 MB - 100 MB)
+    public static final long PERSISTENCE_CACHE_SIZE_BYTES = 10 * 1024 * 1024; // 10 MB
+
+    // Days kept synced on each side of the current Ramadan day
+    private static final int WINDOW_DAYS_BEFORE = 1;
+    private static final int WINDOW_DAYS_AFTER = 1;
+
+    private static final String[] DAY_COLLECTIONS = {
+            FirebaseHelper.COLLECTION_DAY_CONTENT,
+            FirebaseHelper.COLLECTION_AYAT,
+            FirebaseHelper.COLLECTION_HADITH
+    };
+
+    private static final String[] ALWAYS_SYNCED = {
+            FirebaseHelper.COLLECTION_APP_CONFIG + "/ramadan",
+            FirebaseHelper.COLLECTION_APP_CONFIG + "/content_manifest"
+    };
+
+    private static FirebaseSyncPolicy instance;
+
+    private final Set<String> syncedPaths = new HashSet<>();
+    private int appliedDay = -1;
+
+    public static synchronized FirebaseSyncPolicy getInstance() {
+        if (instance == null) {
+            instance = new FirebaseSyncPolicy();
+        }
+        return instance;
+    }
+
+    private FirebaseSyncPolicy() {
+    }
+
+    /**
+     * Sync the config subtrees plus the window around the given Ramadan day
+     * (day 0 = not Ramadan: config only). Only paths entering/leaving the window are touched.
+     */
+    public synchronized void applyForDay(int currentDay) {
+        if (currentDay == appliedDay) {
+            return;
+        }
+
+        Set<String> wanted = new HashSet<>();
+        for (String path : ALWAYS_SYNCED) {
+            wanted.add(path);
+        }
+
+        if (currentDay > 0) {
+            int fromDay = Math.max(1, currentDay - WINDOW_DAYS_BEFORE);
+            int toDay = Math.min(ContentSyncManager.TOTAL_DAYS, currentDay + WINDOW_DAYS_AFTER);
+            for (String collection : DAY_COLLECTIONS) {
+                for (int day = fromDay; day <= toDay; day++) {
+                    wanted.add(collection + "/day_" + day);
+                }
+            }
+        }
+
+        try {
+            FirebaseDatabase database = FirebaseDatabase.getInstance(FirebaseHelper.FIREBASE_URL);
+            int removed = 0;
+            int added = 0;
+
+            for (String path : new HashSet<>(syncedPaths)) {
+                if (!wanted.contains(path)) {
+                    database.getReference(path).keepSynced(false);
+                    syncedPaths.remove(path);
+                    removed++;
+                }
+            }
+
+            for (String path : wanted) {
+                if (syncedPaths.add(path)) {
+                    database.getReference(path).keepSynced(true);
+                    added++;
+                }
+            }
+
+            appliedDay = currentDay;
+            Log.d(TAG, "✅ Sync window for day " + currentDay + ": +" + added + " / -" + removed
+                    + " (" + syncedPaths.size() + " paths synced)");
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Error applying sync policy: " + e.getMessage());
+        }
+    }
+}
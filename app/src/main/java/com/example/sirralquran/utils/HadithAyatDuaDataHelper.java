@@ -4,272 +4,128 @@ import android.content.Context;
 import com.example.sirralquran.models.DailyHadith;
 import com.example.sirralquran.models.DailyAyah;
 import com.example.sirralquran.models.AshraDay;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 /**
- * ✅ UPDATED: Helper to load Hadith, Ayat, and Duas using existing models
+ * ✅ UPDATED: Recommendations over Hadith, Ayat, and Duas from AssetContentRepository
+ *
+ * Detail screens use the precomputed RelatedContentGraph (ranked related days per item).
  */
 public class HadithAyatDuaDataHelper {
 
-    private Context context;
-    private List<DailyHadith> allHadith;
-    private List<DailyAyah> allAyat;
-    private List<AshraDay> allDuas;
+    private final AssetContentRepository.Snapshot content;
+    private final RelatedContentGraph relatedGraph;
     private ViewedContentManager viewedManager;
 
-    public HadithAyatDuaDataHelper(Context context) {
-        this.context = context;
-        this.viewedManager = new ViewedContentManager(context);
-        loadHadithData();
-        loadAyatData();
-        loadDuaData();
-    }
-
     /**
-     * Load hadith from hadees.json
+     * Cheap to build: only wraps the shared snapshot and related graph, nothing is decoded here
      */
-    private void loadHadithData() {
-        allHadith = new ArrayList<>();
-
-        try {
-            InputStream is = context.getAssets().open("hadees.json");
-            int size = is.available();
-            byte[] buffer = new byte[size];
-            is.read(buffer);
-            is.close();
-
-            String json = new String(buffer, StandardCharsets.UTF_8);
-            JSONObject root = new JSONObject(json);
-            JSONArray hadithArray = root.getJSONArray("ramadan_hadith_30_days");
-
-            for (int i = 0; i < hadithArray.length(); i++) {
-                JSONObject obj = hadithArray.getJSONObject(i);
-
-                DailyHadith hadith = new DailyHadith();
-                hadith.setDayNumber(obj.getInt("day"));
-                hadith.setArabic(obj.getString("arabic"));
-                hadith.setEnglish(obj.getString("english"));
-                hadith.setReference(obj.getString("reference"));
-
-                allHadith.add(hadith);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    public HadithAyatDuaDataHelper(Context context, AssetContentRepository.Snapshot content,
+                                   RelatedContentGraph relatedGraph) {
+        this.content = content;
+        this.relatedGraph = relatedGraph;
+        this.viewedManager = new ViewedContentManager(context);
     }
 
+    // ============ RELATED CONTENT (precomputed) ============
+
     /**
-     * Load ayat from ayat.json
+     * Most related unviewed Hadith for an item (RelatedContentGraph.TYPE_*), else the most related one
      */
-    private void loadAyatData() {
-        allAyat = new ArrayList<>();
-
-        try {
-            InputStream is = context.getAssets().open("ayat.json");
-            int size = is.available();
-            byte[] buffer = new byte[size];
-            is.read(buffer);
-            is.close();
-
-            String json = new String(buffer, StandardCharsets.UTF_8);
-            JSONObject root = new JSONObject(json);
-            JSONArray ayatArray = root.getJSONArray("ramadan_ayat_30_days");
-
-            for (int i = 0; i < ayatArray.length(); i++) {
-                JSONObject obj = ayatArray.getJSONObject(i);
+    public DailyHadith getRelatedHadith(int sourceType, int sourceDay) {
+        return pickRelated(getRelatedHadithList(sourceType, sourceDay),
+                hadith -> viewedManager.isHadithViewed(hadith.getDayNumber()), content::getAllHadith);
+    }
 
-                DailyAyah ayat = new DailyAyah();
-                ayat.setDayNumber(obj.getInt("day"));
-                ayat.setArabic(obj.getString("arabic"));
-                ayat.setEnglish(obj.getString("english"));
-                ayat.setReference(obj.getString("reference"));
+    public DailyAyah getRelatedAyat(int sourceType, int sourceDay) {
+        return pickRelated(getRelatedAyatList(sourceType, sourceDay),
+                ayat -> viewedManager.isAyatViewed(ayat.getDayNumber()), content::getAllAyat);
+    }
 
-                allAyat.add(ayat);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    public AshraDay getRelatedDua(int sourceType, int sourceDay) {
+        return pickRelated(getRelatedDuaList(sourceType, sourceDay),
+                dua -> viewedManager.isDuaViewed(dua.getDayNumber()), content::getAllDuas);
     }
 
     /**
-     * Load duas from ashra.json
+     * Ranked related Hadith, best first (up to RelatedContentGraph.MAX_RELATED)
      */
-    private void loadDuaData() {
-        allDuas = new ArrayList<>();
-
-        try {
-            InputStream is = context.getAssets().open("ashra.json");
-            int size = is.available();
-            byte[] buffer = new byte[size];
-            is.read(buffer);
-            is.close();
-
-            String json = new String(buffer, StandardCharsets.UTF_8);
-            JSONArray duaArray = new JSONArray(json);
-
-            for (int i = 0; i < duaArray.length(); i++) {
-                JSONObject obj = duaArray.getJSONObject(i);
-
-                int dayNumber = obj.getInt("day");
-                String ashraName = obj.getString("ashra");
-
-                JSONObject duaObj = obj.getJSONObject("dua");
-                String duaArabic = duaObj.getString("arabic");
-                String duaTransliteration = duaObj.getString("transliteration");
-                String duaTranslation = duaObj.getString("translation");
-
-                int ashraNumber = getAshraNumber(ashraName);
-
-                AshraDay dua = new AshraDay(
-                        dayNumber,
-                        ashraNumber,
-                        "Dua for Day " + dayNumber,
-                        obj.getString("about_day"),
-                        ashraName,
-                        duaArabic,
-                        duaTransliteration,
-                        duaTranslation
-                );
-
-                allDuas.add(dua);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    public List<DailyHadith> getRelatedHadithList(int sourceType, int sourceDay) {
+        List<DailyHadith> related = new ArrayList<>();
+        for (int day : relatedGraph.getRelated(sourceType, sourceDay, RelatedContentGraph.TYPE_HADITH)) {
+            DailyHadith hadith = content.getHadith(day);
+            if (hadith != null) related.add(hadith);
         }
+        return related;
     }
 
-    private int getAshraNumber(String ashraName) {
-        if (ashraName.equalsIgnoreCase("Rehmah")) return 1;
-        if (ashraName.equalsIgnoreCase("Maghfirah")) return 2;
-        if (ashraName.equalsIgnoreCase("Naja'at")) return 3;
-        return 1;
+    public List<DailyAyah> getRelatedAyatList(int sourceType, int sourceDay) {
+        List<DailyAyah> related = new ArrayList<>();
+        for (int day : relatedGraph.getRelated(sourceType, sourceDay, RelatedContentGraph.TYPE_AYAH)) {
+            DailyAyah ayah = content.getAyah(day);
+            if (ayah != null) related.add(ayah);
+        }
+        return related;
     }
 
-    /**
-     * Get recommended Hadith based on keywords
-     */
-    public DailyHadith getRecommendedHadith(String[] keywords) {
-        List<DailyHadith> unviewedWithKeyword = new ArrayList<>();
-        List<DailyHadith> viewedWithKeyword = new ArrayList<>();
-        List<DailyHadith> unviewed = new ArrayList<>();
-
-        for (DailyHadith hadith : allHadith) {
-            boolean hasKeyword = containsKeyword(hadith.getArabic() + " " + hadith.getEnglish(), keywords);
-            boolean isViewed = viewedManager.isHadithViewed(hadith.getDayNumber());
-
-            if (hasKeyword && !isViewed) {
-                unviewedWithKeyword.add(hadith);
-            } else if (hasKeyword && isViewed) {
-                viewedWithKeyword.add(hadith);
-            } else if (!isViewed) {
-                unviewed.add(hadith);
-            }
+    public List<AshraDay> getRelatedDuaList(int sourceType, int sourceDay) {
+        List<AshraDay> related = new ArrayList<>();
+        for (int day : relatedGraph.getRelated(sourceType, sourceDay, RelatedContentGraph.TYPE_DUA)) {
+            AshraDay dua = content.getDua(day);
+            if (dua != null) related.add(dua);
         }
-
-        if (!unviewedWithKeyword.isEmpty()) return unviewedWithKeyword.get(0);
-        if (!viewedWithKeyword.isEmpty()) return viewedWithKeyword.get(0);
-        if (!unviewed.isEmpty()) return unviewed.get(new Random().nextInt(unviewed.size()));
-
-        return allHadith.isEmpty() ? null : allHadith.get(0);
+        return related;
     }
 
     /**
-     * Get recommended Ayat based on keywords
+     * First unviewed of the ranked list, else its top item; nothing related -> any unviewed item
+     * (only then is the full list decoded)
      */
-    public DailyAyah getRecommendedAyat(String[] keywords) {
-        List<DailyAyah> unviewedWithKeyword = new ArrayList<>();
-        List<DailyAyah> viewedWithKeyword = new ArrayList<>();
-        List<DailyAyah> unviewed = new ArrayList<>();
-
-        for (DailyAyah ayat : allAyat) {
-            boolean hasKeyword = containsKeyword(ayat.getArabic() + " " + ayat.getEnglish(), keywords);
-            boolean isViewed = viewedManager.isAyatViewed(ayat.getDayNumber());
-
-            if (hasKeyword && !isViewed) {
-                unviewedWithKeyword.add(ayat);
-            } else if (hasKeyword && isViewed) {
-                viewedWithKeyword.add(ayat);
-            } else if (!isViewed) {
-                unviewed.add(ayat);
-            }
+    private static <T> T pickRelated(List<T> ranked, ViewedCheck<T> isViewed, AllItems<T> all) {
+        for (T item : ranked) {
+            if (!isViewed.isViewed(item)) return item;
         }
-
-        if (!unviewedWithKeyword.isEmpty()) return unviewedWithKeyword.get(0);
-        if (!viewedWithKeyword.isEmpty()) return viewedWithKeyword.get(0);
-        if (!unviewed.isEmpty()) return unviewed.get(new Random().nextInt(unviewed.size()));
-
-        return allAyat.isEmpty() ? null : allAyat.get(0);
+        return !ranked.isEmpty() ? ranked.get(0) : pickUnviewed(all.get(), isViewed);
     }
 
     /**
-     * ✅ NEW: Get recommended Dua based on keywords
+     * Nothing related: a random unviewed item, else the first one
      */
-    public AshraDay getRecommendedDua(String[] keywords) {
-        List<AshraDay> unviewedWithKeyword = new ArrayList<>();
-        List<AshraDay> viewedWithKeyword = new ArrayList<>();
-        List<AshraDay> unviewed = new ArrayList<>();
-
-        for (AshraDay dua : allDuas) {
-            String searchText = dua.getDuaArabic() + " " + dua.getDuaTransliteration() + " " + dua.getDuaTranslation();
-            boolean hasKeyword = containsKeyword(searchText, keywords);
-            boolean isViewed = viewedManager.isDuaViewed(dua.getDayNumber());
-
-            if (hasKeyword && !isViewed) {
-                unviewedWithKeyword.add(dua);
-            } else if (hasKeyword && isViewed) {
-                viewedWithKeyword.add(dua);
-            } else if (!isViewed) {
-                unviewed.add(dua);
+    private static <T> T pickUnviewed(List<T> items, ViewedCheck<T> isViewed) {
+        List<T> unviewed = new ArrayList<>();
+        for (T item : items) {
+            if (!isViewed.isViewed(item)) {
+                unviewed.add(item);
             }
         }
 
-        if (!unviewedWithKeyword.isEmpty()) return unviewedWithKeyword.get(0);
-        if (!viewedWithKeyword.isEmpty()) return viewedWithKeyword.get(0);
         if (!unviewed.isEmpty()) return unviewed.get(new Random().nextInt(unviewed.size()));
-
-        return allDuas.isEmpty() ? null : allDuas.get(0);
-    }
-
-    private boolean containsKeyword(String searchText, String[] keywords) {
-        if (keywords == null || keywords.length == 0) return false;
-
-        String lowerText = searchText.toLowerCase();
-        for (String keyword : keywords) {
-            if (lowerText.contains(keyword.toLowerCase())) {
-                return true;
-            }
-        }
-        return false;
+        return items.isEmpty() ? null : items.get(0);
     }
 
     public DailyHadith getHadithByDay(int day) {
-        for (DailyHadith hadith : allHadith) {
-            if (hadith.getDayNumber() == day) return hadith;
-        }
-        return null;
+        return content.getHadith(day);
     }
 
     public DailyAyah getAyatByDay(int day) {
-        for (DailyAyah ayat : allAyat) {
-            if (ayat.getDayNumber() == day) return ayat;
-        }
-        return null;
+        return content.getAyah(day);
     }
 
     public AshraDay getDuaByDay(int day) {
-        for (AshraDay dua : allDuas) {
-            if (dua.getDayNumber() == day) return dua;
-        }
-        return null;
+        return content.getDua(day);
     }
 
     public ViewedContentManager getViewedManager() {
         return viewedManager;
     }
-}
\ No newline at end of file
+
+    private interface ViewedCheck<T> {
+        boolean isViewed(T item);
+    }
+
+    private interface AllItems<T> {
+        List<T> get();
+    }
+}
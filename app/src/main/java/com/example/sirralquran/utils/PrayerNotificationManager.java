@@ -13,13 +13,19 @@ import android.provider.Settings;
 import android.util.Log;
 import androidx.core.app.NotificationCompat;
 import com.example.sirralquran.R;
+import com.example.sirralquran.database.AlarmDatabaseHelper;
+import com.example.sirralquran.models.ArmedAlarm;
 import com.example.sirralquran.models.Prayer;
 import com.example.sirralquran.receivers.PrayerNotificationReceiver;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * ENHANCED Prayer Notification Manager with Custom Test
@@ -37,14 +43,32 @@ public class PrayerNotificationManager {
     private static final int REQUEST_CODE_ISHA = 500;
     private static final int REQUEST_CODE_TEST = 9999;
 
+    // Adhan alarms use the prayer's request code + 1 and fire this long before prayer time
+    private static final int ADHAN_REQUEST_CODE_OFFSET = 1;
+    private static final String ADHAN_KEY_SUFFIX = "#adhan";
+    private static final long ADHAN_PREPARE_LEAD_MS = 30 * 1000;
+
+    // Results of diffing one alarm against the armed schedule
+    private static final int DIFF_UNCHANGED = 0;
+    private static final int DIFF_ADDED = 1;
+    private static final int DIFF_MOVED = 2;
+    private static final int DIFF_SKIPPED = 3;
+
+    // Metrics
+    private static final String METRIC_OPS_LAST_REFRESH = "alarm.ops_last_refresh";
+    private static final String METRIC_OPS_TOTAL = "alarm.ops_total";
+    private static final String METRIC_REFRESH_COUNT = "alarm.refresh_count";
+
     private final Context context;
     private final AlarmManager alarmManager;
     private final NotificationManager notificationManager;
+    private final AlarmDatabaseHelper alarmStore;
 
     public PrayerNotificationManager(Context context) {
         this.context = context;
         this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
         this.notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        this.alarmStore = AlarmDatabaseHelper.getInstance(context);
 
         createNotificationChannel();
     }
@@ -97,6 +121,8 @@ public class PrayerNotificationManager {
 
     /**
      * Schedule all prayer notifications
+     * Diffs against the persisted armed schedule so only added, moved or removed
+     * alarms touch AlarmManager
      */
     public void scheduleAllPrayerNotifications(List<Prayer> prayers) {
         Log.d(TAG, "📅 ========================================");
@@ -109,69 +135,223 @@ public class PrayerNotificationManager {
             return;
         }
 
-        int scheduled = 0;
-        int skipped = 0;
+        Map<String, ArmedAlarm> armedAlarms = alarmStore.getArmedAlarms();
+        Set<String> wantedKeys = new HashSet<>();
+        long now = System.currentTimeMillis();
+
+        // Indexed by DIFF_* result
+        int[] counts = new int[4];
+        int removed = 0;
         int disabled = 0;
 
         for (Prayer prayer : prayers) {
             if (!prayer.hasNotification() || prayer.isCompleted()) {
                 disabled++;
-                cancelPrayerNotification(getRequestCodeForPrayer(prayer.getName()));
+                removed += cancelUntracked(armedAlarms, prayer.getName(),
+                        getRequestCodeForPrayer(prayer.getName()), null);
+                removed += cancelUntracked(armedAlarms, prayer.getName() + ADHAN_KEY_SUFFIX,
+                        getRequestCodeForPrayer(prayer.getName()) + ADHAN_REQUEST_CODE_OFFSET,
+                        PrayerNotificationReceiver.ACTION_PREPARE_ADHAN);
                 continue;
             }
 
-            boolean success = schedulePrayerNotification(prayer);
-            if (success) {
-                scheduled++;
-            } else {
-                skipped++;
+            Calendar prayerCal = parsePrayerTime(prayer.getTime());
+            if (prayerCal == null) {
+                Log.e(TAG, "   ❌ FAILED: Could not parse time: " + prayer.getTime());
+                counts[DIFF_SKIPPED]++;
+                continue;
             }
+
+            long prayerTime = prayerCal.getTimeInMillis();
+            long reminderAt = prayerTime - prayer.getNotificationOffset() * 60 * 1000L;
+            int payloadHash = getPayloadHash(prayer);
+
+            // Reminder notification (prayer time minus offset)
+            counts[syncAlarm(armedAlarms, wantedKeys, prayer.getName(),
+                    getRequestCodeForPrayer(prayer.getName()), reminderAt, payloadHash,
+                    createReminderIntent(prayer), now)]++;
+
+            // Adhan playback, prepared a little before prayer time
+            int adhanRequestCode = getRequestCodeForPrayer(prayer.getName()) + ADHAN_REQUEST_CODE_OFFSET;
+            counts[syncAlarm(armedAlarms, wantedKeys, prayer.getName() + ADHAN_KEY_SUFFIX,
+                    adhanRequestCode, prayerTime - ADHAN_PREPARE_LEAD_MS, getAdhanPayloadHash(prayer, prayerTime),
+                    createAdhanIntent(prayer, prayerTime), now)]++;
         }
 
-        Log.d(TAG, "📊 Summary: Scheduled=" + scheduled + ", Skipped=" + skipped + ", Disabled=" + disabled);
+        // Anything armed but no longer wanted: cancel if still pending, forget if already fired
+        for (ArmedAlarm alarm : armedAlarms.values()) {
+            if (wantedKeys.contains(alarm.getEventKey())) {
+                continue;
+            }
+
+            if (alarm.getTriggerAt() > now) {
+                cancelAlarm(alarm.getRequestCode(), getActionForEventKey(alarm.getEventKey()));
+                removed++;
+            }
+            alarmStore.deleteArmedAlarm(alarm.getEventKey());
+        }
+
+        int operations = counts[DIFF_ADDED] + counts[DIFF_MOVED] + removed;
+        AppMetrics.set(METRIC_OPS_LAST_REFRESH, operations);
+        AppMetrics.add(METRIC_OPS_TOTAL, operations);
+        AppMetrics.increment(METRIC_REFRESH_COUNT);
+
+        Log.d(TAG, "📊 Summary: Added=" + counts[DIFF_ADDED] + ", Moved=" + counts[DIFF_MOVED]
+                + ", Removed=" + removed + ", Unchanged=" + counts[DIFF_UNCHANGED]
+                + ", Skipped=" + counts[DIFF_SKIPPED] + ", Disabled=" + disabled);
+        Log.d(TAG, "📊 AlarmManager operations this refresh: " + operations);
         Log.d(TAG, "📅 ========================================");
     }
 
+    /**
+     * Arm one alarm unless the persisted schedule says it is already armed identically
+     *
+     * @return one of the DIFF_* results
+     */
+    private int syncAlarm(Map<String, ArmedAlarm> armedAlarms, Set<String> wantedKeys, String eventKey,
+                          int requestCode, long triggerAt, int payloadHash, Intent intent, long now) {
+        if (triggerAt <= now) {
+            return DIFF_SKIPPED;
+        }
+
+        wantedKeys.add(eventKey);
+
+        ArmedAlarm current = armedAlarms.get(eventKey);
+        if (current != null && current.isSameAs(triggerAt, payloadHash)
+                && isAlarmPending(requestCode, intent.getAction())) {
+            return DIFF_UNCHANGED;
+        }
+
+        Log.d(TAG, "🔔 Arming " + eventKey + " (code: " + requestCode + ")");
+        if (!setExactAlarm(requestCode, triggerAt, intent)) {
+            return DIFF_SKIPPED;
+        }
+
+        alarmStore.saveArmedAlarm(new ArmedAlarm(eventKey, requestCode, triggerAt, payloadHash));
+        return current == null ? DIFF_ADDED : DIFF_MOVED;
+    }
+
+    /**
+     * Cancel a disabled alarm that has no armed row but is still pending
+     * (armed before the schedule was persisted, e.g. right after an upgrade).
+     * Alarms with a row are cancelled by the cleanup pass instead.
+     *
+     * @return 1 if an alarm was cancelled, else 0
+     */
+    private int cancelUntracked(Map<String, ArmedAlarm> armedAlarms, String eventKey, int requestCode, String action) {
+        if (armedAlarms.containsKey(eventKey) || !isAlarmPending(requestCode, action)) {
+            return 0;
+        }
+
+        Log.d(TAG, "🔕 Cancelling untracked " + eventKey + " (code: " + requestCode + ")");
+        cancelAlarm(requestCode, action);
+        return 1;
+    }
+
     public boolean schedulePrayerNotification(Prayer prayer) {
-        try {
-            int requestCode = getRequestCodeForPrayer(prayer.getName());
+        Calendar prayerCal = parsePrayerTime(prayer.getTime());
 
-            Log.d(TAG, "");
-            Log.d(TAG, "🔔 Processing: " + prayer.getName() + " (" + prayer.getNameArabic() + ")");
-            Log.d(TAG, "   Request code: " + requestCode);
-            Log.d(TAG, "   Prayer time: " + prayer.getTime());
-            Log.d(TAG, "   Notification offset: " + prayer.getNotificationOffset() + " minutes");
+        if (prayerCal == null) {
+            Log.e(TAG, "   ❌ FAILED: Could not parse time: " + prayer.getTime());
+            return false;
+        }
 
-            Calendar prayerTime = parsePrayerTime(prayer.getTime());
+        prayerCal.add(Calendar.MINUTE, -prayer.getNotificationOffset());
+        long notificationTime = prayerCal.getTimeInMillis();
 
-            if (prayerTime == null) {
-                Log.e(TAG, "   ❌ FAILED: Could not parse time: " + prayer.getTime());
-                return false;
-            }
+        if (notificationTime <= System.currentTimeMillis()) {
+            Log.d(TAG, "   ⏭️ SKIPPED: " + prayer.getName() + " notification time has passed");
+            return false;
+        }
 
-            Calendar originalTime = (Calendar) prayerTime.clone();
-            prayerTime.add(Calendar.MINUTE, -prayer.getNotificationOffset());
+        int requestCode = getRequestCodeForPrayer(prayer.getName());
+        if (!setExactAlarm(requestCode, notificationTime, createReminderIntent(prayer))) {
+            return false;
+        }
 
-            SimpleDateFormat sdf = new SimpleDateFormat("hh:mm:ss a", Locale.ENGLISH);
-            Log.d(TAG, "   Original prayer time: " + sdf.format(originalTime.getTime()));
-            Log.d(TAG, "   Notification time: " + sdf.format(prayerTime.getTime()));
+        alarmStore.saveArmedAlarm(new ArmedAlarm(prayer.getName(), requestCode, notificationTime, getPayloadHash(prayer)));
+        return true;
+    }
 
-            long currentTime = System.currentTimeMillis();
-            long notificationTime = prayerTime.getTimeInMillis();
-            long timeDifference = notificationTime - currentTime;
+    /**
+     * Hash of everything carried in the reminder intent
+     */
+    private int getPayloadHash(Prayer prayer) {
+        return Objects.hash(
+                prayer.getName(),
+                prayer.getNameArabic(),
+                prayer.getTime(),
+                prayer.getNotificationOffset()
+        );
+    }
 
-            if (timeDifference < 0) {
-                Log.d(TAG, "   ⏭️ SKIPPED: Time passed " + Math.abs(timeDifference / 1000) + "s ago");
-                return false;
-            }
+    /**
+     * Hash of everything carried in the Adhan intent (the reminder offset doesn't move it)
+     */
+    private int getAdhanPayloadHash(Prayer prayer, long prayerTime) {
+        return Objects.hash(
+                prayer.getName(),
+                prayer.getNameArabic(),
+                prayerTime
+        );
+    }
 
+    /**
+     * Armed rows only keep the event key, which tells the two alarm kinds apart
+     */
+    private static String getActionForEventKey(String eventKey) {
+        return eventKey.endsWith(ADHAN_KEY_SUFFIX) ? PrayerNotificationReceiver.ACTION_PREPARE_ADHAN : null;
+    }
+
+    /**
+     * Base intent; Adhan alarms pass ACTION_PREPARE_ADHAN so their PendingIntents differ (null = reminder)
+     */
+    private Intent createAlarmIntent(String action) {
+        Intent intent = new Intent(context, PrayerNotificationReceiver.class);
+        if (action != null) {
+            intent.setAction(action);
+        }
+        return intent;
+    }
+
+    private Intent createReminderIntent(Prayer prayer) {
+        Intent intent = createAlarmIntent(null);
+        intent.putExtra("prayer_name", prayer.getName());
+        intent.putExtra("prayer_name_arabic", prayer.getNameArabic());
+        intent.putExtra("prayer_time", prayer.getTime());
+        intent.putExtra("notification_offset", prayer.getNotificationOffset());
+        return intent;
+    }
+
+    private Intent createAdhanIntent(Prayer prayer, long prayerTime) {
+        Intent intent = createAlarmIntent(PrayerNotificationReceiver.ACTION_PREPARE_ADHAN);
+        intent.putExtra("prayer_name", prayer.getName());
+        intent.putExtra("prayer_name_arabic", prayer.getNameArabic());
+        intent.putExtra("play_at", prayerTime);
+        return intent;
+    }
+
+    /**
+     * Check whether our PendingIntent still exists (it is gone after force-stop or cancel)
+     */
+    private boolean isAlarmPending(int requestCode, String action) {
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(
+                context,
+                requestCode,
+                createAlarmIntent(action),
+                PendingIntent.FLAG_NO_CREATE | PendingIntent.FLAG_IMMUTABLE
+        );
+        return pendingIntent != null;
+    }
+
+    private boolean setExactAlarm(int requestCode, long triggerAt, Intent intent) {
+        try {
+            SimpleDateFormat sdf = new SimpleDateFormat("hh:mm:ss a", Locale.ENGLISH);
+            long timeDifference = triggerAt - System.currentTimeMillis();
             Log.d(TAG, "   ⏰ Will fire in: " + (timeDifference / 1000) + " seconds (" + (timeDifference / 60000) + " minutes)");
 
-            Intent intent = new Intent(context, PrayerNotificationReceiver.class);
-            intent.putExtra("prayer_name", prayer.getName());
-            intent.putExtra("prayer_name_arabic", prayer.getNameArabic());
-            intent.putExtra("prayer_time", prayer.getTime());
-            intent.putExtra("notification_offset", prayer.getNotificationOffset());
+            // Scheduled time travels with the alarm so the receiver can measure delivery drift
+            intent.putExtra(PrayerNotificationReceiver.EXTRA_TRIGGER_AT, triggerAt);
 
             PendingIntent pendingIntent = PendingIntent.getBroadcast(
                     context,
@@ -180,31 +360,21 @@ public class PrayerNotificationManager {
                     PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
             );
 
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
                 alarmManager.setExactAndAllowWhileIdle(
                         AlarmManager.RTC_WAKEUP,
-                        notificationTime,
+                        triggerAt,
                         pendingIntent
                 );
-                Log.d(TAG, "   ✅ SCHEDULED (Android 12+)");
-            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-                alarmManager.setExactAndAllowWhileIdle(
-                        AlarmManager.RTC_WAKEUP,
-                        notificationTime,
-                        pendingIntent
-                );
-                Log.d(TAG, "   ✅ SCHEDULED (Android 6+)");
             } else {
                 alarmManager.setExact(
                         AlarmManager.RTC_WAKEUP,
-                        notificationTime,
+                        triggerAt,
                         pendingIntent
                 );
-                Log.d(TAG, "   ✅ SCHEDULED (Android <6)");
             }
 
-            Log.d(TAG, "   📌 Alarm set for: " + sdf.format(prayerTime.getTime()));
-
+            Log.d(TAG, "   📌 Alarm set for: " + sdf.format(new Date(triggerAt)));
             return true;
 
         } catch (Exception e) {
@@ -215,18 +385,26 @@ public class PrayerNotificationManager {
     }
 
     public void cancelPrayerNotification(int requestCode) {
-        Intent intent = new Intent(context, PrayerNotificationReceiver.class);
+        cancelAlarm(requestCode, null);
+    }
+
+    private void cancelAlarm(int requestCode, String action) {
         PendingIntent pendingIntent = PendingIntent.getBroadcast(
                 context,
                 requestCode,
-                intent,
+                createAlarmIntent(action),
                 PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
         );
 
         alarmManager.cancel(pendingIntent);
+        pendingIntent.cancel();
         Log.d(TAG, "❌ Cancelled notification (code: " + requestCode + ")");
     }
 
+    private void cancelAdhan(int prayerRequestCode) {
+        cancelAlarm(prayerRequestCode + ADHAN_REQUEST_CODE_OFFSET, PrayerNotificationReceiver.ACTION_PREPARE_ADHAN);
+    }
+
     public void cancelAllNotifications() {
         Log.d(TAG, "❌ Cancelling all notifications...");
         cancelPrayerNotification(REQUEST_CODE_FAJR);
@@ -234,6 +412,12 @@ public class PrayerNotificationManager {
         cancelPrayerNotification(REQUEST_CODE_ASR);
         cancelPrayerNotification(REQUEST_CODE_MAGHRIB);
         cancelPrayerNotification(REQUEST_CODE_ISHA);
+        cancelAdhan(REQUEST_CODE_FAJR);
+        cancelAdhan(REQUEST_CODE_DHUHR);
+        cancelAdhan(REQUEST_CODE_ASR);
+        cancelAdhan(REQUEST_CODE_MAGHRIB);
+        cancelAdhan(REQUEST_CODE_ISHA);
+        alarmStore.deleteAllArmedAlarms();
         Log.d(TAG, "✅ All notifications cancelled");
     }
 
@@ -289,6 +473,7 @@ public class PrayerNotificationManager {
         intent.putExtra("notification_offset", 0);
         intent.putExtra("is_test", true);
         intent.putExtra("test_message", message);
+        intent.putExtra(PrayerNotificationReceiver.EXTRA_TRIGGER_AT, triggerTime);
 
         PendingIntent pendingIntent = PendingIntent.getBroadcast(
                 context,
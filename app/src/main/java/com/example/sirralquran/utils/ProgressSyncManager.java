@@ -0,0 +1,464 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.example.sirralquran.controllers.AuthController;
+import com.example.sirralquran.controllers.RamadanManager;
+import com.example.sirralquran.database.SalahDatabaseHelper;
+import com.example.sirralquran.database.SyncDatabaseHelper;
+import com.example.sirralquran.models.JourneyProgress;
+import com.example.sirralquran.models.Prayer;
+import com.example.sirralquran.models.SyncField;
+import com.example.sirralquran.views.AshraDayDetailActivity;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline-first sync of the user's progress across devices
+ *
+ * - Local changes are recorded in SyncDatabaseHelper (the outbox) before anything is sent
+ * - The outbox is uploaded as ONE multi-path update under user_progress/<Firebase Auth UID>,
+ *   shortly after the last change or when the app goes to the background
+ * - On sign-in and app start the remote tree is read once and merged per field:
+ *   the newer timestamp wins, on either side
+ *
+ * Fields: journey completion, Salah completed/qaza, Ashra checklist and reflection, viewed items.
+ *
+ * Only runs with a signed-in Firebase Auth user. The database rules must limit the path to
+ * its owner, or anyone could read another user's reflections:
+ *   "user_progress": { "$uid": { ".read": "auth != null && auth.uid === $uid",
+ *                                ".write": "auth != null && auth.uid === $uid" } }
+ */
+public class ProgressSyncManager {
+
+    private static final String TAG = "ProgressSync";
+    private static final String PREFS_NAME = "SyncPrefs";
+    private static final String KEY_SEEDED_USER = "seeded_user";
+
+    // Changes within this window end up in the same upload
+    private static final long FLUSH_DELAY_MS = 30 * 1000;
+
+    // Timestamp for values that existed before sync (any real change wins over them)
+    private static final long SEED_TIMESTAMP = 1;
+
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_UPDATED_AT = "updated_at";
+
+    private static final Pattern JOURNEY_PATH = Pattern.compile("journey/day_(\\d+)/completed_at");
+    private static final Pattern SALAH_PATH = Pattern.compile("salah/([\\d-]+)/([^/]+)/(completed|qaza)");
+    private static final Pattern ASHRA_ACTION_PATH = Pattern.compile("ashra/day_(\\d+)/action_(\\d+)");
+    private static final Pattern ASHRA_REFLECTION_PATH = Pattern.compile("ashra/day_(\\d+)/reflection");
+    private static final Pattern VIEWED_PATH = Pattern.compile("viewed/(\\d)/day_(\\d+)");
+
+    private static final Pattern ASHRA_ACTION_KEY = Pattern.compile("day_(\\d+)_action_(\\d+)");
+    private static final Pattern ASHRA_REFLECTION_KEY = Pattern.compile("day_(\\d+)_reflection");
+
+    private static ProgressSyncManager instance;
+
+    private final Context context;
+    private final SyncDatabaseHelper store;
+    private final SharedPreferences prefs;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    // Only touched on the executor thread
+    private boolean flushInFlight = false;
+
+    public static synchronized ProgressSyncManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ProgressSyncManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ProgressSyncManager(Context context) {
+        this.context = context;
+        this.store = SyncDatabaseHelper.getInstance(context);
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    // ============ FIELD PATHS ============
+
+    public static String journeyPath(int day) {
+        return "journey/day_" + day + "/completed_at";
+    }
+
+    public static String salahPath(String date, String prayerName, boolean qaza) {
+        return "salah/" + date + "/" + prayerName + "/" + (qaza ? "qaza" : "completed");
+    }
+
+    public static String ashraActionPath(int day, int action) {
+        return "ashra/day_" + day + "/action_" + action;
+    }
+
+    public static String ashraReflectionPath(int day) {
+        return "ashra/day_" + day + "/reflection";
+    }
+
+    public static String viewedPath(int type, int day) {
+        return "viewed/" + type + "/day_" + day;
+    }
+
+    // ============ RECORDING ============
+
+    /**
+     * Record one local change (timestamped now) and schedule an upload
+     */
+    public void record(String path, Object value) {
+        Map<String, Object> values = new HashMap<>();
+        values.put(path, value);
+        recordAll(values);
+    }
+
+    /**
+     * Record several fields changed by one user action; they are stored in one transaction
+     */
+    public void recordAll(Map<String, Object> values) {
+        long now = System.currentTimeMillis();
+        List<SyncField> fields = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            fields.add(new SyncField(entry.getKey(), String.valueOf(entry.getValue()), now));
+        }
+        executor.execute(() -> store.recordLocal(fields));
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        mainHandler.removeCallbacks(flushRunnable);
+        mainHandler.postDelayed(flushRunnable, FLUSH_DELAY_MS);
+    }
+
+    // ============ LIFECYCLE ============
+
+    /**
+     * App start: merge with the signed-in user's remote progress, then upload the outbox
+     */
+    public void start() {
+        String userId = getUserId();
+        if (userId != null) {
+            executor.execute(() -> seedIfNeeded(userId));
+            pullAndMerge(userId);
+        }
+    }
+
+    public void onSignedIn() {
+        start();
+    }
+
+    /**
+     * Upload what's pending for the user signing out, then forget the synced state
+     * (local progress stays on the device)
+     *
+     * @param afterUpload runs on the main thread once the last upload is acknowledged (or failed)
+     */
+    public void onSignedOut(Runnable afterUpload) {
+        mainHandler.removeCallbacks(flushRunnable);
+        String userId = getUserId();
+        executor.execute(() -> {
+            if (userId != null) {
+                flushNow(userId, () -> mainHandler.post(afterUpload));
+            } else {
+                mainHandler.post(afterUpload);
+            }
+            store.deleteAll();
+            prefs.edit().remove(KEY_SEEDED_USER).apply();
+        });
+    }
+
+    /**
+     * Upload the outbox now (e.g. when the app goes to the background)
+     */
+    public void flush() {
+        mainHandler.removeCallbacks(flushRunnable);
+        String userId = getUserId();
+        if (userId != null) {
+            executor.execute(() -> flushNow(userId));
+        }
+    }
+
+    /**
+     * Firebase Auth UID, the only ID the database rules let read/write user_progress/<uid>
+     */
+    private String getUserId() {
+        if (!new AuthController(context).isLoggedIn()) {
+            return null;
+        }
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        return user != null ? user.getUid() : null;
+    }
+
+    private DatabaseReference userRef(String userId) {
+        return FirebaseDatabase.getInstance(FirebaseHelper.FIREBASE_URL)
+                .getReference(FirebaseHelper.COLLECTION_USER_PROGRESS)
+                .child(userId);
+    }
+
+    // ============ UPLOAD ============
+
+    /**
+     * All pending fields in one updateChildren(); rows changed while in flight stay pending
+     * Offline, Firebase queues the write and acknowledges it once connected.
+     */
+    private void flushNow(String userId) {
+        flushNow(userId, null);
+    }
+
+    /**
+     * @param onDone runs on the executor after the write completes, or right away if nothing is sent
+     */
+    private void flushNow(String userId, Runnable onDone) {
+        List<SyncField> pending = flushInFlight ? new ArrayList<>() : store.getPending();
+        if (pending.isEmpty()) {
+            if (onDone != null) onDone.run();
+            return;
+        }
+
+        Map<String, Object> updates = new HashMap<>();
+        for (SyncField field : pending) {
+            Map<String, Object> node = new HashMap<>();
+            node.put(FIELD_VALUE, field.getValue());
+            node.put(FIELD_UPDATED_AT, field.getUpdatedAt());
+            updates.put(field.getPath(), node);
+        }
+
+        try {
+            flushInFlight = true;
+            userRef(userId).updateChildren(updates, (error, ref) -> executor.execute(() -> {
+                flushInFlight = false;
+                if (onDone != null) onDone.run();
+                if (error != null) {
+                    Log.e(TAG, "❌ Upload failed, " + pending.size() + " fields stay queued: " + error.getMessage());
+                    return;
+                }
+                store.markSent(pending);
+                AppMetrics.increment("sync.uploads");
+                AppMetrics.add("sync.fields_uploaded", pending.size());
+                Log.d(TAG, "☁️ " + pending.size() + " fields uploaded in one write");
+
+                if (store.getPendingCount() > 0) {
+                    mainHandler.post(this::scheduleFlush);
+                }
+            }));
+            Log.d(TAG, "📤 Uploading " + pending.size() + " fields");
+        } catch (Exception e) {
+            flushInFlight = false;
+            if (onDone != null) onDone.run();
+            Log.e(TAG, "❌ Error starting upload: " + e.getMessage());
+        }
+    }
+
+    // ============ DOWNLOAD & MERGE ============
+
+    private void pullAndMerge(String userId) {
+        try {
+            userRef(userId).addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    Map<String, SyncField> remote = new HashMap<>();
+                    collectFields(snapshot, "", remote);
+                    executor.execute(() -> {
+                        merge(remote);
+                        flushNow(userId);
+                    });
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    Log.e(TAG, "❌ Remote progress read failed: " + error.getMessage());
+                    executor.execute(() -> flushNow(userId));
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "❌ Error reading remote progress: " + e.getMessage());
+        }
+    }
+
+    /** A node with updated_at is a field; anything else is a folder of fields */
+    private void collectFields(DataSnapshot node, String path, Map<String, SyncField> out) {
+        if (node.hasChild(FIELD_UPDATED_AT)) {
+            Long updatedAt = node.child(FIELD_UPDATED_AT).getValue(Long.class);
+            Object value = node.child(FIELD_VALUE).getValue();
+            if (updatedAt != null) {
+                out.put(path, new SyncField(path, value != null ? String.valueOf(value) : null, updatedAt));
+            }
+            return;
+        }
+        for (DataSnapshot child : node.getChildren()) {
+            collectFields(child, path.isEmpty() ? child.getKey() : path + "/" + child.getKey(), out);
+        }
+    }
+
+    /**
+     * Per-field last writer wins: newer remote values are applied locally,
+     * newer (or remote-missing) local values are queued for upload
+     */
+    private void merge(Map<String, SyncField> remote) {
+        Map<String, SyncField> local = store.getAllFields();
+        List<String> toUpload = new ArrayList<>();
+        int applied = 0;
+
+        for (SyncField remoteField : remote.values()) {
+            SyncField localField = local.get(remoteField.getPath());
+            if (remoteField.winsOver(localField)) {
+                store.saveRemote(remoteField);
+                if (applyToLocal(remoteField)) applied++;
+            } else if (localField.winsOver(remoteField)) {
+                toUpload.add(localField.getPath());
+            }
+        }
+
+        for (String path : local.keySet()) {
+            if (!remote.containsKey(path)) {
+                toUpload.add(path);
+            }
+        }
+        store.markPending(toUpload);
+
+        Log.d(TAG, "🔀 Merged " + remote.size() + " remote fields: " + applied + " applied, "
+                + toUpload.size() + " to upload");
+    }
+
+    /**
+     * Write a remote value into the store that owns it (without recording it again)
+     */
+    private boolean applyToLocal(SyncField field) {
+        String path = field.getPath();
+        String value = field.getValue();
+        try {
+            Matcher matcher = JOURNEY_PATH.matcher(path);
+            if (matcher.matches()) {
+                new RamadanManager(context).applyRemoteCompletion(
+                        Integer.parseInt(matcher.group(1)), Long.parseLong(value));
+                return true;
+            }
+
+            matcher = SALAH_PATH.matcher(path);
+            if (matcher.matches()) {
+                SalahDatabaseHelper.getInstance(context).applyRemoteStatus(matcher.group(1), matcher.group(2),
+                        "qaza".equals(matcher.group(3)), Boolean.parseBoolean(value));
+                return true;
+            }
+
+            SharedPreferences ashraPrefs = context.getSharedPreferences(
+                    AshraDayDetailActivity.PREFS_NAME, Context.MODE_PRIVATE);
+            matcher = ASHRA_ACTION_PATH.matcher(path);
+            if (matcher.matches()) {
+                ashraPrefs.edit().putBoolean(AshraDayDetailActivity.actionKey(
+                        Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))),
+                        Boolean.parseBoolean(value)).apply();
+                return true;
+            }
+
+            matcher = ASHRA_REFLECTION_PATH.matcher(path);
+            if (matcher.matches()) {
+                ashraPrefs.edit().putString(AshraDayDetailActivity.reflectionKey(
+                        Integer.parseInt(matcher.group(1))), value != null ? value : "").apply();
+                return true;
+            }
+
+            matcher = VIEWED_PATH.matcher(path);
+            if (matcher.matches()) {
+                new ViewedContentManager(context).applyRemoteViewed(Integer.parseInt(matcher.group(1)),
+                        Integer.parseInt(matcher.group(2)), Long.parseLong(value));
+                return true;
+            }
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "⚠️ Skipping malformed remote field " + path + "=" + value);
+            return false;
+        }
+
+        Log.w(TAG, "⚠️ Unknown remote field: " + path);
+        return false;
+    }
+
+    // ============ FIRST SYNC ============
+
+    /**
+     * Progress made before sync existed (or before signing in) goes into the outbox once per user
+     * Known timestamps are kept; the rest get SEED_TIMESTAMP so remote changes win over them.
+     */
+    private void seedIfNeeded(String userId) {
+        if (userId.equals(prefs.getString(KEY_SEEDED_USER, null))) {
+            return;
+        }
+
+        Map<String, SyncField> known = store.getAllFields();
+        List<SyncField> seed = new ArrayList<>();
+
+        // Journey
+        RamadanManager ramadanManager = new RamadanManager(context);
+        for (int day = 1; day <= JourneyProgress.DAYS; day++) {
+            if (ramadanManager.isDayCompleted(day)) {
+                long completedAt = ramadanManager.getDayCompletionTime(day);
+                addSeed(seed, known, journeyPath(day), String.valueOf(completedAt),
+                        completedAt > 0 ? completedAt : SEED_TIMESTAMP);
+            }
+        }
+
+        // Salah (only today's rows are kept locally)
+        String today = SalahDatabaseHelper.getTodayDate();
+        for (Prayer prayer : SalahDatabaseHelper.getInstance(context).getTodayPrayers()) {
+            if (prayer.isCompleted()) {
+                addSeed(seed, known, salahPath(today, prayer.getName(), false), "true", SEED_TIMESTAMP);
+            }
+            if (prayer.isQaza()) {
+                addSeed(seed, known, salahPath(today, prayer.getName(), true), "true", SEED_TIMESTAMP);
+            }
+        }
+
+        // Ashra checklist and reflections
+        Map<String, ?> ashra = context.getSharedPreferences(AshraDayDetailActivity.PREFS_NAME, Context.MODE_PRIVATE).getAll();
+        for (Map.Entry<String, ?> entry : ashra.entrySet()) {
+            Matcher action = ASHRA_ACTION_KEY.matcher(entry.getKey());
+            Matcher reflection = ASHRA_REFLECTION_KEY.matcher(entry.getKey());
+            if (action.matches() && Boolean.TRUE.equals(entry.getValue())) {
+                addSeed(seed, known, ashraActionPath(Integer.parseInt(action.group(1)),
+                        Integer.parseInt(action.group(2))), "true", SEED_TIMESTAMP);
+            } else if (reflection.matches() && entry.getValue() instanceof String
+                    && !((String) entry.getValue()).isEmpty()) {
+                addSeed(seed, known, ashraReflectionPath(Integer.parseInt(reflection.group(1))),
+                        (String) entry.getValue(), SEED_TIMESTAMP);
+            }
+        }
+
+        // Viewed Hadith / Ayat / Duas
+        ViewedContentManager viewed = new ViewedContentManager(context);
+        for (int type : new int[]{ViewedContentManager.TYPE_HADITH, ViewedContentManager.TYPE_AYAT,
+                ViewedContentManager.TYPE_DUA}) {
+            for (long bits = viewed.getViewedBits(type); bits != 0; bits &= bits - 1) {
+                int day = Long.numberOfTrailingZeros(bits);
+                long firstViewedAt = viewed.getFirstViewedAt(type, day);
+                addSeed(seed, known, viewedPath(type, day), String.valueOf(Math.max(firstViewedAt, SEED_TIMESTAMP)),
+                        firstViewedAt > 0 ? firstViewedAt : SEED_TIMESTAMP);
+            }
+        }
+
+        store.recordLocal(seed);
+        prefs.edit().putString(KEY_SEEDED_USER, userId).apply();
+        Log.d(TAG, "🌱 Seeded " + seed.size() + " existing progress fields for sync");
+    }
+
+    private void addSeed(List<SyncField> seed, Map<String, SyncField> known, String path, String value, long updatedAt) {
+        if (!known.containsKey(path)) {
+            seed.add(new SyncField(path, value, updatedAt));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.icu.util.IslamicCalendar;
+import android.util.Log;
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.RamadanStatus;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Ramadan flag and day derived on the device, no network needed
+ *
+ * - Hijri date from the Umm al-Qura calendar (android.icu, API 24+)
+ * - Shifted by a moon-sighting offset in days: the user's choice, or a default for
+ *   the device region where the month usually starts a day after Umm al-Qura
+ * - app_config overrides it when it can answer for today (see RamadanStatus.fromConfig)
+ */
+public class RamadanCalendar {
+
+    private static final String TAG = "RamadanCalendar";
+    private static final String PREFS_NAME = "RamadanCalendarPrefs";
+    private static final String KEY_SIGHTING_OFFSET = "sighting_offset";
+
+    // Range offered in Profile > Settings (R.array.moon_sighting_offsets)
+    public static final int MIN_OFFSET = -2;
+    public static final int MAX_OFFSET = 1;
+
+    // Local moon sighting usually one day behind Umm al-Qura
+    private static final Map<String, Integer> REGION_OFFSETS = new HashMap<>();
+    static {
+        REGION_OFFSETS.put("PK", -1);
+        REGION_OFFSETS.put("IN", -1);
+        REGION_OFFSETS.put("BD", -1);
+    }
+
+    private static RamadanCalendar instance;
+
+    private final SharedPreferences prefs;
+
+    public static synchronized RamadanCalendar getInstance(Context context) {
+        if (instance == null) {
+            instance = new RamadanCalendar(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private RamadanCalendar(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Status for the day of now: app_config when it can answer, otherwise the local Hijri date
+     */
+    public RamadanStatus resolve(AppConfig config, long now) {
+        RamadanStatus status = RamadanStatus.fromConfig(config, now);
+        return status != null ? status : fromHijri(now);
+    }
+
+    /**
+     * Status from the Umm al-Qura date shifted by the sighting offset
+     */
+    public RamadanStatus fromHijri(long now) {
+        IslamicCalendar hijri = new IslamicCalendar();
+        hijri.setCalculationType(IslamicCalendar.CalculationType.ISLAMIC_UMALQURA);
+        hijri.setTimeInMillis(now);
+        hijri.add(IslamicCalendar.DATE, getSightingOffset());
+
+        boolean ramadan = hijri.get(IslamicCalendar.MONTH) == IslamicCalendar.RAMADAN;
+        return new RamadanStatus(ramadan, hijri.get(IslamicCalendar.DAY_OF_MONTH), RamadanStatus.SOURCE_HIJRI);
+    }
+
+    /**
+     * Days added to the calculated date (-1 = month starts a day later here)
+     */
+    public int getSightingOffset() {
+        if (prefs.contains(KEY_SIGHTING_OFFSET)) {
+            return clamp(prefs.getInt(KEY_SIGHTING_OFFSET, 0));
+        }
+        return getRegionOffset(Locale.getDefault().getCountry());
+    }
+
+    /**
+     * Set by the user; use RamadanManager.setSightingOffset() so the status is re-resolved
+     */
+    public void setSightingOffset(int offset) {
+        int clamped = clamp(offset);
+        prefs.edit().putInt(KEY_SIGHTING_OFFSET, clamped).apply();
+        Log.d(TAG, "🌙 Moon sighting offset set to " + clamped + " day(s)");
+    }
+
+    private static int clamp(int offset) {
+        return Math.max(MIN_OFFSET, Math.min(MAX_OFFSET, offset));
+    }
+
+    public static int getRegionOffset(String country) {
+        Integer offset = REGION_OFFSETS.get(country);
+        return offset != null ? offset : 0;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.sirralquran.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed "related content" for every hadith, ayah, dua and lesson
+ *
+ * For each item and each content type, the top MAX_RELATED most similar days by TF-IDF cosine
+ * over TextNormalizer tokens. Stored as one flat byte array (day numbers, 0 = empty slot),
+ * so a lookup is an offset calculation. Plain Java so it can be built and tested on the JVM.
+ */
+public final class RelatedContentGraph {
+
+    // Content types
+    public static final int TYPE_HADITH = 0;
+    public static final int TYPE_AYAH = 1;
+    public static final int TYPE_DUA = 2;
+    public static final int TYPE_LESSON = 3;
+
+    public static final int MAX_RELATED = 5;
+
+    static final int TYPE_COUNT = 4;
+    static final int MAX_DAY = 30;
+
+    private static final int FORMAT_MAGIC = 0x52454C47; // "RELG"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int[] NO_DAYS = new int[0];
+
+    /** [((sourceType * (MAX_DAY + 1) + sourceDay) * TYPE_COUNT + targetType) * MAX_RELATED + rank] */
+    private final byte[] related;
+
+    /** One text to compare; text may be null (treated as empty) */
+    public static final class Document {
+        final int type;
+        final int day;
+        final String text;
+
+        public Document(int type, int day, String text) {
+            this.type = type;
+            this.day = day;
+            this.text = text;
+        }
+    }
+
+    private RelatedContentGraph(byte[] related) {
+        this.related = related;
+    }
+
+    /**
+     * Related days of targetType for one item, best first (may be shorter than MAX_RELATED)
+     * The item itself is never included.
+     */
+    public int[] getRelated(int sourceType, int sourceDay, int targetType) {
+        if (!isValid(sourceType, sourceDay) || targetType < 0 || targetType >= TYPE_COUNT) {
+            return NO_DAYS;
+        }
+        int base = offset(sourceType, sourceDay, targetType);
+        int count = 0;
+        while (count < MAX_RELATED && related[base + count] != 0) {
+            count++;
+        }
+        int[] days = new int[count];
+        for (int rank = 0; rank < count; rank++) {
+            days[rank] = related[base + rank];
+        }
+        return days;
+    }
+
+    private static int offset(int sourceType, int sourceDay, int targetType) {
+        return ((sourceType * (MAX_DAY + 1) + sourceDay) * TYPE_COUNT + targetType) * MAX_RELATED;
+    }
+
+    private static boolean isValid(int type, int day) {
+        return type >= 0 && type < TYPE_COUNT && day >= 1 && day <= MAX_DAY;
+    }
+
+    // ============ BUILD ============
+
+    /**
+     * Compare every document with every other one (about 120 documents, a few ms)
+     */
+    public static RelatedContentGraph build(List<Document> input) {
+        List<Document> documents = new ArrayList<>();
+        for (Document document : input) {
+            if (isValid(document.type, document.day)) {
+                documents.add(document);
+            }
+        }
+
+        // Term frequencies per document and document frequencies per term
+        List<Map<String, Integer>> termCounts = new ArrayList<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Document document : documents) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String token : TextNormalizer.tokenize(document.text)) {
+                Integer count = counts.get(token);
+                counts.put(token, count == null ? 1 : count + 1);
+            }
+            termCounts.add(counts);
+            for (String term : counts.keySet()) {
+                Integer df = documentFrequency.get(term);
+                documentFrequency.put(term, df == null ? 1 : df + 1);
+            }
+        }
+
+        // Unit-length TF-IDF vectors as postings: term -> (document, weight)
+        List<Map<String, Double>> vectors = new ArrayList<>();
+        Map<String, List<double[]>> postings = new HashMap<>();
+        int documentCount = documents.size();
+        for (int doc = 0; doc < documentCount; doc++) {
+            Map<String, Integer> counts = termCounts.get(doc);
+            Map<String, Double> weights = new HashMap<>();
+            double norm = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                double idf = Math.log((double) documentCount / documentFrequency.get(entry.getKey()));
+                double weight = (1 + Math.log(entry.getValue())) * idf;
+                if (weight > 0) {
+                    weights.put(entry.getKey(), weight);
+                    norm += weight * weight;
+                }
+            }
+            norm = Math.sqrt(norm);
+            for (Map.Entry<String, Double> entry : weights.entrySet()) {
+                entry.setValue(entry.getValue() / norm);
+                List<double[]> termPostings = postings.get(entry.getKey());
+                if (termPostings == null) {
+                    termPostings = new ArrayList<>();
+                    postings.put(entry.getKey(), termPostings);
+                }
+                termPostings.add(new double[]{doc, entry.getValue()});
+            }
+            vectors.add(weights);
+        }
+
+        byte[] related = new byte[TYPE_COUNT * (MAX_DAY + 1) * TYPE_COUNT * MAX_RELATED];
+        double[] similarity = new double[documentCount];
+        for (int doc = 0; doc < documentCount; doc++) {
+            // Cosine similarity against all documents sharing a term
+            Arrays.fill(similarity, 0);
+            for (Map.Entry<String, Double> entry : vectors.get(doc).entrySet()) {
+                for (double[] posting : postings.get(entry.getKey())) {
+                    similarity[(int) posting[0]] += entry.getValue() * posting[1];
+                }
+            }
+            similarity[doc] = 0;
+
+            Document source = documents.get(doc);
+            for (int targetType = 0; targetType < TYPE_COUNT; targetType++) {
+                fillTopRelated(related, offset(source.type, source.day, targetType),
+                        documents, similarity, targetType);
+            }
+        }
+        return new RelatedContentGraph(related);
+    }
+
+    /** Insertion into a MAX_RELATED-long ranking; ties go to the lower day */
+    private static void fillTopRelated(byte[] related, int base, List<Document> documents,
+                                       double[] similarity, int targetType) {
+        double[] topScores = new double[MAX_RELATED];
+        for (int doc = 0; doc < documents.size(); doc++) {
+            Document candidate = documents.get(doc);
+            double score = similarity[doc];
+            if (candidate.type != targetType || score <= 0) continue;
+
+            int rank = MAX_RELATED;
+            while (rank > 0 && (score > topScores[rank - 1]
+                    || (score == topScores[rank - 1] && candidate.day < related[base + rank - 1]))) {
+                rank--;
+            }
+            if (rank == MAX_RELATED) continue;
+
+            for (int i = MAX_RELATED - 1; i > rank; i--) {
+                topScores[i] = topScores[i - 1];
+                related[base + i] = related[base + i - 1];
+            }
+            topScores[rank] = score;
+            related[base + rank] = (byte) candidate.day;
+        }
+    }
+
+    // ============ PERSISTENCE ============
+
+    /**
+     * Write with a caller-chosen signature (changes when the source content changes)
+     */
+    public void writeTo(DataOutputStream out, long signature) throws IOException {
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(signature);
+        out.writeInt(related.length);
+        out.write(related);
+    }
+
+    /**
+     * Read a stored graph, or null if it's from another format or signature
+     */
+    public static RelatedContentGraph readFrom(DataInputStream in, long expectedSignature) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        if (in.readLong() != expectedSignature) {
+            return null;
+        }
+        int length = in.readInt();
+        if (length != TYPE_COUNT * (MAX_DAY + 1) * TYPE_COUNT * MAX_RELATED) {
+            return null;
+        }
+        byte[] related = new byte[length];
+        in.readFully(related);
+        return new RelatedContentGraph(related);
+    }
+}
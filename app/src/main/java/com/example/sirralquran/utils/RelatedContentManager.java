@@ -0,0 +1,226 @@
+package com.example.sirralquran.utils;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.example.sirralquran.database.ContentDatabaseHelper;
+import com.example.sirralquran.models.AshraDay;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owns the process-wide RelatedContentGraph
+ *
+ * - Built on first launch from the bundled content (base pack English and Arabic, whatever the
+ *   content language) plus synced lessons, saved to related_graph.bin
+ * - Later launches read the file (a few KB); rebuilt when the APK or the stored lessons change
+ * - Reloaded in the session when ContentSyncManager applies changed content (invalidate())
+ * - Delivered on the main thread, like AssetContentRepository
+ */
+public class RelatedContentManager {
+
+    private static final String TAG = "RelatedContentManager";
+    private static final String GRAPH_FILE = "related_graph.bin";
+
+    // Bumped when the graph's inputs change (2: base pack, not the active language)
+    private static final int GRAPH_CONTENT_VERSION = 2;
+
+    private static RelatedContentManager instance;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<OnGraphLoadedListener> waiting = new ArrayList<>();
+
+    private volatile RelatedContentGraph graph;
+    private boolean isLoading = false;
+    private boolean reloadPending = false;
+
+    public static synchronized RelatedContentManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new RelatedContentManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private RelatedContentManager(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Deliver the graph on the main thread (immediately when already loaded)
+     */
+    public void load(OnGraphLoadedListener listener) {
+        RelatedContentGraph loaded = graph;
+        if (loaded != null) {
+            listener.onLoaded(loaded);
+            return;
+        }
+
+        synchronized (this) {
+            if (graph != null) {
+                listener.onLoaded(graph);
+                return;
+            }
+            waiting.add(listener);
+            if (isLoading) {
+                return;
+            }
+            isLoading = true;
+        }
+
+        AssetContentRepository.getInstance(context).load(snapshot ->
+                new Thread(() -> publish(openOrBuild(snapshot.getBaseContent())), "RelatedContentLoader").start());
+    }
+
+    /**
+     * Drop the in-memory graph after synced content changed and reload it in the background
+     * The stored file is reused when its signature still matches, otherwise the graph is rebuilt.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            if (isLoading) {
+                reloadPending = true; // The load in flight may have read the old content
+                return;
+            }
+            graph = null;
+        }
+        Log.d(TAG, "🔄 Content changed, reloading related graph");
+        load(loaded -> { });
+    }
+
+    private void publish(RelatedContentGraph opened) {
+        List<OnGraphLoadedListener> toNotify;
+        boolean reload;
+        synchronized (this) {
+            graph = opened;
+            isLoading = false;
+            reload = reloadPending;
+            reloadPending = false;
+            toNotify = new ArrayList<>(waiting);
+            waiting.clear();
+        }
+
+        mainHandler.post(() -> {
+            for (OnGraphLoadedListener waiter : toNotify) {
+                waiter.onLoaded(opened);
+            }
+        });
+
+        if (reload) {
+            invalidate();
+        }
+    }
+
+    private RelatedContentGraph openOrBuild(AssetContentRepository.Snapshot snapshot) {
+        long start = System.currentTimeMillis();
+        ContentDatabaseHelper store = ContentDatabaseHelper.getInstance(context);
+        long signature = (getInstallStamp() * 31 + GRAPH_CONTENT_VERSION) * 31
+                + store.getVersions(ContentDatabaseHelper.TABLE_DAY_CONTENT).hashCode();
+
+        File file = new File(context.getFilesDir(), GRAPH_FILE);
+        RelatedContentGraph stored = readGraph(file, signature);
+        if (stored != null) {
+            Log.d(TAG, "📦 Related graph read in " + (System.currentTimeMillis() - start) + "ms");
+            return stored;
+        }
+
+        RelatedContentGraph built = RelatedContentGraph.build(collectDocuments(snapshot, store));
+        writeGraph(file, built, signature);
+        AppMetrics.set("related.build_ms", System.currentTimeMillis() - start);
+        Log.d(TAG, "✅ Related graph built in " + (System.currentTimeMillis() - start) + "ms");
+        return built;
+    }
+
+    private List<RelatedContentGraph.Document> collectDocuments(AssetContentRepository.Snapshot snapshot,
+                                                                ContentDatabaseHelper store) {
+        List<RelatedContentGraph.Document> documents = new ArrayList<>();
+
+        for (DailyHadith hadith : snapshot.getAllHadith()) {
+            documents.add(new RelatedContentGraph.Document(RelatedContentGraph.TYPE_HADITH,
+                    hadith.getDayNumber(), hadith.getArabic() + " " + hadith.getEnglish()));
+        }
+
+        for (DailyAyah ayah : snapshot.getAllAyat()) {
+            documents.add(new RelatedContentGraph.Document(RelatedContentGraph.TYPE_AYAH,
+                    ayah.getDayNumber(), ayah.getArabic() + " " + ayah.getEnglish()));
+        }
+
+        for (AshraDay dua : snapshot.getAllDuas()) {
+            documents.add(new RelatedContentGraph.Document(RelatedContentGraph.TYPE_DUA, dua.getDayNumber(),
+                    dua.getDuaArabic() + " " + dua.getDuaTransliteration() + " " + dua.getDuaTranslation()));
+        }
+
+        // Lessons only exist once synced from Firebase
+        RamadanDayContent[] lessons = store.getDayContentRange(1, RelatedContentGraph.MAX_DAY);
+        for (int day = 1; day <= RelatedContentGraph.MAX_DAY; day++) {
+            RamadanDayContent lesson = lessons[day];
+            if (lesson == null) continue;
+
+            StringBuilder text = new StringBuilder();
+            text.append(lesson.getCoreTheme()).append(' ').append(lesson.getExplanation());
+            if (lesson.getKeyTakeaways() != null) {
+                for (String takeaway : lesson.getKeyTakeaways()) {
+                    text.append(' ').append(takeaway);
+                }
+            }
+            text.append(' ').append(lesson.getReflectionQuestion());
+            documents.add(new RelatedContentGraph.Document(RelatedContentGraph.TYPE_LESSON, day, text.toString()));
+        }
+        return documents;
+    }
+
+    private RelatedContentGraph readGraph(File file, long signature) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return RelatedContentGraph.readFrom(in, signature);
+        } catch (IOException e) {
+            Log.w(TAG, "⚠️ Stored related graph unreadable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeGraph(File file, RelatedContentGraph built, long signature) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            built.writeTo(out, signature);
+        } catch (IOException e) {
+            Log.e(TAG, "❌ Failed to save related graph: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "❌ Failed to replace related graph file");
+            temp.delete();
+        }
+    }
+
+    /**
+     * Changes whenever the APK (and so its bundled assets) is updated
+     */
+    private long getInstallStamp() {
+        try {
+            return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return 0;
+        }
+    }
+
+    public interface OnGraphLoadedListener {
+        void onLoaded(RelatedContentGraph graph);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sirralquran.utils;
+
+/**
+ * BM25 relevance of one FTS4 match from matchinfo(table, 'pcnalx')
+ *
+ * Android's SQLite has FTS4 but no ranking function, so the score is computed from the
+ * matchinfo blob (decoded to ints) for every match and the matches are sorted in Java.
+ * Plain Java so it can be tested on the JVM.
+ */
+public final class SearchRanker {
+
+    public static final String MATCHINFO_FORMAT = "pcnalx";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private SearchRanker() {
+    }
+
+    /**
+     * @param info          matchinfo 'pcnalx': phrases, columns, rows, avg column lengths,
+     *                      this row's column lengths, then 3 ints per phrase/column
+     * @param columnWeights weight per column (0 = column doesn't count)
+     */
+    public static double score(int[] info, double[] columnWeights) {
+        int phrases = info[0];
+        int columns = info[1];
+        int rows = info[2];
+        int avgOffset = 3;
+        int lengthOffset = avgOffset + columns;
+        int hitsOffset = lengthOffset + columns;
+
+        double score = 0;
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns && column < columnWeights.length; column++) {
+                double weight = columnWeights[column];
+                int base = hitsOffset + 3 * (phrase * columns + column);
+                int hits = info[base];
+                if (weight == 0 || hits == 0) continue;
+
+                int docsWithHits = info[base + 2];
+                double idf = Math.log(1 + (rows - docsWithHits + 0.5) / (docsWithHits + 0.5));
+                double avgLength = Math.max(1, info[avgOffset + column]);
+                double lengthNorm = 1 - B + B * info[lengthOffset + column] / avgLength;
+                score += weight * idf * hits * (K1 + 1) / (hits + K1 * lengthNorm);
+            }
+        }
+        return score;
+    }
+}
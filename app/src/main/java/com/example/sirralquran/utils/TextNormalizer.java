@@ -0,0 +1,155 @@
+package com.example.sirralquran.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by the related-content graph and full-text search
+ *
+ * Arabic: harakat, Quranic marks and tatweel removed, alef variants (أ إ آ ٱ) unified to ا,
+ * leading definite article (ال / وال / بال ...) dropped from longer words.
+ * English: lower-cased, common stop words skipped, light suffix stemming.
+ * Plain Java so it can be tested on the JVM.
+ */
+public final class TextNormalizer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final String[] ARABIC_ARTICLES = {"وال", "بال", "فال", "كال", "لل", "ال"};
+
+    private static final String[] ENGLISH_SUFFIXES = {"ingly", "edly", "ness", "ment", "ful", "ing", "ed", "ly", "es", "s"};
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "the", "and", "of", "to", "a", "an", "in", "is", "for", "that", "with", "on", "as", "by",
+            "be", "it", "he", "his", "who", "you", "your", "are", "was", "were", "will", "from", "has",
+            "have", "not", "or", "at", "this", "which", "they", "them", "their", "we", "our", "us"
+    ));
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normalized tokens in text order (duplicates kept, for term frequencies)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        // Marks must go before splitting: they aren't letters and would break words apart
+        String cleaned = stripArabicMarks(text);
+
+        int start = -1;
+        for (int i = 0; i <= cleaned.length(); i++) {
+            boolean isWordChar = i < cleaned.length() && Character.isLetterOrDigit(cleaned.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                String token = normalizeWord(cleaned.substring(start, i));
+                if (token != null) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalizeWord(String word) {
+        String token = isArabic(word) ? normalizeArabicWord(word) : normalizeEnglishWord(word);
+        return token != null && token.length() >= MIN_TOKEN_LENGTH ? token : null;
+    }
+
+    // ============ ARABIC ============
+
+    /**
+     * Text with Arabic marks and tatweel removed and alef unified, otherwise unchanged
+     * (readable form stored in the search table)
+     */
+    public static String stripArabicMarks(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '\u064B' && c <= '\u065F')     // harakat, tanween, shadda, sukun
+                    || c == '\u0670'                  // superscript alef
+                    || (c >= '\u06D6' && c <= '\u06ED') // Quranic annotation marks
+                    || c == '\u0640') {               // tatweel
+                continue;
+            }
+            builder.append(unifyAlef(c));
+        }
+        return builder.toString();
+    }
+
+    private static char unifyAlef(char c) {
+        switch (c) {
+            case '\u0622': // alef with madda
+            case '\u0623': // alef with hamza above
+            case '\u0625': // alef with hamza below
+            case '\u0671': // alef wasla
+                return '\u0627';
+            default:
+                return c;
+        }
+    }
+
+    private static String normalizeArabicWord(String word) {
+        for (String article : ARABIC_ARTICLES) {
+            if (word.startsWith(article) && word.length() - article.length() >= 3) {
+                return word.substring(article.length());
+            }
+        }
+        return word;
+    }
+
+    private static boolean isArabic(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= '\u0600' && c <= '\u06FF') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ============ ENGLISH ============
+
+    private static String normalizeEnglishWord(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        if (STOP_WORDS.contains(lower)) {
+            return null;
+        }
+        return stem(lower);
+    }
+
+    /**
+     * Light suffix stripping; only has to be consistent between index and query
+     */
+    static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        String stem = word;
+        for (String suffix : ENGLISH_SUFFIXES) {
+            if (suffix.equals("s") && word.endsWith("ss")) continue; // kindness -> kind, but not bless -> bles
+            if (word.endsWith(suffix) && word.length() - suffix.length() >= 3) {
+                stem = word.substring(0, word.length() - suffix.length());
+                break;
+            }
+        }
+
+        // forgive / forgiving / forgiveness -> forgiv
+        if (stem.length() > 4 && stem.endsWith("e")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+}
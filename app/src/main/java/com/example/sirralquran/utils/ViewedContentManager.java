@@ -2,98 +2,175 @@ package com.example.sirralquran.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * ✅ UPDATED: Manager to track viewed Hadith, Ayat, AND Duas
+ *
+ * Viewed days are one in-memory bitset (a long) per content type, shared by every instance
+ * in the process, so isXViewed() is a single bit test. Each item also keeps its first-viewed
+ * time and view count. Changes are written back to prefs once, shortly after the last mark.
  */
 public class ViewedContentManager {
 
+    private static final String TAG = "ViewedContentManager";
     private static final String PREFS_NAME = "ViewedContent";
+
+    // Legacy StringSet keys (migrated into the bitsets on first load)
     private static final String KEY_VIEWED_HADITH = "viewed_hadith_";
     private static final String KEY_VIEWED_AYAT = "viewed_ayat_";
     private static final String KEY_VIEWED_DUA = "viewed_dua_"; // NEW
 
-    private SharedPreferences prefs;
-    private Context context;
+    private static final String KEY_BITS_PREFIX = "viewed_bits_";
+    private static final String KEY_STATS_PREFIX = "viewed_stats_";
+
+    // Content types
+    public static final int TYPE_HADITH = 0;
+    public static final int TYPE_AYAT = 1;
+    public static final int TYPE_DUA = 2;
+
+    private static final String[] TYPE_NAMES = {"hadith", "ayat", "dua"};
+    private static final String[] LEGACY_KEYS = {KEY_VIEWED_HADITH, KEY_VIEWED_AYAT, KEY_VIEWED_DUA};
+
+    /** Days 1..63 fit in one long */
+    private static final int MAX_DAY = 63;
+    private static final int TOTAL_ITEMS = 30 + 30 + 30; // 30 Hadith + 30 Ayat + 30 Duas
+    private static final long WRITE_DELAY_MS = 2000;
+
+    private static ViewedState state;
+
+    private final Context context;
+    private final ViewedState viewed;
 
     public ViewedContentManager(Context context) {
-        this.context = context;
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.context = context.getApplicationContext();
+        this.viewed = getState(context);
+    }
+
+    private static synchronized ViewedState getState(Context context) {
+        if (state == null) {
+            state = new ViewedState(context.getApplicationContext()
+                    .getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE));
+        }
+        return state;
+    }
+
+    /**
+     * Write pending changes now (e.g. when the app goes to the background)
+     */
+    public static void flush() {
+        ViewedState current;
+        synchronized (ViewedContentManager.class) {
+            current = state;
+        }
+        if (current != null) {
+            current.flush();
+        }
     }
 
     // ============ HADITH TRACKING ============
 
     public void markHadithAsViewed(int hadithDay) {
-        Set<String> viewedHadith = getViewedHadith();
-        viewedHadith.add(String.valueOf(hadithDay));
-        prefs.edit().putStringSet(KEY_VIEWED_HADITH, viewedHadith).apply();
+        mark(TYPE_HADITH, hadithDay);
     }
 
     public boolean isHadithViewed(int hadithDay) {
-        Set<String> viewedHadith = getViewedHadith();
-        return viewedHadith.contains(String.valueOf(hadithDay));
+        return viewed.isViewed(TYPE_HADITH, hadithDay);
     }
 
     public Set<String> getViewedHadith() {
-        return new HashSet<>(prefs.getStringSet(KEY_VIEWED_HADITH, new HashSet<>()));
+        return toDaySet(viewed.getBits(TYPE_HADITH));
     }
 
     public int getViewedHadithCount() {
-        return getViewedHadith().size();
+        return Long.bitCount(viewed.getBits(TYPE_HADITH));
     }
 
     // ============ AYAT TRACKING ============
 
     public void markAyatAsViewed(int ayatDay) {
-        Set<String> viewedAyat = getViewedAyat();
-        viewedAyat.add(String.valueOf(ayatDay));
-        prefs.edit().putStringSet(KEY_VIEWED_AYAT, viewedAyat).apply();
+        mark(TYPE_AYAT, ayatDay);
     }
 
     public boolean isAyatViewed(int ayatDay) {
-        Set<String> viewedAyat = getViewedAyat();
-        return viewedAyat.contains(String.valueOf(ayatDay));
+        return viewed.isViewed(TYPE_AYAT, ayatDay);
     }
 
     public Set<String> getViewedAyat() {
-        return new HashSet<>(prefs.getStringSet(KEY_VIEWED_AYAT, new HashSet<>()));
+        return toDaySet(viewed.getBits(TYPE_AYAT));
     }
 
     public int getViewedAyatCount() {
-        return getViewedAyat().size();
+        return Long.bitCount(viewed.getBits(TYPE_AYAT));
     }
 
     // ============ DUA TRACKING (NEW) ============
 
     public void markDuaAsViewed(int duaDay) {
-        Set<String> viewedDua = getViewedDua();
-        viewedDua.add(String.valueOf(duaDay));
-        prefs.edit().putStringSet(KEY_VIEWED_DUA, viewedDua).apply();
+        mark(TYPE_DUA, duaDay);
     }
 
     public boolean isDuaViewed(int duaDay) {
-        Set<String> viewedDua = getViewedDua();
-        return viewedDua.contains(String.valueOf(duaDay));
+        return viewed.isViewed(TYPE_DUA, duaDay);
     }
 
     public Set<String> getViewedDua() {
-        return new HashSet<>(prefs.getStringSet(KEY_VIEWED_DUA, new HashSet<>()));
+        return toDaySet(viewed.getBits(TYPE_DUA));
     }
 
     public int getViewedDuaCount() {
-        return getViewedDua().size();
+        return Long.bitCount(viewed.getBits(TYPE_DUA));
+    }
+
+    /** First view of an item is synced to the user's other devices; later views stay local */
+    private void mark(int type, int day) {
+        long firstViewedAt = viewed.mark(type, day);
+        if (firstViewedAt > 0) {
+            ProgressSyncManager.getInstance(context).record(ProgressSyncManager.viewedPath(type, day), firstViewedAt);
+        }
+    }
+
+    /**
+     * Item viewed on another device (viewed state only grows; not recorded again)
+     */
+    public void applyRemoteViewed(int type, int day, long firstViewedAt) {
+        if (type >= 0 && type < TYPE_NAMES.length) {
+            viewed.applyRemote(type, day, firstViewedAt);
+        }
+    }
+
+    // ============ PER-ITEM STATS ============
+
+    /**
+     * When the item was first opened (millis), or 0 if never
+     */
+    public long getFirstViewedAt(int type, int day) {
+        return viewed.getFirstViewedAt(type, day);
+    }
+
+    /**
+     * How many times the item was opened
+     */
+    public int getViewCount(int type, int day) {
+        return viewed.getViewCount(type, day);
+    }
+
+    /**
+     * Viewed days of one type as a bitset (bit N = day N)
+     */
+    public long getViewedBits(int type) {
+        return viewed.getBits(type);
     }
 
     // ============ RESET & STATS ============
 
     public void resetAllViewed() {
-        prefs.edit()
-                .remove(KEY_VIEWED_HADITH)
-                .remove(KEY_VIEWED_AYAT)
-                .remove(KEY_VIEWED_DUA)
-                .apply();
+        viewed.reset();
     }
 
     public int getTotalViewedCount() {
@@ -101,8 +178,206 @@ public class ViewedContentManager {
     }
 
     public float getCompletionPercentage() {
-        int total = 30 + 30 + 30; // 30 Hadith + 30 Ayat + 30 Duas
-        int viewed = getTotalViewedCount();
-        return (viewed * 100f) / total;
+        int viewedItems = getTotalViewedCount();
+        return (viewedItems * 100f) / TOTAL_ITEMS;
+    }
+
+    private static Set<String> toDaySet(long bits) {
+        Set<String> days = new HashSet<>();
+        for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+            days.add(String.valueOf(Long.numberOfTrailingZeros(remaining)));
+        }
+        return days;
+    }
+
+    /**
+     * Process-wide viewed state with coalesced write-behind
+     *
+     * Stats are stored per type as "day:firstViewedAt:count,..." for viewed days only.
+     */
+    private static final class ViewedState {
+
+        private final SharedPreferences prefs;
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+        private final Runnable flushRunnable = this::flush;
+
+        private final long[] bits = new long[TYPE_NAMES.length];
+        private final long[][] firstViewedAt = new long[TYPE_NAMES.length][MAX_DAY + 1];
+        private final int[][] viewCounts = new int[TYPE_NAMES.length][MAX_DAY + 1];
+        private boolean dirty = false;
+        private boolean needsLegacyCleanup = false;
+
+        ViewedState(SharedPreferences prefs) {
+            this.prefs = prefs;
+            load();
+            if (dirty) {
+                scheduleFlush(); // persist a legacy migration
+            }
+        }
+
+        synchronized boolean isViewed(int type, int day) {
+            return isValidDay(day) && (bits[type] & (1L << day)) != 0;
+        }
+
+        synchronized long getBits(int type) {
+            return bits[type];
+        }
+
+        synchronized long getFirstViewedAt(int type, int day) {
+            return isValidDay(day) ? firstViewedAt[type][day] : 0;
+        }
+
+        synchronized int getViewCount(int type, int day) {
+            return isValidDay(day) ? viewCounts[type][day] : 0;
+        }
+
+        /** @return first-viewed time if this is the item's first view, else 0 */
+        long mark(int type, int day) {
+            if (!isValidDay(day)) {
+                Log.w(TAG, "⚠️ Ignoring " + TYPE_NAMES[type] + " day out of range: " + day);
+                return 0;
+            }
+            long firstView;
+            synchronized (this) {
+                boolean isFirstView = (bits[type] & (1L << day)) == 0;
+                bits[type] |= 1L << day;
+                if (firstViewedAt[type][day] == 0) {
+                    firstViewedAt[type][day] = System.currentTimeMillis();
+                }
+                firstView = isFirstView ? firstViewedAt[type][day] : 0;
+                viewCounts[type][day]++;
+                dirty = true;
+            }
+            scheduleFlush();
+            return firstView;
+        }
+
+        /** Keeps the earliest first-viewed time across devices */
+        void applyRemote(int type, int day, long remoteFirstViewedAt) {
+            if (!isValidDay(day)) {
+                return;
+            }
+            synchronized (this) {
+                bits[type] |= 1L << day;
+                long local = firstViewedAt[type][day];
+                if (remoteFirstViewedAt > 0 && (local == 0 || remoteFirstViewedAt < local)) {
+                    firstViewedAt[type][day] = remoteFirstViewedAt;
+                }
+                viewCounts[type][day] = Math.max(viewCounts[type][day], 1);
+                dirty = true;
+            }
+            scheduleFlush();
+        }
+
+        void reset() {
+            synchronized (this) {
+                for (int type = 0; type < TYPE_NAMES.length; type++) {
+                    bits[type] = 0;
+                    Arrays.fill(firstViewedAt[type], 0);
+                    Arrays.fill(viewCounts[type], 0);
+                }
+                dirty = true;
+            }
+            flush();
+        }
+
+        /** Marks made within WRITE_DELAY_MS of each other end up in one prefs write */
+        private void scheduleFlush() {
+            mainHandler.removeCallbacks(flushRunnable);
+            mainHandler.postDelayed(flushRunnable, WRITE_DELAY_MS);
+        }
+
+        void flush() {
+            mainHandler.removeCallbacks(flushRunnable);
+
+            SharedPreferences.Editor editor;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                editor = prefs.edit();
+                for (int type = 0; type < TYPE_NAMES.length; type++) {
+                    editor.putLong(KEY_BITS_PREFIX + TYPE_NAMES[type], bits[type]);
+                    editor.putString(KEY_STATS_PREFIX + TYPE_NAMES[type], encodeStats(type));
+                }
+                if (needsLegacyCleanup) {
+                    for (String legacyKey : LEGACY_KEYS) {
+                        editor.remove(legacyKey);
+                    }
+                    needsLegacyCleanup = false;
+                }
+                dirty = false;
+            }
+            editor.apply();
+            Log.d(TAG, "💾 Viewed state saved");
+        }
+
+        private void load() {
+            for (int type = 0; type < TYPE_NAMES.length; type++) {
+                String bitsKey = KEY_BITS_PREFIX + TYPE_NAMES[type];
+                if (prefs.contains(bitsKey)) {
+                    bits[type] = prefs.getLong(bitsKey, 0);
+                    decodeStats(type, prefs.getString(KEY_STATS_PREFIX + TYPE_NAMES[type], ""));
+                } else {
+                    migrateLegacy(type);
+                }
+            }
+        }
+
+        /** Old StringSet of day numbers -> bits; first-viewed time unknown, count 1 */
+        private void migrateLegacy(int type) {
+            Set<String> legacy = prefs.getStringSet(LEGACY_KEYS[type], null);
+            if (legacy == null) {
+                return;
+            }
+            for (String dayText : legacy) {
+                try {
+                    int day = Integer.parseInt(dayText);
+                    if (isValidDay(day)) {
+                        bits[type] |= 1L << day;
+                        viewCounts[type][day] = 1;
+                    }
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "⚠️ Skipping invalid viewed day: " + dayText);
+                }
+            }
+            dirty = true;
+            needsLegacyCleanup = true;
+            Log.d(TAG, "🔄 Migrated " + legacy.size() + " viewed " + TYPE_NAMES[type] + " from legacy set");
+        }
+
+        private String encodeStats(int type) {
+            StringBuilder builder = new StringBuilder();
+            for (long remaining = bits[type]; remaining != 0; remaining &= remaining - 1) {
+                int day = Long.numberOfTrailingZeros(remaining);
+                if (builder.length() > 0) builder.append(',');
+                builder.append(day).append(':')
+                        .append(firstViewedAt[type][day]).append(':')
+                        .append(viewCounts[type][day]);
+            }
+            return builder.toString();
+        }
+
+        private void decodeStats(int type, String encoded) {
+            if (encoded == null || encoded.isEmpty()) {
+                return;
+            }
+            for (String entry : encoded.split(",")) {
+                String[] parts = entry.split(":");
+                if (parts.length != 3) continue;
+                try {
+                    int day = Integer.parseInt(parts[0]);
+                    if (!isValidDay(day)) continue;
+                    firstViewedAt[type][day] = Long.parseLong(parts[1]);
+                    viewCounts[type][day] = Integer.parseInt(parts[2]);
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "⚠️ Skipping invalid viewed stats: " + entry);
+                }
+            }
+        }
+
+        private static boolean isValidDay(int day) {
+            return day >= 1 && day <= MAX_DAY;
+        }
     }
-}
\ No newline at end of file
+}
@@ -13,6 +13,7 @@ import android.view.View;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import com.example.sirralquran.R;
+import com.example.sirralquran.utils.ProgressSyncManager;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
@@ -25,7 +26,7 @@ import java.util.List;
 public class AshraDayDetailActivity extends AppCompatActivity {
 
     private static final String TAG = "AshraDayDetail";
-    private static final String PREFS_NAME = "AshraDayPrefs";
+    public static final String PREFS_NAME = "AshraDayPrefs";
 
     // Intent extras
     private int dayNumber;
@@ -290,10 +291,27 @@ public class AshraDayDetailActivity extends AppCompatActivity {
         startActivity(intent);
     }
 
+    /**
+     * Prefs keys, shared with ProgressSyncManager
+     */
+    public static String actionKey(int day, int actionNumber) {
+        return "day_" + day + "_action_" + actionNumber;
+    }
+
+    public static String reflectionKey(int day) {
+        return "day_" + day + "_reflection";
+    }
+
     private void saveCheckboxState(int actionNumber, boolean checked) {
+        String key = actionKey(dayNumber, actionNumber);
+        if (prefs.getBoolean(key, false) == checked) {
+            return; // Restoring saved state, not a change
+        }
         prefs.edit()
-                .putBoolean("day_" + dayNumber + "_action_" + actionNumber, checked)
+                .putBoolean(key, checked)
                 .apply();
+        ProgressSyncManager.getInstance(this).record(
+                ProgressSyncManager.ashraActionPath(dayNumber, actionNumber), checked);
     }
 
     private void updateProgress() {
@@ -317,20 +335,21 @@ public class AshraDayDetailActivity extends AppCompatActivity {
         }
 
         prefs.edit()
-                .putString("day_" + dayNumber + "_reflection", reflection)
+                .putString(reflectionKey(dayNumber), reflection)
                 .apply();
+        ProgressSyncManager.getInstance(this).record(ProgressSyncManager.ashraReflectionPath(dayNumber), reflection);
 
         Toast.makeText(this, "Reflection saved ✓", Toast.LENGTH_SHORT).show();
     }
 
     private void loadSavedData() {
-        action1Checkbox.setChecked(prefs.getBoolean("day_" + dayNumber + "_action_1", false));
-        action2Checkbox.setChecked(prefs.getBoolean("day_" + dayNumber + "_action_2", false));
-        action3Checkbox.setChecked(prefs.getBoolean("day_" + dayNumber + "_action_3", false));
+        action1Checkbox.setChecked(prefs.getBoolean(actionKey(dayNumber, 1), false));
+        action2Checkbox.setChecked(prefs.getBoolean(actionKey(dayNumber, 2), false));
+        action3Checkbox.setChecked(prefs.getBoolean(actionKey(dayNumber, 3), false));
 
         updateProgress();
 
-        String savedReflection = prefs.getString("day_" + dayNumber + "_reflection", "");
+        String savedReflection = prefs.getString(reflectionKey(dayNumber), "");
         if (!savedReflection.isEmpty()) {
             reflectionInput.setText(savedReflection);
         }
@@ -15,11 +15,13 @@ import com.example.sirralquran.R;
 import com.example.sirralquran.models.DailyHadith;
 import com.example.sirralquran.models.DailyAyah;
 import com.example.sirralquran.models.AshraDay;
+import com.example.sirralquran.utils.AssetContentRepository;
 import com.example.sirralquran.utils.HadithAyatDuaDataHelper;
+import com.example.sirralquran.utils.RelatedContentGraph;
+import com.example.sirralquran.utils.RelatedContentManager;
+import com.example.sirralquran.utils.ViewedContentManager;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 import com.google.android.material.button.MaterialButton;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * ✅ Ayat Detail Activity with Dua + Hadith Recommendations
@@ -58,13 +60,14 @@ public class AyatDetailActivity extends AppCompatActivity {
     private AshraDay recommendedDua;
     private DailyHadith recommendedHadith;
 
+    // Language switches re-decode the shared snapshot; re-read the recommended items
+    private final AssetContentRepository.OnContentChangeListener contentObserver = snapshot -> loadRecommendations();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_ayat_detail);
 
-        recommendationHelper = new HadithAyatDuaDataHelper(this);
-
         getIntentData();
         initializeViews();
         setupToolbar();
@@ -124,10 +127,19 @@ public class AyatDetailActivity extends AppCompatActivity {
 
     // ✅ NEW: Load recommendations
     private void loadRecommendations() {
-        String[] keywords = getKeywordsFromAyat();
+        if (recommendationHelper == null) {
+            // Shared asset snapshot and related graph: loaded once per process, off the main thread
+            AssetContentRepository.getInstance(this).load(snapshot ->
+                    RelatedContentManager.getInstance(this).load(graph -> {
+                        if (isFinishing() || isDestroyed()) return;
+                        recommendationHelper = new HadithAyatDuaDataHelper(this, snapshot, graph);
+                        loadRecommendations();
+                    }));
+            return;
+        }
 
-        recommendedDua = recommendationHelper.getRecommendedDua(keywords);
-        recommendedHadith = recommendationHelper.getRecommendedHadith(keywords);
+        recommendedDua = recommendationHelper.getRelatedDua(RelatedContentGraph.TYPE_AYAH, ayatDay);
+        recommendedHadith = recommendationHelper.getRelatedHadith(RelatedContentGraph.TYPE_AYAH, ayatDay);
 
         if (recommendedDua != null) {
             recommendedDuaText.setText(recommendedDua.getDuaTranslation());
@@ -144,61 +156,6 @@ public class AyatDetailActivity extends AppCompatActivity {
         }
     }
 
-    // ✅ NEW: Extract keywords from Ayat
-    private String[] getKeywordsFromAyat() {
-        List<String> keywords = new ArrayList<>();
-        String content = (arabic + " " + english).toLowerCase();
-
-        // Ramadan keywords
-        if (content.contains("ramadan") || content.contains("رمضان") || content.contains("fasting") || content.contains("صوم")) {
-            keywords.add("ramadan");
-            keywords.add("fasting");
-        }
-
-        // Belief keywords
-        if (content.contains("believe") || content.contains("آمن") || content.contains("faith") || content.contains("إيمان")) {
-            keywords.add("faith");
-            keywords.add("belief");
-        }
-
-        // Prayer keywords
-        if (content.contains("prayer") || content.contains("salah") || content.contains("صلاة") || content.contains("establish")) {
-            keywords.add("prayer");
-            keywords.add("salah");
-        }
-
-        // Quran keywords
-        if (content.contains("quran") || content.contains("قرآن") || content.contains("revelation")) {
-            keywords.add("quran");
-            keywords.add("revelation");
-        }
-
-        // Taqwa keywords
-        if (content.contains("taqwa") || content.contains("تقوى") || content.contains("righteous") || content.contains("piety")) {
-            keywords.add("taqwa");
-            keywords.add("righteousness");
-        }
-
-        // Paradise keywords
-        if (content.contains("paradise") || content.contains("jannah") || content.contains("جنة") || content.contains("garden")) {
-            keywords.add("paradise");
-            keywords.add("jannah");
-        }
-
-        // Mercy keywords
-        if (content.contains("mercy") || content.contains("رحم") || content.contains("merciful") || content.contains("compassion")) {
-            keywords.add("mercy");
-            keywords.add("compassion");
-        }
-
-        // Default
-        if (keywords.isEmpty()) {
-            keywords.add("ramadan");
-        }
-
-        return keywords.toArray(new String[0]);
-    }
-
     private void setupClickListeners() {
         copyAyatButton.setOnClickListener(v -> copyAyat());
         shareAyatButton.setOnClickListener(v -> shareAyat());
@@ -262,7 +219,19 @@ public class AyatDetailActivity extends AppCompatActivity {
     }
 
     private void markAsViewed() {
-        recommendationHelper.getViewedManager().markAyatAsViewed(ayatDay);
+        new ViewedContentManager(this).markAyatAsViewed(ayatDay);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        AssetContentRepository.getInstance(this).addObserver(contentObserver);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AssetContentRepository.getInstance(this).removeObserver(contentObserver);
     }
 
     @Override
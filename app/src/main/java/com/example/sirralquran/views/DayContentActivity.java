@@ -3,7 +3,6 @@ package com.example.sirralquran.views;
 import android.content.Intent;
 import android.os.Bundle;
 import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.widget.Button;
 import android.widget.CheckBox;
@@ -18,14 +17,16 @@ import androidx.activity.OnBackPressedCallback;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.sirralquran.R;
 import com.example.sirralquran.controllers.LessonController;
+import com.example.sirralquran.controllers.RamadanManager;
 import com.example.sirralquran.models.DayLesson;
+import com.example.sirralquran.utils.AppConfigManager;
 import com.google.android.material.button.MaterialButton;
 
 /**
  * ✅ FIXED: DayContentActivity with real-time next day unlock
  *
  * NEW FEATURES:
- * 1. Auto-refresh every 30 seconds
+ * 1. Listens for RamadanManager's unlock event instead of polling
  * 2. "Next Day" button unlocks automatically when conditions met
  * 3. Shows toast when next day unlocks
  */
@@ -33,9 +34,6 @@ public class DayContentActivity extends AppCompatActivity {
 
     private static final String TAG = "DayContent";
 
-    // ✅ NEW: Auto-refresh interval
-    private static final long REFRESH_INTERVAL_MS = 30 * 1000; // 30 seconds
-
     private ImageView backButton;
     private ImageView infoButton;
     private LinearLayout completeLayout;
@@ -52,12 +50,15 @@ public class DayContentActivity extends AppCompatActivity {
     private ScrollView contentLayout;
 
     private LessonController lessonController;
+    private RamadanManager ramadanManager;
     private int currentDayNumber;
     private DayLesson currentLesson;
 
-    // ✅ NEW: Handler for auto-refresh
-    private Handler refreshHandler;
-    private Runnable refreshRunnable;
+    // Live app_config changes can unlock the next day immediately
+    private final AppConfigManager.OnConfigChangeListener configObserver = config -> updateNextDayButtonStatus();
+
+    // Fired once, exactly when the next day unlocks
+    private final RamadanManager.OnDayUnlockListener unlockObserver = day -> updateNextDayButtonStatus();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -68,9 +69,7 @@ public class DayContentActivity extends AppCompatActivity {
 
         initializeViews();
         lessonController = new LessonController(this);
-
-        // ✅ NEW: Setup auto-refresh
-        setupAutoRefresh();
+        ramadanManager = new RamadanManager(this);
 
         loadLessonData();
         setupClickListeners();
@@ -94,24 +93,6 @@ public class DayContentActivity extends AppCompatActivity {
         contentLayout = findViewById(R.id.contentLayout);
     }
 
-    /**
-     * ✅ NEW: Setup auto-refresh for next day unlock
-     */
-    private void setupAutoRefresh() {
-        refreshHandler = new Handler(Looper.getMainLooper());
-
-        refreshRunnable = new Runnable() {
-            @Override
-            public void run() {
-                // Update next day button status
-                updateNextDayButtonStatus();
-
-                // Schedule next refresh
-                refreshHandler.postDelayed(this, REFRESH_INTERVAL_MS);
-            }
-        };
-    }
-
     /**
      * ✅ NEW: Update next day button unlock status in real-time
      */
@@ -332,37 +313,22 @@ public class DayContentActivity extends AppCompatActivity {
     }
 
     @Override
-    protected void onResume() {
-        super.onResume();
-        loadLessonData();
-
-        // ✅ NEW: Start auto-refresh
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.postDelayed(refreshRunnable, REFRESH_INTERVAL_MS);
-            android.util.Log.d(TAG, "🔄 Auto-refresh started");
-        }
+    protected void onStart() {
+        super.onStart();
+        AppConfigManager.getInstance(this).addObserver(configObserver);
+        ramadanManager.addUnlockListener(unlockObserver);
     }
 
     @Override
-    protected void onPause() {
-        super.onPause();
-
-        // ✅ NEW: Stop auto-refresh
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.removeCallbacks(refreshRunnable);
-            android.util.Log.d(TAG, "⏸️ Auto-refresh paused");
-        }
+    protected void onStop() {
+        super.onStop();
+        AppConfigManager.getInstance(this).removeObserver(configObserver);
+        ramadanManager.removeUnlockListener(unlockObserver);
     }
 
     @Override
-    protected void onDestroy() {
-        super.onDestroy();
-
-        // ✅ NEW: Clean up handler
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.removeCallbacks(refreshRunnable);
-            refreshHandler = null;
-            refreshRunnable = null;
-        }
+    protected void onResume() {
+        super.onResume();
+        loadLessonData();
     }
-}
\ No newline at end of file
+}
@@ -14,11 +14,13 @@ import androidx.cardview.widget.CardView;
 import com.example.sirralquran.R;
 import com.example.sirralquran.models.DailyHadith;
 import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.utils.AssetContentRepository;
 import com.example.sirralquran.utils.HadithAyatDuaDataHelper;
+import com.example.sirralquran.utils.RelatedContentGraph;
+import com.example.sirralquran.utils.RelatedContentManager;
+import com.example.sirralquran.utils.ViewedContentManager;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 import com.google.android.material.button.MaterialButton;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * ✅ FIXED: Dua Detail Activity with Smart Recommendations
@@ -60,13 +62,14 @@ public class DuaDetailActivity extends AppCompatActivity {
     private DailyHadith recommendedHadith;
     private DailyAyah recommendedAyat;
 
+    // Language switches re-decode the shared snapshot; re-read the recommended items
+    private final AssetContentRepository.OnContentChangeListener contentObserver = snapshot -> loadRecommendations();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_dua_detail);
 
-        recommendationHelper = new HadithAyatDuaDataHelper(this);
-
         getIntentData();
         initializeViews();
         setupToolbar();
@@ -162,14 +165,23 @@ public class DuaDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Load recommendations based on keywords
+     * Load related Hadith and Ayat from the precomputed graph
      */
     private void loadRecommendations() {
-        String[] keywords = getKeywordsForDua();
+        if (recommendationHelper == null) {
+            // Shared asset snapshot and related graph: loaded once per process, off the main thread
+            AssetContentRepository.getInstance(this).load(snapshot ->
+                    RelatedContentManager.getInstance(this).load(graph -> {
+                        if (isFinishing() || isDestroyed()) return;
+                        recommendationHelper = new HadithAyatDuaDataHelper(this, snapshot, graph);
+                        loadRecommendations();
+                    }));
+            return;
+        }
 
         // Get recommended Hadith and Ayat
-        recommendedHadith = recommendationHelper.getRecommendedHadith(keywords);
-        recommendedAyat = recommendationHelper.getRecommendedAyat(keywords);
+        recommendedHadith = recommendationHelper.getRelatedHadith(RelatedContentGraph.TYPE_DUA, dayNumber);
+        recommendedAyat = recommendationHelper.getRelatedAyat(RelatedContentGraph.TYPE_DUA, dayNumber);
 
         // Display recommendations
         if (recommendedHadith != null) {
@@ -185,78 +197,6 @@ public class DuaDetailActivity extends AppCompatActivity {
         }
     }
 
-    /**
-     * Auto-detect keywords from dua content
-     */
-    private String[] getKeywordsForDua() {
-        List<String> keywords = new ArrayList<>();
-
-        String duaContent = (duaArabic + " " + duaTransliteration + " " + duaTranslation).toLowerCase();
-
-        // Ramadan keywords
-        if (duaContent.contains("ramadan") || duaContent.contains("رمضان")) {
-            keywords.add("ramadan");
-            keywords.add("fasting");
-            keywords.add("صوم");
-        }
-
-        // Eid keywords
-        if (duaContent.contains("eid") || duaContent.contains("عيد")) {
-            keywords.add("eid");
-            keywords.add("عيد");
-        }
-
-        // Forgiveness keywords
-        if (duaContent.contains("forgive") || duaContent.contains("غفر") || duaContent.contains("maghfir")) {
-            keywords.add("forgive");
-            keywords.add("forgiveness");
-            keywords.add("غفر");
-            keywords.add("mercy");
-        }
-
-        // Laylatul Qadr keywords
-        if (duaContent.contains("laylatul qadr") || duaContent.contains("ليلة القدر") || duaContent.contains("qadr")) {
-            keywords.add("laylatul qadr");
-            keywords.add("night");
-            keywords.add("ليلة");
-            keywords.add("قدر");
-        }
-
-        // Prayer keywords
-        if (duaContent.contains("prayer") || duaContent.contains("salah") || duaContent.contains("صلاة")) {
-            keywords.add("prayer");
-            keywords.add("salah");
-            keywords.add("صلاة");
-        }
-
-        // Quran keywords
-        if (duaContent.contains("quran") || duaContent.contains("qur'an") || duaContent.contains("قرآن")) {
-            keywords.add("quran");
-            keywords.add("قرآن");
-        }
-
-        // Taqwa keywords
-        if (duaContent.contains("taqwa") || duaContent.contains("تقوى")) {
-            keywords.add("taqwa");
-            keywords.add("تقوى");
-        }
-
-        // Paradise keywords
-        if (duaContent.contains("paradise") || duaContent.contains("jannah") || duaContent.contains("جنة")) {
-            keywords.add("paradise");
-            keywords.add("jannah");
-            keywords.add("جنة");
-        }
-
-        // Default to Ramadan if no keywords found
-        if (keywords.isEmpty()) {
-            keywords.add("ramadan");
-            keywords.add("fasting");
-        }
-
-        return keywords.toArray(new String[0]);
-    }
-
     private void displayRecommendedHadith() {
         recommendedHadithText.setText(recommendedHadith.getEnglish());
         recommendedHadithCard.setVisibility(View.VISIBLE);
@@ -326,7 +266,19 @@ public class DuaDetailActivity extends AppCompatActivity {
     }
 
     private void markAsViewed() {
-        recommendationHelper.getViewedManager().markDuaAsViewed(dayNumber);
+        new ViewedContentManager(this).markDuaAsViewed(dayNumber);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        AssetContentRepository.getInstance(this).addObserver(contentObserver);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AssetContentRepository.getInstance(this).removeObserver(contentObserver);
     }
 
     @Override
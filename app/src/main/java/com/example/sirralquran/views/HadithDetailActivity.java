@@ -15,11 +15,13 @@ import com.example.sirralquran.R;
 import com.example.sirralquran.models.DailyHadith;
 import com.example.sirralquran.models.DailyAyah;
 import com.example.sirralquran.models.AshraDay;
+import com.example.sirralquran.utils.AssetContentRepository;
 import com.example.sirralquran.utils.HadithAyatDuaDataHelper;
+import com.example.sirralquran.utils.RelatedContentGraph;
+import com.example.sirralquran.utils.RelatedContentManager;
+import com.example.sirralquran.utils.ViewedContentManager;
 import com.google.android.material.appbar.CollapsingToolbarLayout;
 import com.google.android.material.button.MaterialButton;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * ✅ Hadith Detail Activity with Dua + Ayat Recommendations
@@ -58,13 +60,14 @@ public class HadithDetailActivity extends AppCompatActivity {
     private AshraDay recommendedDua;
     private DailyAyah recommendedAyat;
 
+    // Language switches re-decode the shared snapshot; re-read the recommended items
+    private final AssetContentRepository.OnContentChangeListener contentObserver = snapshot -> loadRecommendations();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_hadith_detail);
 
-        recommendationHelper = new HadithAyatDuaDataHelper(this);
-
         getIntentData();
         initializeViews();
         setupToolbar();
@@ -124,10 +127,19 @@ public class HadithDetailActivity extends AppCompatActivity {
 
     // ✅ NEW: Load recommendations
     private void loadRecommendations() {
-        String[] keywords = getKeywordsFromHadith();
+        if (recommendationHelper == null) {
+            // Shared asset snapshot and related graph: loaded once per process, off the main thread
+            AssetContentRepository.getInstance(this).load(snapshot ->
+                    RelatedContentManager.getInstance(this).load(graph -> {
+                        if (isFinishing() || isDestroyed()) return;
+                        recommendationHelper = new HadithAyatDuaDataHelper(this, snapshot, graph);
+                        loadRecommendations();
+                    }));
+            return;
+        }
 
-        recommendedDua = recommendationHelper.getRecommendedDua(keywords);
-        recommendedAyat = recommendationHelper.getRecommendedAyat(keywords);
+        recommendedDua = recommendationHelper.getRelatedDua(RelatedContentGraph.TYPE_HADITH, hadithDay);
+        recommendedAyat = recommendationHelper.getRelatedAyat(RelatedContentGraph.TYPE_HADITH, hadithDay);
 
         if (recommendedDua != null) {
             recommendedDuaText.setText(recommendedDua.getDuaTranslation());
@@ -144,49 +156,6 @@ public class HadithDetailActivity extends AppCompatActivity {
         }
     }
 
-    // ✅ NEW: Extract keywords from Hadith
-    private String[] getKeywordsFromHadith() {
-        List<String> keywords = new ArrayList<>();
-        String content = (arabic + " " + english).toLowerCase();
-
-        // Ramadan keywords
-        if (content.contains("ramadan") || content.contains("رمضان") || content.contains("fasting") || content.contains("صوم")) {
-            keywords.add("ramadan");
-            keywords.add("fasting");
-        }
-
-        // Forgiveness keywords
-        if (content.contains("forgive") || content.contains("غفر") || content.contains("mercy") || content.contains("رحم")) {
-            keywords.add("forgiveness");
-            keywords.add("mercy");
-        }
-
-        // Prayer keywords
-        if (content.contains("prayer") || content.contains("salah") || content.contains("صلاة")) {
-            keywords.add("prayer");
-            keywords.add("salah");
-        }
-
-        // Laylatul Qadr
-        if (content.contains("laylatul qadr") || content.contains("ليلة القدر")) {
-            keywords.add("laylatul qadr");
-            keywords.add("night");
-        }
-
-        // Paradise
-        if (content.contains("paradise") || content.contains("jannah") || content.contains("جنة")) {
-            keywords.add("paradise");
-            keywords.add("jannah");
-        }
-
-        // Default
-        if (keywords.isEmpty()) {
-            keywords.add("ramadan");
-        }
-
-        return keywords.toArray(new String[0]);
-    }
-
     private void setupClickListeners() {
         copyHadithButton.setOnClickListener(v -> copyHadith());
         shareHadithButton.setOnClickListener(v -> shareHadith());
@@ -250,7 +219,19 @@ public class HadithDetailActivity extends AppCompatActivity {
     }
 
     private void markAsViewed() {
-        recommendationHelper.getViewedManager().markHadithAsViewed(hadithDay);
+        new ViewedContentManager(this).markHadithAsViewed(hadithDay);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        AssetContentRepository.getInstance(this).addObserver(contentObserver);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AssetContentRepository.getInstance(this).removeObserver(contentObserver);
     }
 
     @Override
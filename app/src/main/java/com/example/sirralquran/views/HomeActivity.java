@@ -15,10 +15,16 @@ import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.example.sirralquran.R;
 import com.example.sirralquran.controllers.RamadanManager;
 import com.example.sirralquran.controllers.UserController;
+import com.example.sirralquran.database.ContentDatabaseHelper;
+import com.example.sirralquran.models.AppConfig;
 import com.example.sirralquran.models.DailyAyah;
 import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.DailyWisdom;
 import com.example.sirralquran.models.User;
-import com.example.sirralquran.utils.FirebaseHelper;
+import com.example.sirralquran.utils.AppConfigManager;
+import com.example.sirralquran.utils.ContentPrefetcher;
+import com.example.sirralquran.utils.ContentSyncManager;
+import com.example.sirralquran.utils.DeadlineLoader;
 import com.example.sirralquran.utils.TutorialOverlayHelper;
 import com.example.sirralquran.utils.TutorialOverlayHelper.TutorialStep;
 
@@ -33,6 +39,7 @@ public class HomeActivity extends BaseActivity {
     private TextView currentDayText;
     private TextView progressPercentText;
     private TextView motivationalText;
+    private ImageView searchButton;
     private ImageView profileImage;
     private CardView continueJourneyCard;
     private CardView salahTrackerCard;
@@ -56,11 +63,23 @@ public class HomeActivity extends BaseActivity {
 
     private UserController userController;
     private TutorialOverlayHelper tutorialHelper;
-    private FirebaseHelper firebaseHelper;
+    private ContentSyncManager contentSyncManager;
     private RamadanManager ramadanManager;
 
     private boolean isFirstLoad = true;
 
+    // Deadline-bounded loads (cached value first, Firebase revalidates)
+    private static final long STATUS_DEADLINE_MS = 3000;
+    private static final long WISDOM_DEADLINE_MS = 4000;
+    private DeadlineLoader<AppConfig> statusLoader;
+    private DeadlineLoader<DailyWisdom> wisdomLoader;
+
+    // Live app_config changes pushed while Home is visible
+    private final AppConfigManager.OnConfigChangeListener configObserver = config -> {
+        Log.d(TAG, "📣 Config changed: day " + config.getCurrentDay());
+        showRamadanStatus(config);
+    };
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -69,7 +88,7 @@ public class HomeActivity extends BaseActivity {
         initializeViews();
         userController = new UserController(this);
         tutorialHelper = new TutorialOverlayHelper(this);
-        firebaseHelper = FirebaseHelper.getInstance();
+        contentSyncManager = ContentSyncManager.getInstance(this);
         ramadanManager = new RamadanManager(this);
 
         // CRITICAL FIX: Force immediate Firebase load
@@ -93,6 +112,7 @@ public class HomeActivity extends BaseActivity {
         currentDayText = findViewById(R.id.currentDayText);
         progressPercentText = findViewById(R.id.progressPercentText);
         motivationalText = findViewById(R.id.motivationalText);
+        searchButton = findViewById(R.id.searchButton);
         profileImage = findViewById(R.id.profileImage);
         continueJourneyCard = findViewById(R.id.continueJourneyCard);
         salahTrackerCard = findViewById(R.id.salahTrackerCard);
@@ -116,102 +136,129 @@ public class HomeActivity extends BaseActivity {
     }
 
     /**
-     * FIXED: Force Firebase check with timeout
+     * Ramadan status: last good config paints immediately, Firebase revalidates in the background.
+     * With no config ever fetched, the locally derived Hijri status paints first instead.
      */
     private void checkRamadanAndLoadContent() {
-        final boolean[] dataLoaded = {false};
+        Log.d(TAG, "📡 Checking Ramadan status...");
+        if (statusLoader != null) statusLoader.cancel();
 
-        Log.d(TAG, "📡 Checking Ramadan status from Firebase...");
-
-        // 10-second timeout
-        new Handler().postDelayed(() -> {
-            if (!dataLoaded[0]) {
-                Log.e(TAG, "⏱️ Firebase timeout! Using fallback Day 3");
-                // Fallback: Load Day 3 directly
-                loadDailyWisdomFromFirebase(3);
-                currentDayText.setText("Day 1");
-            }
-        }, 10000);
+        AppConfigManager configManager = AppConfigManager.getInstance(this);
+        if (configManager.getCachedConfig() == null) {
+            showRamadanStatus(null);
+        }
+        statusLoader = DeadlineLoader.load(
+                "home_status",
+                configManager::getCachedConfig,
+                fetchListener -> configManager.refresh(new AppConfigManager.OnConfigListener() {
+                    @Override
+                    public void onConfig(AppConfig config) {
+                        fetchListener.onSuccess(config);
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        fetchListener.onError(error);
+                    }
+                }),
+                () -> null,
+                AppConfig::hasSameValues,
+                STATUS_DEADLINE_MS,
+                (config, source) -> {
+                    if (source == DeadlineLoader.Source.FALLBACK) {
+                        return; // Local status already shown
+                    }
+                    Log.d(TAG, "✅ Ramadan status (" + source + ")");
+                    showRamadanStatus(config);
+                });
+    }
 
-        ramadanManager.checkRamadanStatus(new RamadanManager.OnRamadanStatusListener() {
-            @Override
-            public void onStatusChecked(boolean isRamadan, int currentDay) {
-                dataLoaded[0] = true;
-
-                Log.d(TAG, "✅ Firebase responded: isRamadan=" + isRamadan + ", currentDay=" + currentDay);
-
-                if (isRamadan && currentDay > 0) {
-                    // Ramadan mode: Load day-specific content from Firebase
-                    Log.d(TAG, "🌙 Ramadan active! Loading Day " + currentDay);
-                    loadDailyWisdomFromFirebase(currentDay);
-                    currentDayText.setText("Day " + currentDay);
-                } else {
-                    // Normal mode: Show placeholder
-                    Log.d(TAG, "⚠️ Ramadan not active, showing placeholders");
-                    showPlaceholderContent();
-                    currentDayText.setText("Welcome");
-                }
-            }
-        });
+    /**
+     * Config overrides the local status when it can answer for today; null = local only
+     */
+    private void showRamadanStatus(AppConfig config) {
+        int currentDay = config != null ? ramadanManager.applyConfig(config) : ramadanManager.getActiveRamadanDay();
+
+        if (currentDay > 0) {
+            // Ramadan mode: Load day-specific content
+            Log.d(TAG, "🌙 Ramadan active! Loading Day " + currentDay);
+            loadDailyWisdomFromFirebase(currentDay);
+            currentDayText.setText("Day " + currentDay);
+
+            // Next unlockable day (or a prefetch deferred on a metered network)
+            ContentPrefetcher prefetcher = ContentPrefetcher.getInstance(HomeActivity.this);
+            prefetcher.retryPending();
+            prefetcher.prefetchDay(ramadanManager.getMaxAccessibleDay() + 1);
+        } else {
+            // Normal mode: Show placeholder
+            Log.d(TAG, "⚠️ Ramadan not active, showing placeholders");
+            showPlaceholderContent();
+            currentDayText.setText("Welcome");
+        }
     }
 
     /**
-     * FIXED: Load daily Ayah and Hadith with proper error handling and timeout
+     * Daily Ayah and Hadith: local store paints immediately, the day is synced in the background.
+     * Stored day: manifest delta (usually nothing to fetch). Never synced: fetch this day directly.
      */
     private void loadDailyWisdomFromFirebase(int dayNumber) {
         Log.d(TAG, "🔍 Loading Ayah & Hadith for Day " + dayNumber);
+        if (wisdomLoader != null) wisdomLoader.cancel();
+
+        final boolean hasStoredContent = readStoredWisdom(dayNumber) != null;
+
+        wisdomLoader = DeadlineLoader.load(
+                "home_wisdom_day_" + dayNumber,
+                () -> readStoredWisdom(dayNumber),
+                fetchListener -> {
+                    ContentSyncManager.OnSyncListener syncListener = new ContentSyncManager.OnSyncListener() {
+                        @Override
+                        public void onSyncComplete(int changedRows) {
+                            Log.d(TAG, "✅ Daily wisdom synced (" + changedRows + " rows changed)");
+                            fetchListener.onSuccess(readStoredWisdom(dayNumber));
+                        }
+
+                        @Override
+                        public void onSyncFailed(String error) {
+                            fetchListener.onError(error);
+                        }
+                    };
+
+                    if (hasStoredContent) {
+                        contentSyncManager.syncDelta(syncListener);
+                    } else {
+                        contentSyncManager.syncDay(dayNumber, syncListener);
+                    }
+                    return null; // The sync still fills the store; only its result is dropped
+                },
+                () -> null,
+                WISDOM_DEADLINE_MS,
+                (wisdom, source) -> {
+                    if (wisdom == null) {
+                        Log.e(TAG, "⏱️ Daily wisdom unavailable (" + source + ")");
+                        showPlaceholderContent();
+                        return;
+                    }
+                    if (wisdom.getAyah() != null) displayAyah(wisdom.getAyah());
+                    if (wisdom.getHadith() != null) displayHadith(wisdom.getHadith());
+                });
+    }
 
-        final boolean[] ayahLoaded = {false};
-        final boolean[] hadithLoaded = {false};
-
-        // 10-second timeout for each
-        new Handler().postDelayed(() -> {
-            if (!ayahLoaded[0]) {
-                Log.e(TAG, "⏱️ Ayah load timeout!");
-                Toast.makeText(this, "⚠️ Ayah data not loading. Check Firebase.", Toast.LENGTH_LONG).show();
-            }
-        }, 10000);
-
-        new Handler().postDelayed(() -> {
-            if (!hadithLoaded[0]) {
-                Log.e(TAG, "⏱️ Hadith load timeout!");
-                Toast.makeText(this, "⚠️ Hadith data not loading. Check Firebase.", Toast.LENGTH_LONG).show();
-            }
-        }, 10000);
-
-        // Load Ayah
-        firebaseHelper.getAyahByDay(dayNumber, new FirebaseHelper.OnDataLoadListener<DailyAyah>() {
-            @Override
-            public void onSuccess(DailyAyah ayah) {
-                ayahLoaded[0] = true;
-                Log.d(TAG, "✅ Ayah loaded successfully!");
-                displayAyah(ayah);
-            }
-
-            @Override
-            public void onError(String error) {
-                ayahLoaded[0] = true;
-                Log.e(TAG, "❌ Failed to load Ayah: " + error);
-                Toast.makeText(HomeActivity.this, "Ayah error: " + error, Toast.LENGTH_LONG).show();
-            }
-        });
-
-        // Load Hadith
-        firebaseHelper.getHadithByDay(dayNumber, new FirebaseHelper.OnDataLoadListener<DailyHadith>() {
-            @Override
-            public void onSuccess(DailyHadith hadith) {
-                hadithLoaded[0] = true;
-                Log.d(TAG, "✅ Hadith loaded successfully!");
-                displayHadith(hadith);
-            }
+    /**
+     * Ayah + Hadith for a day from the local store, or null if neither is stored
+     */
+    private DailyWisdom readStoredWisdom(int dayNumber) {
+        ContentDatabaseHelper store = contentSyncManager.getStore();
+        DailyAyah ayah = store.getAyah(dayNumber);
+        DailyHadith hadith = store.getHadith(dayNumber);
+        if (ayah == null && hadith == null) {
+            return null;
+        }
 
-            @Override
-            public void onError(String error) {
-                hadithLoaded[0] = true;
-                Log.e(TAG, "❌ Failed to load Hadith: " + error);
-                Toast.makeText(HomeActivity.this, "Hadith error: " + error, Toast.LENGTH_LONG).show();
-            }
-        });
+        DailyWisdom wisdom = new DailyWisdom();
+        wisdom.setAyah(ayah);
+        wisdom.setHadith(hadith);
+        return wisdom;
     }
 
     /**
@@ -361,6 +408,13 @@ public class HomeActivity extends BaseActivity {
             }
         });
 
+        searchButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                startActivity(new Intent(HomeActivity.this, SearchActivity.class));
+            }
+        });
+
         profileImage.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -421,14 +475,33 @@ public class HomeActivity extends BaseActivity {
         });
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        AppConfigManager.getInstance(this).addObserver(configObserver);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AppConfigManager.getInstance(this).removeObserver(configObserver);
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
         loadUserData();
-        // Refresh content when returning to home
+        // Config changes arrive through configObserver; only repaint from the current snapshot here
         if (!isFirstLoad) {
-            checkRamadanAndLoadContent();
+            showRamadanStatus(AppConfigManager.getInstance(this).getCachedConfig());
         }
         isFirstLoad = false;
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (statusLoader != null) statusLoader.cancel();
+        if (wisdomLoader != null) wisdomLoader.cancel();
+    }
 }
\ No newline at end of file
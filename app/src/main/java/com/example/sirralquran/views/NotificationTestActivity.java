@@ -9,8 +9,13 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.sirralquran.R;
+import com.example.sirralquran.database.AlarmDatabaseHelper;
 import com.example.sirralquran.utils.PrayerNotificationManager;
 import com.google.android.material.card.MaterialCardView;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Test screen for notification timing and tone
@@ -29,6 +34,7 @@ public class NotificationTestActivity extends AppCompatActivity {
     private Button testNotificationButton;
     private Button checkPermissionsButton;
     private TextView statusText;
+    private TextView driftStatsText;
     private MaterialCardView permissionCard;
 
     private PrayerNotificationManager notificationManager;
@@ -57,6 +63,7 @@ public class NotificationTestActivity extends AppCompatActivity {
         testNotificationButton = findViewById(R.id.testNotificationButton);
         checkPermissionsButton = findViewById(R.id.checkPermissionsButton);
         statusText = findViewById(R.id.statusText);
+        driftStatsText = findViewById(R.id.driftStatsText);
         permissionCard = findViewById(R.id.permissionCard);
     }
 
@@ -135,9 +142,62 @@ public class NotificationTestActivity extends AppCompatActivity {
         statusText.setTextColor(Color.parseColor("#FF9800")); // Orange
     }
 
+    /**
+     * Show p50/p95/max alarm delivery drift per prayer and per device state
+     */
+    private void showDriftStats() {
+        AlarmDatabaseHelper alarmStore = AlarmDatabaseHelper.getInstance(this);
+        Map<String, List<Long>> byPrayer = alarmStore.getDriftsByPrayer();
+
+        if (byPrayer.isEmpty()) {
+            driftStatsText.setText("No alarms delivered yet");
+            return;
+        }
+
+        StringBuilder text = new StringBuilder("By prayer:\n");
+        appendDriftRows(text, byPrayer);
+        text.append("\nBy device state:\n");
+        appendDriftRows(text, alarmStore.getDriftsByDeviceState());
+
+        driftStatsText.setText(text.toString().trim());
+    }
+
+    private void appendDriftRows(StringBuilder text, Map<String, List<Long>> drifts) {
+        for (Map.Entry<String, List<Long>> entry : drifts.entrySet()) {
+            List<Long> values = entry.getValue();
+            Collections.sort(values);
+
+            text.append(entry.getKey())
+                    .append(" (n=").append(values.size()).append("): ")
+                    .append(formatDrift(percentile(values, 50))).append(" / ")
+                    .append(formatDrift(percentile(values, 95))).append(" / ")
+                    .append(formatDrift(values.get(values.size() - 1)))
+                    .append("\n");
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted list
+     */
+    private long percentile(List<Long> sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private String formatDrift(long millis) {
+        if (Math.abs(millis) < 1000) {
+            return millis + "ms";
+        } else if (Math.abs(millis) < 60 * 1000) {
+            return String.format(Locale.ENGLISH, "%.1fs", millis / 1000.0);
+        } else {
+            return String.format(Locale.ENGLISH, "%.1fm", millis / 60000.0);
+        }
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
         checkPermissionStatus();
+        showDriftStats();
     }
 }
\ No newline at end of file
@@ -12,8 +12,11 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.example.sirralquran.R;
 import com.example.sirralquran.controllers.AuthController;
+import com.example.sirralquran.controllers.RamadanManager;
 import com.example.sirralquran.controllers.UserController;
 import com.example.sirralquran.models.User;
+import com.example.sirralquran.utils.ContentLanguageManager;
+import com.example.sirralquran.utils.RamadanCalendar;
 
 public class ProfileActivity extends AppCompatActivity {
 
@@ -84,7 +87,7 @@ public class ProfileActivity extends AppCompatActivity {
         settingsLayout.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                // Handle settings
+                showSettingsDialog();
             }
         });
 
@@ -96,6 +99,73 @@ public class ProfileActivity extends AppCompatActivity {
         });
     }
 
+    private void showSettingsDialog() {
+        String[] items = {getString(R.string.content_language), getString(R.string.moon_sighting)};
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.settings)
+                .setItems(items, new DialogInterface.OnClickListener() {
+                    @Override
+                    public void onClick(DialogInterface dialog, int which) {
+                        if (which == 0) {
+                            showLanguageDialog();
+                        } else {
+                            showMoonSightingDialog();
+                        }
+                    }
+                })
+                .show();
+    }
+
+    /**
+     * Offset applied to the local Hijri date when the Ramadan day is derived on the device
+     */
+    private void showMoonSightingDialog() {
+        // R.array.moon_sighting_offsets lists MIN_OFFSET..MAX_OFFSET in order
+        int current = RamadanCalendar.getInstance(this).getSightingOffset();
+        int checked = current - RamadanCalendar.MIN_OFFSET;
+
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.moon_sighting)
+                .setSingleChoiceItems(R.array.moon_sighting_offsets, checked, new DialogInterface.OnClickListener() {
+                    @Override
+                    public void onClick(DialogInterface dialog, int which) {
+                        new RamadanManager(ProfileActivity.this)
+                                .setSightingOffset(RamadanCalendar.MIN_OFFSET + which);
+                        dialog.dismiss();
+                    }
+                })
+                .setNegativeButton(R.string.cancel, null)
+                .show();
+    }
+
+    /**
+     * Content language; open screens switch to it without restarting
+     */
+    private void showLanguageDialog() {
+        ContentLanguageManager languageManager = ContentLanguageManager.getInstance(this);
+        String[] languages = languageManager.getAvailableLanguages();
+        String[] names = new String[languages.length];
+        int checked = 0;
+        for (int i = 0; i < languages.length; i++) {
+            names[i] = ContentLanguageManager.getDisplayName(languages[i]);
+            if (languages[i].equals(languageManager.getLanguage())) {
+                checked = i;
+            }
+        }
+
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.content_language)
+                .setSingleChoiceItems(names, checked, new DialogInterface.OnClickListener() {
+                    @Override
+                    public void onClick(DialogInterface dialog, int which) {
+                        languageManager.setLanguage(languages[which]);
+                        dialog.dismiss();
+                    }
+                })
+                .setNegativeButton(R.string.cancel, null)
+                .show();
+    }
+
     private void showLogoutDialog() {
         new AlertDialog.Builder(this)
                 .setTitle(R.string.logout)
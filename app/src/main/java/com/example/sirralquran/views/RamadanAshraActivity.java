@@ -13,9 +13,10 @@ import com.example.sirralquran.R;
 import com.example.sirralquran.adapters.DayBlockAdapter;
 import com.example.sirralquran.controllers.RamadanManager;
 import com.example.sirralquran.models.AshraDay;
-import com.example.sirralquran.utils.AshraDataHelper;
+import com.example.sirralquran.utils.AssetContentRepository;
 import com.example.sirralquran.utils.HijriDateHelper;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -50,10 +51,16 @@ public class RamadanAshraActivity extends AppCompatActivity implements DayBlockA
 
     private RamadanManager ramadanManager;
     private HijriDateHelper hijriDateHelper;
-    private AshraDataHelper ashraDataHelper;
+    private AssetContentRepository.Snapshot ashraContent; // null until the shared assets are parsed
 
     private int selectedAshraNumber = 1;
 
+    // Language switches re-decode the shared snapshot; re-read the day blocks
+    private final AssetContentRepository.OnContentChangeListener contentObserver = snapshot -> {
+        ashraContent = snapshot;
+        loadDayBlocks();
+    };
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -92,7 +99,6 @@ public class RamadanAshraActivity extends AppCompatActivity implements DayBlockA
     private void initializeControllers() {
         ramadanManager = new RamadanManager(this);
         hijriDateHelper = new HijriDateHelper(this);
-        ashraDataHelper = new AshraDataHelper(this); // Load JSON data
     }
 
     private void setupClickListeners() {
@@ -106,8 +112,14 @@ public class RamadanAshraActivity extends AppCompatActivity implements DayBlockA
 
     private void setupRecyclerView() {
         dayBlocksRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        dayBlockAdapter = new DayBlockAdapter(this, ashraDataHelper.getDaysForAshra(1), 1, this);
+        dayBlockAdapter = new DayBlockAdapter(this, new ArrayList<>(), 1, this);
         dayBlocksRecyclerView.setAdapter(dayBlockAdapter);
+
+        AssetContentRepository.getInstance(this).load(snapshot -> {
+            if (isFinishing() || isDestroyed()) return;
+            ashraContent = snapshot;
+            loadDayBlocks();
+        });
     }
 
     private void loadData() {
@@ -199,7 +211,8 @@ public class RamadanAshraActivity extends AppCompatActivity implements DayBlockA
     }
 
     private void loadDayBlocks() {
-        List<AshraDay> days = ashraDataHelper.getDaysForAshra(selectedAshraNumber);
+        if (ashraContent == null) return; // Filled in once the assets are parsed
+        List<AshraDay> days = ashraContent.getDaysForAshra(selectedAshraNumber);
         dayBlockAdapter.updateData(days, selectedAshraNumber);
     }
 
@@ -268,9 +281,22 @@ public class RamadanAshraActivity extends AppCompatActivity implements DayBlockA
         });
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        AssetContentRepository.getInstance(this).addObserver(contentObserver);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AssetContentRepository.getInstance(this).removeObserver(contentObserver);
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
         loadData();
+        loadDayBlocks(); // Picks up a language switched on another screen
     }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.example.sirralquran.views;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.ImageView;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.sirralquran.R;
+import com.example.sirralquran.adapters.SearchResultAdapter;
+import com.example.sirralquran.controllers.RamadanManager;
+import com.example.sirralquran.database.ContentDatabaseHelper;
+import com.example.sirralquran.models.AshraDay;
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.SearchResult;
+import com.example.sirralquran.utils.AssetContentRepository;
+import com.example.sirralquran.utils.ContentSearchManager;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Full-text search over all content, most relevant first
+ *
+ * Queries run as the user types (debounced); further pages load when the list nears its end.
+ * A result opens the same detail screen as elsewhere in the app.
+ */
+public class SearchActivity extends AppCompatActivity {
+
+    private static final String TAG = "SearchActivity";
+    private static final long TYPING_DELAY_MS = 300;
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
+    private EditText searchInput;
+    private TextView emptyText;
+    private RecyclerView searchResultsRecyclerView;
+    private SearchResultAdapter adapter;
+
+    private ContentSearchManager searchManager;
+    private final Handler typingHandler = new Handler(Looper.getMainLooper());
+    private final Runnable runSearch = () -> search(0);
+
+    private String currentQuery = "";
+    private int loadedPages = 0;
+    private boolean isLoading = false;
+    private boolean hasMore = false;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_search);
+
+        searchManager = ContentSearchManager.getInstance(this);
+        initializeViews();
+        setupResultsList();
+        setupSearchInput();
+    }
+
+    private void initializeViews() {
+        ImageView backButton = findViewById(R.id.backButton);
+        searchInput = findViewById(R.id.searchInput);
+        emptyText = findViewById(R.id.emptyText);
+        searchResultsRecyclerView = findViewById(R.id.searchResultsRecyclerView);
+
+        backButton.setOnClickListener(v -> finish());
+    }
+
+    private void setupResultsList() {
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        adapter = new SearchResultAdapter(this::openResult);
+        searchResultsRecyclerView.setLayoutManager(layoutManager);
+        searchResultsRecyclerView.setAdapter(adapter);
+
+        searchResultsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (dy > 0 && hasMore && !isLoading && lastVisible >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    search(loadedPages);
+                }
+            }
+        });
+    }
+
+    private void setupSearchInput() {
+        searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                currentQuery = s.toString().trim();
+                typingHandler.removeCallbacks(runSearch);
+                typingHandler.postDelayed(runSearch, TYPING_DELAY_MS);
+            }
+        });
+    }
+
+    private void search(int page) {
+        final String query = currentQuery;
+        if (query.isEmpty()) {
+            adapter.setResults(Collections.emptyList());
+            emptyText.setVisibility(View.GONE);
+            hasMore = false;
+            return;
+        }
+
+        isLoading = true;
+        searchManager.search(query, page, ContentSearchManager.DEFAULT_PAGE_SIZE, new ContentSearchManager.OnSearchListener() {
+            @Override
+            public void onResults(String resultQuery, int resultPage, List<SearchResult> results) {
+                if (!resultQuery.equals(currentQuery)) {
+                    return; // User kept typing, a newer query is on its way
+                }
+                isLoading = false;
+                loadedPages = resultPage + 1;
+                hasMore = results.size() == ContentSearchManager.DEFAULT_PAGE_SIZE;
+
+                if (resultPage == 0) {
+                    adapter.setResults(results);
+                    searchResultsRecyclerView.scrollToPosition(0);
+                } else {
+                    adapter.addResults(results);
+                }
+                emptyText.setVisibility(adapter.getItemCount() == 0 ? View.VISIBLE : View.GONE);
+            }
+
+            @Override
+            public void onError(String resultQuery, String error) {
+                isLoading = false;
+                Log.e(TAG, "❌ Search failed: " + error);
+            }
+        });
+    }
+
+    // ============ OPEN RESULT ============
+
+    private void openResult(SearchResult result) {
+        int day = result.getDayNumber();
+
+        switch (result.getType()) {
+            case SearchResult.TYPE_LESSON:
+                openLesson(day);
+                return;
+            case SearchResult.TYPE_HADITH:
+                if (result.getSource() == ContentDatabaseHelper.SEARCH_SOURCE_HADITH) {
+                    openHadith(ContentDatabaseHelper.getInstance(this).getHadith(day));
+                    return;
+                }
+                break;
+            case SearchResult.TYPE_AYAH:
+                if (result.getSource() == ContentDatabaseHelper.SEARCH_SOURCE_AYAH) {
+                    openAyah(ContentDatabaseHelper.getInstance(this).getAyah(day));
+                    return;
+                }
+                break;
+        }
+
+        // Bundled content
+        AssetContentRepository.getInstance(this).load(snapshot -> {
+            switch (result.getType()) {
+                case SearchResult.TYPE_HADITH:
+                    openHadith(snapshot.getHadith(day));
+                    break;
+                case SearchResult.TYPE_AYAH:
+                    openAyah(snapshot.getAyah(day));
+                    break;
+                case SearchResult.TYPE_DUA:
+                    openDua(snapshot.getDay(day));
+                    break;
+                case SearchResult.TYPE_ASHRA_DAY:
+                    openAshraDay(snapshot.getDay(day));
+                    break;
+            }
+        });
+    }
+
+    private void openLesson(int day) {
+        RamadanManager ramadanManager = new RamadanManager(this);
+        if (!ramadanManager.isDayUnlocked(day)) {
+            Toast.makeText(this, ramadanManager.getFormattedTimeRemaining(day), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Intent intent = new Intent(this, DayContentActivity.class);
+        intent.putExtra("DAY_NUMBER", day);
+        startActivity(intent);
+    }
+
+    private void openHadith(DailyHadith hadith) {
+        if (hadith == null) return;
+
+        Intent intent = new Intent(this, HadithDetailActivity.class);
+        intent.putExtra("HADITH_DAY", hadith.getDayNumber());
+        intent.putExtra("ARABIC", hadith.getArabic());
+        intent.putExtra("ENGLISH", hadith.getEnglish());
+        intent.putExtra("REFERENCE", hadith.getReference());
+        startActivity(intent);
+    }
+
+    private void openAyah(DailyAyah ayah) {
+        if (ayah == null) return;
+
+        Intent intent = new Intent(this, AyatDetailActivity.class);
+        intent.putExtra("AYAT_DAY", ayah.getDayNumber());
+        intent.putExtra("ARABIC", ayah.getArabic());
+        intent.putExtra("ENGLISH", ayah.getEnglish());
+        intent.putExtra("REFERENCE", ayah.getReference());
+        startActivity(intent);
+    }
+
+    private void openDua(AshraDay day) {
+        if (day == null) return;
+
+        Intent intent = new Intent(this, DuaDetailActivity.class);
+        intent.putExtra("DAY_NUMBER", day.getDayNumber());
+        intent.putExtra("ASHRA_NUMBER", day.getAshraNumber());
+        intent.putExtra("DUA_ARABIC", day.getDuaArabic());
+        intent.putExtra("DUA_TRANSLITERATION", day.getDuaTransliteration());
+        intent.putExtra("DUA_TRANSLATION", day.getDuaTranslation());
+        startActivity(intent);
+    }
+
+    private void openAshraDay(AshraDay day) {
+        if (day == null) return;
+
+        Intent intent = new Intent(this, AshraDayDetailActivity.class);
+        intent.putExtra("DAY_NUMBER", day.getDayNumber());
+        intent.putExtra("ASHRA_NUMBER", day.getAshraNumber());
+        intent.putExtra("TITLE", day.getTitle());
+        intent.putExtra("DESCRIPTION", day.getDescription());
+        intent.putExtra("DUA_ARABIC", day.getDuaArabic());
+        intent.putExtra("DUA_TRANSLITERATION", day.getDuaTransliteration());
+        intent.putExtra("DUA_TRANSLATION", day.getDuaTranslation());
+        intent.putExtra("ACTIONS", day.getActions() != null ? day.getActions().toArray(new String[0]) : new String[0]);
+        intent.putExtra("HADITH_TEXT", day.getHadithText());
+        intent.putExtra("HADITH_REFERENCE", day.getHadithReference());
+        startActivity(intent);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        typingHandler.removeCallbacks(runSearch);
+    }
+}
@@ -2,8 +2,6 @@ package com.example.sirralquran.views;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
@@ -18,26 +16,25 @@ import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.example.sirralquran.R;
 import com.example.sirralquran.adapters.DayLessonAdapter;
 import com.example.sirralquran.models.DayLesson;
+import com.example.sirralquran.models.JourneyProgress;
 import com.example.sirralquran.models.RamadanDayContent;
-import com.example.sirralquran.utils.FirebaseHelper;
+import com.example.sirralquran.utils.AppConfigManager;
+import com.example.sirralquran.utils.ContentSyncManager;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * ✅ FIXED: Real-time unlock updates with auto-refresh
+ * ✅ FIXED: Real-time unlock updates without polling
  *
  * NEW FEATURES:
- * 1. Auto-refreshes every 30 seconds to check unlock status
+ * 1. Subscribes to RamadanManager's unlock event (one callback at the unlock instant)
  * 2. Updates UI when days unlock (no need to restart app)
- * 3. Shows countdown timer updates in real-time
+ * 3. Countdowns refresh on resume; an idle screen does no periodic work
  */
 public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLessonAdapter.OnLessonClickListener {
 
     private static final String TAG = "ThirtyDayJourney";
 
-    // ✅ NEW: Auto-refresh interval (30 seconds)
-    private static final long REFRESH_INTERVAL_MS = 30 * 1000; // 30 seconds
-
     private ImageView backButton;
     private TextView progressInfoText;
     private ProgressBar journeyProgressBar;
@@ -48,17 +45,25 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
 
     private DayLessonAdapter lessonAdapter;
     private RamadanManager ramadanManager;
-    private FirebaseHelper firebaseHelper;
+    private ContentSyncManager contentSyncManager;
     private List<DayLesson> lessonList;
 
     // Track loading state
-    private int totalDaysToLoad = 0;
-    private int daysLoaded = 0;
     private boolean isLoading = false;
 
-    // ✅ NEW: Handler for auto-refresh
-    private Handler refreshHandler;
-    private Runnable refreshRunnable;
+    // Live app_config changes (current day moved / Ramadan toggled)
+    private final AppConfigManager.OnConfigChangeListener configObserver = config -> {
+        Log.d(TAG, "📣 Config changed, rebuilding journey");
+        loadAllLessonsFromFirebase();
+    };
+
+    // Fired once, exactly when the next day unlocks
+    private final RamadanManager.OnDayUnlockListener unlockObserver = day -> {
+        if (!isLoading) {
+            updateUnlockStatus();
+            updateProgressUI();
+        }
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -67,7 +72,7 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
 
         initializeViews();
         ramadanManager = new RamadanManager(this);
-        firebaseHelper = FirebaseHelper.getInstance();
+        contentSyncManager = ContentSyncManager.getInstance(this);
 
         // Initialize with empty list
         lessonList = new ArrayList<>();
@@ -76,9 +81,6 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
         setupClickListeners();
         setupBottomNavigation();
 
-        // ✅ NEW: Setup auto-refresh
-        setupAutoRefresh();
-
         // Load data ONLY in onCreate (not in onResume)
         loadAllLessonsFromFirebase();
     }
@@ -93,25 +95,6 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
         loadingProgress = findViewById(R.id.loadingProgress);
     }
 
-    /**
-     * ✅ NEW: Setup auto-refresh timer
-     * Checks unlock status every 30 seconds
-     */
-    private void setupAutoRefresh() {
-        refreshHandler = new Handler(Looper.getMainLooper());
-
-        refreshRunnable = new Runnable() {
-            @Override
-            public void run() {
-                // Update unlock status for all lessons
-                updateUnlockStatus();
-
-                // Schedule next refresh
-                refreshHandler.postDelayed(this, REFRESH_INTERVAL_MS);
-            }
-        };
-    }
-
     /**
      * ✅ NEW: Update unlock status in real-time
      * This checks if any locked days should now be unlocked
@@ -122,6 +105,7 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
         }
 
         boolean hasChanges = false;
+        JourneyProgress journey = ramadanManager.evaluateAll();
 
         for (int i = 0; i < lessonList.size(); i++) {
             DayLesson lesson = lessonList.get(i);
@@ -129,7 +113,7 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
 
             // Get current unlock status
             boolean wasLocked = lesson.isLocked();
-            boolean isNowUnlocked = ramadanManager.isDayUnlocked(dayNumber);
+            boolean isNowUnlocked = journey.isUnlocked(dayNumber);
 
             // Check if status changed
             if (wasLocked && isNowUnlocked) {
@@ -146,7 +130,7 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
             }
 
             // Update completion status
-            boolean isCompleted = ramadanManager.isDayCompleted(dayNumber);
+            boolean isCompleted = journey.isCompleted(dayNumber);
             if (lesson.isCompleted() != isCompleted) {
                 lesson.setCompleted(isCompleted);
                 hasChanges = true;
@@ -165,7 +149,7 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
     }
 
     /**
-     * Load ALL 30 days from Firebase
+     * Load ALL 30 days from the local content store, syncing from Firebase in the background
      */
     private void loadAllLessonsFromFirebase() {
         if (isLoading) {
@@ -179,75 +163,69 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
         int maxAccessibleDay = ramadanManager.getMaxAccessibleDay();
         Log.d(TAG, "🚀 Loading 30-day content from Firebase. Max accessible: " + maxAccessibleDay);
 
-        lessonList.clear();
-
-        totalDaysToLoad = maxAccessibleDay;
-        daysLoaded = 0;
-
-        // Load content for each accessible day from Firebase
-        for (int i = 1; i <= maxAccessibleDay; i++) {
-            final int dayNumber = i;
-
-            firebaseHelper.getDayContent(dayNumber, new FirebaseHelper.OnDataLoadListener<RamadanDayContent>() {
-                @Override
-                public void onSuccess(RamadanDayContent content) {
-                    daysLoaded++;
-                    Log.d(TAG, "✅ Loaded day " + dayNumber + " (" + daysLoaded + "/" + totalDaysToLoad + ")");
-
-                    DayLesson lesson = convertToDayLesson(content, dayNumber);
-
-                    synchronized (lessonList) {
-                        // Remove duplicates
-                        for (int j = lessonList.size() - 1; j >= 0; j--) {
-                            if (lessonList.get(j).getDayNumber() == dayNumber) {
-                                lessonList.remove(j);
-                            }
-                        }
-
-                        // Insert at correct position
-                        int insertIndex = 0;
-                        for (int j = 0; j < lessonList.size(); j++) {
-                            if (lessonList.get(j).getDayNumber() < dayNumber) {
-                                insertIndex = j + 1;
-                            }
-                        }
-                        lessonList.add(insertIndex, lesson);
-                    }
-
-                    if (daysLoaded >= totalDaysToLoad) {
-                        runOnUiThread(() -> {
-                            Log.d(TAG, "✅ All " + totalDaysToLoad + " days loaded!");
-                            finishLoading();
-                        });
-                    }
-                }
+        if (maxAccessibleDay == 0) {
+            buildLessonList(null, 0);
+            finishLoading();
+            Toast.makeText(this, "No days unlocked yet", Toast.LENGTH_SHORT).show();
+            return;
+        }
 
-                @Override
-                public void onError(String error) {
-                    daysLoaded++;
-                    Log.e(TAG, "❌ Failed to load day " + dayNumber + ": " + error);
+        // Local store first: render immediately if every accessible day is already synced
+        RamadanDayContent[] stored = contentSyncManager.getStore().getDayContentRange(1, maxAccessibleDay);
+        boolean storeComplete = true;
+        for (int day = 1; day <= maxAccessibleDay; day++) {
+            if (stored[day] == null) {
+                storeComplete = false;
+                break;
+            }
+        }
 
-                    DayLesson fallback = getFallbackLesson(dayNumber);
-                    synchronized (lessonList) {
-                        lessonList.add(fallback);
-                    }
+        if (storeComplete) {
+            buildLessonList(stored, maxAccessibleDay);
+            finishLoading();
+            Log.d(TAG, "✅ All " + maxAccessibleDay + " days loaded from local store");
+        }
 
-                    if (daysLoaded >= totalDaysToLoad) {
-                        runOnUiThread(() -> finishLoading());
-                    }
+        final boolean renderedFromStore = storeComplete;
+        contentSyncManager.syncDelta(new ContentSyncManager.OnSyncListener() {
+            @Override
+            public void onSyncComplete(int changedRows) {
+                if (renderedFromStore && changedRows == 0) {
+                    return;
                 }
-            });
-        }
 
-        // Add locked days
-        for (int i = maxAccessibleDay + 1; i <= 30; i++) {
-            DayLesson lockedLesson = getLockedLesson(i);
-            lessonList.add(lockedLesson);
-        }
+                buildLessonList(contentSyncManager.getStore().getDayContentRange(1, maxAccessibleDay), maxAccessibleDay);
+                Log.d(TAG, "✅ All " + maxAccessibleDay + " days synced (" + changedRows + " rows changed)");
+                finishLoading();
+            }
 
-        if (maxAccessibleDay == 0) {
-            finishLoading();
-            Toast.makeText(this, "No days unlocked yet", Toast.LENGTH_SHORT).show();
+            @Override
+            public void onSyncFailed(String error) {
+                Log.e(TAG, "❌ Failed to sync day content: " + error);
+                if (!renderedFromStore) {
+                    buildLessonList(stored, maxAccessibleDay);
+                    finishLoading();
+                }
+            }
+        });
+    }
+
+    /**
+     * Build the 30-day list in day order from content indexed by day
+     * Accessible days without content get a fallback lesson, the rest are locked
+     */
+    private void buildLessonList(RamadanDayContent[] contents, int maxAccessibleDay) {
+        lessonList.clear();
+        JourneyProgress journey = ramadanManager.evaluateAll();
+
+        for (int day = 1; day <= 30; day++) {
+            if (day > maxAccessibleDay) {
+                lessonList.add(getLockedLesson(day));
+            } else if (contents != null && day < contents.length && contents[day] != null) {
+                lessonList.add(convertToDayLesson(contents[day], day, journey));
+            } else {
+                lessonList.add(getFallbackLesson(day, journey));
+            }
         }
     }
 
@@ -264,9 +242,9 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
     /**
      * Convert Firebase RamadanDayContent to DayLesson model
      */
-    private DayLesson convertToDayLesson(RamadanDayContent content, int dayNumber) {
-        boolean isCompleted = ramadanManager.isDayCompleted(dayNumber);
-        boolean isLocked = !ramadanManager.isDayUnlocked(dayNumber);
+    private DayLesson convertToDayLesson(RamadanDayContent content, int dayNumber, JourneyProgress journey) {
+        boolean isCompleted = journey.isCompleted(dayNumber);
+        boolean isLocked = !journey.isUnlocked(dayNumber);
 
         return new DayLesson(
                 dayNumber,
@@ -290,9 +268,9 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
     /**
      * Get fallback lesson if Firebase fails
      */
-    private DayLesson getFallbackLesson(int dayNumber) {
-        boolean isCompleted = ramadanManager.isDayCompleted(dayNumber);
-        boolean isLocked = !ramadanManager.isDayUnlocked(dayNumber);
+    private DayLesson getFallbackLesson(int dayNumber, JourneyProgress journey) {
+        boolean isCompleted = journey.isCompleted(dayNumber);
+        boolean isLocked = !journey.isUnlocked(dayNumber);
 
         return new DayLesson(
                 dayNumber,
@@ -329,9 +307,10 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
     }
 
     private void updateProgressUI() {
-        int completedCount = ramadanManager.getCompletedDaysCount();
-        int totalAccessible = ramadanManager.getMaxAccessibleDay();
-        int progress = ramadanManager.getProgressPercentage();
+        JourneyProgress journey = ramadanManager.evaluateAll();
+        int completedCount = journey.getCompletedCount();
+        int totalAccessible = journey.getCurrentDay();
+        int progress = journey.getProgressPercentage();
 
         progressInfoText.setText(completedCount + " of " + totalAccessible + " days completed");
         journeyProgressBar.setProgress(progress);
@@ -409,6 +388,20 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
         startActivity(intent);
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        AppConfigManager.getInstance(this).addObserver(configObserver);
+        ramadanManager.addUnlockListener(unlockObserver);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        AppConfigManager.getInstance(this).removeObserver(configObserver);
+        ramadanManager.removeUnlockListener(unlockObserver);
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -418,34 +411,5 @@ public class ThirtyDayJourneyActivity extends AppCompatActivity implements DayLe
             updateUnlockStatus();
             updateProgressUI();
         }
-
-        // ✅ NEW: Start auto-refresh timer
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.postDelayed(refreshRunnable, REFRESH_INTERVAL_MS);
-            Log.d(TAG, "🔄 Auto-refresh started (every 30 seconds)");
-        }
-    }
-
-    @Override
-    protected void onPause() {
-        super.onPause();
-
-        // ✅ NEW: Stop auto-refresh timer when activity not visible
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.removeCallbacks(refreshRunnable);
-            Log.d(TAG, "⏸️ Auto-refresh paused");
-        }
-    }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-
-        // ✅ NEW: Clean up handler
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.removeCallbacks(refreshRunnable);
-            refreshHandler = null;
-            refreshRunnable = null;
-        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.example.sirralquran;
+
+import com.example.sirralquran.models.DailyAyah;
+import com.example.sirralquran.models.DailyHadith;
+import com.example.sirralquran.models.RamadanDayContent;
+import com.example.sirralquran.utils.ContentMappers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * ContentMappers fill the models the same way DataSnapshot.getValue(Class) did,
+ * from the Map shape a snapshot holds
+ */
+public class ContentMappersTest {
+
+    @Test
+    public void dayContent_allFieldsMapped() {
+        RamadanDayContent content = ContentMappers.toDayContent(dayContentNode(12));
+
+        assertEquals(12, content.getDayNumber());
+        assertEquals(12, content.getJuz());
+        assertEquals("Range 12", content.getSurahRange());
+        assertEquals("Theme 12", content.getCoreTheme());
+        assertEquals(Arrays.asList("First 12", "Second 12", "Third 12"), content.getKeyTakeaways());
+        assertEquals("https://example.com/video/12", content.getVideoUrl());
+        assertEquals(30, content.getDurationMinutes());
+        assertEquals("beginner", content.getDifficultyLevel());
+    }
+
+    @Test
+    public void ayah_numbersFromLong() {
+        DailyAyah ayah = ContentMappers.toAyah(ayahNode(12));
+
+        assertEquals(12, ayah.getDayNumber());
+        assertEquals("Surah 12", ayah.getSurahName());
+        assertEquals(12, ayah.getSurahNumber());
+        assertEquals(12, ayah.getAyahNumber());
+    }
+
+    @Test
+    public void hadith_numbersFromDoubleOrString() {
+        Map<String, Object> node = new HashMap<>();
+        node.put("day_number", 4.0);
+        node.put("hadith_number", " 1903 ");
+        node.put("book", "Bukhari");
+
+        DailyHadith hadith = ContentMappers.toHadith(node);
+        assertEquals(4, hadith.getDayNumber());
+        assertEquals(1903, hadith.getHadithNumber());
+        assertEquals("Bukhari", hadith.getBook());
+    }
+
+    @Test
+    public void missingFields_leftEmpty() {
+        RamadanDayContent content = ContentMappers.toDayContent(new HashMap<>());
+
+        assertEquals(0, content.getDayNumber());
+        assertNull(content.getCoreTheme());
+        assertNull(content.getKeyTakeaways());
+    }
+
+    /**
+     * Same value types DataSnapshot.getValue() produces: Long numbers, ArrayList arrays
+     */
+    private static Map<String, Object> dayContentNode(int day) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("day_number", (long) day);
+        node.put("juz", (long) day);
+        node.put("surah_range", "Range " + day);
+        node.put("core_theme", "Theme " + day);
+        node.put("explanation", "Explanation for day " + day);
+        node.put("key_takeaways", new ArrayList<>(Arrays.asList("First " + day, "Second " + day, "Third " + day)));
+        node.put("reflection_question", "Question " + day);
+        node.put("video_url", "https://example.com/video/" + day);
+        node.put("audio_url", "https://example.com/audio/" + day);
+        node.put("related_ayah", "Ayah " + day);
+        node.put("related_hadith", "Hadith " + day);
+        node.put("scholar", "Scholar");
+        node.put("duration_minutes", 30L);
+        node.put("difficulty_level", "beginner");
+        return node;
+    }
+
+    private static Map<String, Object> ayahNode(int day) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("day_number", (long) day);
+        node.put("english", "Ayah " + day);
+        node.put("surah_name", "Surah " + day);
+        node.put("surah_number", (long) day);
+        node.put("ayah_number", (long) day);
+        return node;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.sirralquran;
+
+import com.example.sirralquran.models.JourneyProgress;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unlock rules of the one-pass journey evaluation
+ */
+public class JourneyProgressTest {
+
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+
+    private static long at(int dayOfMonth, int hour) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2026, Calendar.MARCH, dayOfMonth, hour, 0, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static long bits(int... days) {
+        long bits = 0;
+        for (int day : days) {
+            bits |= 1L << day;
+        }
+        return bits;
+    }
+
+    @Test
+    public void catchUpDays_unlockOnCompletion() {
+        long[] times = new long[31];
+        times[1] = at(1, 22);
+        times[2] = at(1, 23);
+        JourneyProgress journey = new JourneyProgress(bits(1, 2), times, 5, at(2, 0));
+
+        assertTrue(journey.isUnlocked(1));
+        assertTrue(journey.isUnlocked(2));
+        assertTrue(journey.isUnlocked(3));
+        assertFalse(journey.isUnlocked(4)); // Day 3 not completed
+        assertEquals(-1, journey.getTimeRemaining(4));
+        assertFalse(journey.isUnlocked(6)); // Beyond the Ramadan day
+    }
+
+    @Test
+    public void currentDay_waitsFor5AM() {
+        long[] times = new long[31];
+        for (int day = 1; day <= 4; day++) {
+            times[day] = at(day, 21);
+        }
+        long completed = bits(1, 2, 3, 4);
+
+        JourneyProgress beforeDawn = new JourneyProgress(completed, times, 5, at(5, 3));
+        assertFalse(beforeDawn.isUnlocked(5));
+        assertEquals(at(5, 5), beforeDawn.getUnlockAt(5));
+        assertEquals(2 * HOUR_MS, beforeDawn.getTimeRemaining(5));
+        assertEquals(at(5, 5), beforeDawn.getNextUnlockTime());
+        assertEquals(5, beforeDawn.getNextUnlockDay());
+
+        JourneyProgress afterDawn = new JourneyProgress(completed, times, 5, at(5, 6));
+        assertTrue(afterDawn.isUnlocked(5));
+        assertEquals(0, afterDawn.getTimeRemaining(5));
+        assertEquals(-1, afterDawn.getNextUnlockTime());
+    }
+
+    @Test
+    public void currentDayCompleted_nextDayDueAt5AM() {
+        long[] times = new long[31];
+        for (int day = 1; day <= 5; day++) {
+            times[day] = at(day, 21);
+        }
+        long completed = bits(1, 2, 3, 4, 5);
+
+        // Day 6 isn't the Ramadan day yet, but opens at the next 5 AM once the date moves
+        JourneyProgress evening = new JourneyProgress(completed, times, 5, at(5, 22));
+        assertFalse(evening.isUnlocked(6));
+        assertEquals(6, evening.getNextUnlockDay());
+        assertEquals(at(6, 5), evening.getNextUnlockTime());
+
+        // Past that 5 AM without the Ramadan day moving: nothing left to wait on
+        JourneyProgress stale = new JourneyProgress(completed, times, 5, at(6, 6));
+        assertEquals(-1, stale.getNextUnlockTime());
+        assertEquals(0, stale.getNextUnlockDay());
+    }
+
+    @Test
+    public void completionBefore5AM_unlocksSameMorning() {
+        assertEquals(at(3, 5), JourneyProgress.getNext5AM(at(3, 2)));
+        assertEquals(at(4, 5), JourneyProgress.getNext5AM(at(3, 6)));
+        assertEquals(at(3, 5), JourneyProgress.getNext5AM(at(3, 5)));
+    }
+
+    @Test
+    public void completedCount_onlyAccessibleDays() {
+        long[] times = new long[31];
+        JourneyProgress journey = new JourneyProgress(bits(1, 2, 3, 9), times, 4, at(4, 12));
+
+        assertEquals(3, journey.getCompletedCount());
+        assertEquals(75, journey.getProgressPercentage());
+        assertTrue(journey.isCompleted(9));
+        assertFalse(journey.isCompleted(31));
+    }
+
+    @Test
+    public void twentyDaysCompleted_nextDayWaitsFor5AM() {
+        long[] times = new long[31];
+        long completed = 0;
+        for (int day = 1; day <= 20; day++) {
+            completed |= 1L << day;
+            times[day] = at(1, 12) + day * 24 * HOUR_MS;
+        }
+
+        JourneyProgress journey = new JourneyProgress(completed, times, 21, at(22, 1));
+        int unlocked = 0;
+        for (int day = 1; day <= JourneyProgress.DAYS; day++) {
+            if (journey.isUnlocked(day)) unlocked++;
+        }
+
+        assertEquals(20, unlocked);
+        assertFalse(journey.isUnlocked(21));
+        assertEquals(20, journey.getCompletedCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.sirralquran;
+
+import com.example.sirralquran.models.AppConfig;
+import com.example.sirralquran.models.RamadanStatus;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * When app_config overrides the locally derived Ramadan status, and when it can't answer
+ */
+public class RamadanStatusTest {
+
+    private static long at(int month, int dayOfMonth, int hour) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2026, month, dayOfMonth, hour, 0, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void noConfig_leftToHijri() {
+        assertNull(RamadanStatus.fromConfig(null, at(Calendar.FEBRUARY, 20, 12)));
+    }
+
+    @Test
+    public void staleConfigWithoutStartDate_leftToHijri() {
+        AppConfig config = new AppConfig(true, 3, null, 1, at(Calendar.FEBRUARY, 20, 12));
+        assertNull(RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 25, 9)));
+    }
+
+    @Test
+    public void configFetchedToday_overrides() {
+        AppConfig config = new AppConfig(true, 7, null, 1, at(Calendar.FEBRUARY, 25, 1));
+        RamadanStatus status = RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 25, 23));
+
+        assertTrue(status.isRamadan());
+        assertEquals(7, status.getDay());
+        assertEquals(RamadanStatus.SOURCE_CONFIG, status.getSource());
+    }
+
+    @Test
+    public void startDate_countsDaysOffline() {
+        AppConfig config = new AppConfig(true, 1, "2026-02-18", 1, at(Calendar.FEBRUARY, 18, 8));
+
+        RamadanStatus firstDay = RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 18, 23));
+        assertEquals(1, firstDay.getDay());
+
+        // Across the month boundary, days after the last fetch
+        RamadanStatus later = RamadanStatus.fromConfig(config, at(Calendar.MARCH, 3, 0));
+        assertTrue(later.isRamadan());
+        assertEquals(14, later.getDay());
+        assertEquals(RamadanStatus.SOURCE_START_DATE, later.getSource());
+    }
+
+    @Test
+    public void staleStartDate_outsideMonthLeftToHijri() {
+        AppConfig config = new AppConfig(false, 0, "2026-02-18", 1, at(Calendar.JANUARY, 10, 8));
+
+        assertNull(RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 17, 12)));
+        assertNull(RamadanStatus.fromConfig(config, at(Calendar.MARCH, 20, 12)));
+    }
+
+    @Test
+    public void lastYearsStartDate_duringRamadanLeftToHijri() {
+        // Offline since last Ramadan: the old start_date must not mask this year's month
+        AppConfig config = new AppConfig(false, 0, "2025-03-01", 1, at(Calendar.JANUARY, 10, 8));
+        assertNull(RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 25, 12)));
+    }
+
+    @Test
+    public void startDate_outsideMonthFetchedTodayIsNotRamadan() {
+        AppConfig config = new AppConfig(true, 0, "2026-02-18", 1, at(Calendar.FEBRUARY, 17, 8));
+        RamadanStatus status = RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 17, 12));
+
+        assertFalse(status.isRamadan());
+        assertEquals(0, status.getDay());
+    }
+
+    @Test
+    public void flagFetchedToday_switchesOffStartDate() {
+        AppConfig config = new AppConfig(false, 0, "2026-02-18", 1, at(Calendar.MARCH, 19, 20));
+        assertFalse(RamadanStatus.fromConfig(config, at(Calendar.MARCH, 19, 21)).isRamadan());
+    }
+
+    @Test
+    public void invalidStartDate_fallsBackToFlag() {
+        AppConfig config = new AppConfig(true, 5, "soon", 1, at(Calendar.FEBRUARY, 22, 8));
+        assertEquals(5, RamadanStatus.fromConfig(config, at(Calendar.FEBRUARY, 22, 9)).getDay());
+    }
+}
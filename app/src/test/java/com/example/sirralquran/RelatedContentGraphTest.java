@@ -0,0 +1,101 @@
+package com.example.sirralquran;
+
+import com.example.sirralquran.utils.RelatedContentGraph;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Related-content ranking, persistence round trip, and a graph over a full Ramadan
+ */
+public class RelatedContentGraphTest {
+
+    private static List<RelatedContentGraph.Document> sampleDocuments() {
+        return Arrays.asList(
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_HADITH, 1, "Allah forgives those who seek forgiveness"),
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_HADITH, 2, "Charity does not decrease wealth"),
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_AYAH, 1, "Fasting is prescribed for you as it was for those before you"),
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_AYAH, 2, "Your Lord is forgiving and full of forgiveness"),
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_DUA, 1, "O Allah, forgive me, You love forgiveness"),
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_DUA, 2, "O Allah, accept my fasting"),
+                new RelatedContentGraph.Document(RelatedContentGraph.TYPE_DUA, 3, "Give charity from your wealth")
+        );
+    }
+
+    @Test
+    public void related_rankedBySimilarity() {
+        RelatedContentGraph graph = RelatedContentGraph.build(sampleDocuments());
+
+        int[] duas = graph.getRelated(RelatedContentGraph.TYPE_HADITH, 1, RelatedContentGraph.TYPE_DUA);
+        assertEquals(1, duas[0]);
+
+        assertEquals(2, graph.getRelated(RelatedContentGraph.TYPE_HADITH, 1, RelatedContentGraph.TYPE_AYAH)[0]);
+        assertEquals(1, graph.getRelated(RelatedContentGraph.TYPE_DUA, 2, RelatedContentGraph.TYPE_AYAH)[0]);
+        assertEquals(3, graph.getRelated(RelatedContentGraph.TYPE_HADITH, 2, RelatedContentGraph.TYPE_DUA)[0]);
+    }
+
+    @Test
+    public void related_excludesSelfAndUnknownItems() {
+        RelatedContentGraph graph = RelatedContentGraph.build(sampleDocuments());
+
+        for (int day : graph.getRelated(RelatedContentGraph.TYPE_DUA, 1, RelatedContentGraph.TYPE_DUA)) {
+            assertNotEquals(1, day);
+        }
+        assertEquals(0, graph.getRelated(RelatedContentGraph.TYPE_LESSON, 5, RelatedContentGraph.TYPE_DUA).length);
+        assertEquals(0, graph.getRelated(RelatedContentGraph.TYPE_HADITH, 99, RelatedContentGraph.TYPE_DUA).length);
+    }
+
+    @Test
+    public void persistence_roundTripAndSignatureCheck() throws IOException {
+        RelatedContentGraph graph = RelatedContentGraph.build(sampleDocuments());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        graph.writeTo(new DataOutputStream(bytes), 42L);
+
+        RelatedContentGraph read = RelatedContentGraph.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), 42L);
+        assertNotNull(read);
+        assertArrayEquals(graph.getRelated(RelatedContentGraph.TYPE_HADITH, 1, RelatedContentGraph.TYPE_DUA),
+                read.getRelated(RelatedContentGraph.TYPE_HADITH, 1, RelatedContentGraph.TYPE_DUA));
+
+        assertNull(RelatedContentGraph.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), 43L));
+    }
+
+    @Test
+    public void fullRamadan_everyItemHasRelated() {
+        String[] topics = {"forgiveness mercy الْمَغْفِرَة", "fasting Ramadan الصَّوْم", "charity wealth",
+                "prayer night قيام", "Quran revelation القرآن", "patience الصَّبْر"};
+        List<RelatedContentGraph.Document> documents = new ArrayList<>();
+        for (int type = 0; type < 4; type++) {
+            for (int day = 1; day <= 30; day++) {
+                documents.add(new RelatedContentGraph.Document(type, day,
+                        "Day " + day + " about " + topics[(day + type) % topics.length]
+                                + " and " + topics[(day * 7) % topics.length]));
+            }
+        }
+
+        RelatedContentGraph graph = RelatedContentGraph.build(documents);
+
+        for (int type = 0; type < 4; type++) {
+            for (int day = 1; day <= 30; day++) {
+                int found = 0;
+                for (int targetType = 0; targetType < 4; targetType++) {
+                    found += graph.getRelated(type, day, targetType).length;
+                }
+                assertTrue(found > 0);
+            }
+        }
+        assertEquals(RelatedContentGraph.MAX_RELATED,
+                graph.getRelated(RelatedContentGraph.TYPE_HADITH, 1, RelatedContentGraph.TYPE_AYAH).length);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sirralquran;
+
+import com.example.sirralquran.utils.SearchRanker;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * BM25 scores from hand-built matchinfo('pcnalx') arrays: 1 phrase over 3 columns (title, body, terms)
+ */
+public class SearchRankerTest {
+
+    private static final double[] WEIGHTS = {2.0, 0.5, 1.0};
+    private static final int ROWS = 100;
+
+    /** Column lengths {4, 40, 30} averaged {4, 40, 30}; hits and docs-with-hits per column */
+    private static int[] info(int titleHits, int bodyHits, int termHits, int docsWithHits) {
+        return new int[]{
+                1, 3, ROWS,
+                4, 40, 30,
+                4, 40, 30,
+                titleHits, 0, docsWithHits,
+                bodyHits, 0, docsWithHits,
+                termHits, 0, docsWithHits
+        };
+    }
+
+    @Test
+    public void titleMatch_outranksBodyMatch() {
+        assertTrue(SearchRanker.score(info(1, 0, 1, 10), WEIGHTS)
+                > SearchRanker.score(info(0, 1, 1, 10), WEIGHTS));
+    }
+
+    @Test
+    public void moreHits_scoreHigherButSaturate() {
+        double one = SearchRanker.score(info(0, 0, 1, 10), WEIGHTS);
+        double three = SearchRanker.score(info(0, 0, 3, 10), WEIGHTS);
+        double six = SearchRanker.score(info(0, 0, 6, 10), WEIGHTS);
+
+        assertTrue(three > one);
+        assertTrue(six - three < three - one);
+    }
+
+    @Test
+    public void rareTerm_outranksCommonTerm() {
+        assertTrue(SearchRanker.score(info(0, 0, 1, 2), WEIGHTS)
+                > SearchRanker.score(info(0, 0, 1, 60), WEIGHTS));
+    }
+
+    @Test
+    public void unweightedColumns_ignored() {
+        assertEquals(0.0, SearchRanker.score(info(0, 0, 0, 10), WEIGHTS), 0.0);
+        assertEquals(0.0, SearchRanker.score(info(5, 0, 0, 10), new double[]{0, 0.5, 1.0}), 0.0);
+    }
+}
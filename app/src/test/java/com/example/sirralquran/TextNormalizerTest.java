@@ -0,0 +1,32 @@
+package com.example.sirralquran;
+
+import com.example.sirralquran.utils.TextNormalizer;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tokenizer normalization shared by the related-content graph
+ */
+public class TextNormalizerTest {
+
+    @Test
+    public void arabic_diacriticsTatweelAndAlefNormalized() {
+        // الصَّوْمُ / الصــوم / الصوم -> صوم ; أَعْمَال / إعمال / اعمال -> اعمال
+        assertEquals(TextNormalizer.tokenize("الصوم"), TextNormalizer.tokenize("الصَّوْمُ"));
+        assertEquals(TextNormalizer.tokenize("الصوم"), TextNormalizer.tokenize("الصــوم"));
+        assertEquals(Arrays.asList("صوم"), TextNormalizer.tokenize("صَوْم"));
+        assertEquals(TextNormalizer.tokenize("اعمال"), TextNormalizer.tokenize("أَعْمَال"));
+        assertEquals(TextNormalizer.tokenize("اعمال"), TextNormalizer.tokenize("إعمال"));
+    }
+
+    @Test
+    public void english_lowercasedAndStemmed() {
+        assertEquals(TextNormalizer.tokenize("forgive"), TextNormalizer.tokenize("Forgiveness"));
+        assertEquals(TextNormalizer.tokenize("fast"), TextNormalizer.tokenize("FASTING"));
+        assertEquals(TextNormalizer.tokenize("prayer"), TextNormalizer.tokenize("prayers"));
+        assertTrue(TextNormalizer.tokenize("the of and").isEmpty());
+    }
+}